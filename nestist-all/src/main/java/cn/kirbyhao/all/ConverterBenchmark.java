@@ -0,0 +1,95 @@
+package cn.kirbyhao.all;
+
+import cn.kirbyhao.core.util.ConverterRegistry;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+/**
+ * 比较{@link ConverterRegistry}与手写转换代码在稳定状态下的耗时
+ *
+ * @author Lu Hao
+ * @date 2026-10-16
+ */
+public class ConverterBenchmark {
+
+    private static final int SIZE = 10_000;
+
+    private static final int ROUNDS = 5;
+
+    private static final int ITERATIONS = 200;
+
+    public static void main(String[] args) {
+        ConverterRegistry registry = ConverterRegistry.shared();
+        List<Integer> numbers = new ArrayList<>(SIZE);
+        List<String> texts = new ArrayList<>(SIZE);
+        for (int i = 0; i < SIZE; i++) {
+            numbers.add(i);
+            texts.add(Integer.toString(i));
+        }
+        Function<Integer, Long> converter = registry.converter(Integer.class, Long.class);
+
+        for (int round = 0; round < ROUNDS; round++) {
+            long checksum = 0;
+
+            long start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                List<Long> result = new ArrayList<>(numbers.size());
+                for (Integer n : numbers) {
+                    result.add(n.longValue());
+                }
+                checksum += result.get(i);
+            }
+            long handNumber = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                checksum += registry.convertList(numbers, Long.class).get(i);
+            }
+            long listNumber = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                List<Long> result = new ArrayList<>(numbers.size());
+                for (Integer n : numbers) {
+                    result.add(converter.apply(n));
+                }
+                checksum += result.get(i);
+            }
+            long functionNumber = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                List<Long> result = new ArrayList<>(numbers.size());
+                for (Integer n : numbers) {
+                    result.add(registry.convert(n, Long.class));
+                }
+                checksum += result.get(i);
+            }
+            long convertNumber = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                List<Long> result = new ArrayList<>(texts.size());
+                for (String s : texts) {
+                    result.add(Long.valueOf(s.trim()));
+                }
+                checksum += result.get(i);
+            }
+            long handText = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                checksum += registry.convertList(texts, Long.class).get(i);
+            }
+            long listText = System.nanoTime() - start;
+
+            long ops = (long) ITERATIONS * SIZE;
+            System.out.printf("round %d: Integer->Long hand %.2f, convertList %.2f, converter %.2f, convert %.2f ns/op;"
+                            + " String->Long hand %.2f, convertList %.2f ns/op (checksum %d)%n", round,
+                    (double) handNumber / ops, (double) listNumber / ops, (double) functionNumber / ops,
+                    (double) convertNumber / ops, (double) handText / ops, (double) listText / ops, checksum);
+        }
+    }
+}
@@ -0,0 +1,73 @@
+package cn.kirbyhao.all;
+
+import cn.kirbyhao.core.date.DateTimeUtil;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+
+/**
+ * 比较{@link DateTimeUtil#parseAny(CharSequence)}与逐个尝试{@link DateTimeFormatter}的耗时
+ *
+ * @author Lu Hao
+ * @date 2026-10-16
+ */
+public class ParseAnyBenchmark {
+
+    private static final String[] INPUTS = {
+            "2021-02-08 10:15:30",
+            "2021-02-08T10:15:30.123",
+            "2021/02/08 10:15:30",
+            "20210208101530",
+            "2021-02-08",
+            "1612750530123",
+    };
+
+    private static final DateTimeFormatter[] FORMATTERS = {
+            DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss"),
+            DateTimeFormatter.ISO_LOCAL_DATE_TIME,
+            DateTimeFormatter.ofPattern("yyyy/MM/dd HH:mm:ss"),
+            DateTimeFormatter.ofPattern("yyyyMMddHHmmss"),
+            DateTimeFormatter.ofPattern("yyyy-MM-dd"),
+    };
+
+    private static final int ROUNDS = 5;
+
+    private static final int ITERATIONS = 200_000;
+
+    public static void main(String[] args) {
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            long checksum = 0;
+            for (int i = 0; i < ITERATIONS; i++) {
+                checksum += DateTimeUtil.parseAny(INPUTS[i % INPUTS.length]).getSecond();
+            }
+            long parseAny = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            for (int i = 0; i < ITERATIONS; i++) {
+                checksum += tryEach(INPUTS[i % INPUTS.length]).getSecond();
+            }
+            long tryCatch = System.nanoTime() - start;
+
+            System.out.printf("round %d: parseAny %d ns/op, try/catch %d ns/op (checksum %d)%n", round,
+                    parseAny / ITERATIONS, tryCatch / ITERATIONS, checksum);
+        }
+    }
+
+    /**
+     * 逐个尝试格式化器，失败时捕获异常，纯数字按纪元毫秒处理
+     */
+    private static LocalDateTime tryEach(String text) {
+        for (DateTimeFormatter formatter : FORMATTERS) {
+            try {
+                return DateTimeUtil.parse(text, formatter);
+            } catch (DateTimeParseException e) {
+                // 尝试下一个格式
+            }
+        }
+        return LocalDateTime.ofInstant(Instant.ofEpochMilli(Long.parseLong(text)), ZoneId.systemDefault());
+    }
+}
@@ -0,0 +1,480 @@
+package cn.kirbyhao.core.date;
+
+import java.nio.ByteBuffer;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+/**
+ * 直接从ASCII字节解析日期时间，不生成中间的String或char[]
+ *
+ * <p>支持{@link FastDateTimeCodec}中的三种内置格式，以及ISO-8601格式{@link #LAYOUT_ISO}：
+ * {@code yyyy-MM-dd'T'HH:mm[:ss[.fraction]][Z|±HH[[:]mm]]}。
+ * 内置格式与对应的{@link java.time.format.DateTimeFormatter}一样，会把超出当月天数的日修正为月末；ISO格式按严格规则校验。</p>
+ *
+ * <p>解析失败时不抛出异常：返回{@link #INVALID}或{@code null}，失败位置通过{@link #getErrorIndex()}获取。
+ * 实例保存上一次解析的状态，不是线程安全的，每个线程使用各自的实例，或使用静态方法（内部按线程复用实例）。</p>
+ *
+ * @author Lu Hao
+ * @date 2026-10-16
+ */
+public final class AsciiDateTimeParser {
+
+    /**
+     * ISO-8601格式，例如：2007-12-03T10:15:30.123+08:00
+     */
+    public static final int LAYOUT_ISO = 3;
+
+    /**
+     * 解析失败时的返回值
+     */
+    public static final long INVALID = Long.MIN_VALUE;
+
+    /**
+     * 直接内存中支持的最大长度，超出时视为格式错误
+     */
+    private static final int MAX_LENGTH = 64;
+
+    private static final ThreadLocal<AsciiDateTimeParser> LOCAL = ThreadLocal.withInitial(AsciiDateTimeParser::new);
+
+    /**
+     * 复制直接内存时使用的缓冲区
+     */
+    private final byte[] scratch = new byte[MAX_LENGTH];
+
+    /**
+     * 失败位置，相对于输入起始位置，成功时为-1
+     */
+    private int errorIndex = -1;
+
+    /**
+     * ISO格式是否带有时区偏移
+     */
+    private boolean offsetPresent;
+
+    private int offsetSeconds;
+
+    private int nanoOfSecond;
+
+    /**
+     * 获取当前线程复用的实例
+     *
+     * @return {@link AsciiDateTimeParser}
+     */
+    public static AsciiDateTimeParser local() {
+        return LOCAL.get();
+    }
+
+    /**
+     * 解析为纪元毫秒
+     *
+     * <p>ISO格式带有时区偏移时使用该偏移，否则使用指定的时区</p>
+     *
+     * @param buf 字节数组
+     * @param offset 起始位置
+     * @param length 长度
+     * @param layout {@link FastDateTimeCodec}中的内置格式或{@link #LAYOUT_ISO}
+     * @param zone 时区
+     *
+     * @return 从1970-01-01T00:00:00Z开始计数的毫秒数，失败时返回{@link #INVALID}
+     */
+    public long parseEpochMilli(byte[] buf, int offset, int length, int layout, ZoneId zone) {
+        long localMilli = parseLocalEpochMilli(buf, offset, length, layout);
+        if (localMilli == INVALID) {
+            return INVALID;
+        }
+        long localSecond = Math.floorDiv(localMilli, 1000);
+        int milliOfSecond = (int) Math.floorMod(localMilli, 1000);
+        long epochSecond = offsetPresent
+                ? localSecond - offsetSeconds : ZoneOffsetCache.toEpochSecond(localSecond, zone);
+        return epochSecond * 1000 + milliOfSecond;
+    }
+
+    /**
+     * 解析为纪元毫秒
+     *
+     * <p>按绝对位置读取，不改变{@link ByteBuffer}的position</p>
+     *
+     * @param buf 缓冲区
+     * @param offset 起始位置
+     * @param length 长度
+     * @param layout {@link FastDateTimeCodec}中的内置格式或{@link #LAYOUT_ISO}
+     * @param zone 时区
+     *
+     * @return 从1970-01-01T00:00:00Z开始计数的毫秒数，失败时返回{@link #INVALID}
+     */
+    public long parseEpochMilli(ByteBuffer buf, int offset, int length, int layout, ZoneId zone) {
+        if (buf.hasArray()) {
+            return parseEpochMilli(buf.array(), buf.arrayOffset() + offset, length, layout, zone);
+        }
+        if (!copyToScratch(buf, offset, length)) {
+            return INVALID;
+        }
+        return parseEpochMilli(scratch, 0, length, layout, zone);
+    }
+
+    /**
+     * 解析为{@link LocalDateTime}，ISO格式中的时区偏移被忽略
+     *
+     * @param buf 字节数组
+     * @param offset 起始位置
+     * @param length 长度
+     * @param layout {@link FastDateTimeCodec}中的内置格式或{@link #LAYOUT_ISO}
+     *
+     * @return {@link LocalDateTime}，失败时返回{@code null}
+     */
+    public LocalDateTime parseLocalDateTime(byte[] buf, int offset, int length, int layout) {
+        long localMilli = parseLocalEpochMilli(buf, offset, length, layout);
+        if (localMilli == INVALID) {
+            return null;
+        }
+        return LocalDateTime.ofEpochSecond(Math.floorDiv(localMilli, 1000), nanoOfSecond, ZoneOffset.UTC);
+    }
+
+    /**
+     * 解析为{@link LocalDateTime}，按绝对位置读取，不改变{@link ByteBuffer}的position
+     *
+     * @param buf 缓冲区
+     * @param offset 起始位置
+     * @param length 长度
+     * @param layout {@link FastDateTimeCodec}中的内置格式或{@link #LAYOUT_ISO}
+     *
+     * @return {@link LocalDateTime}，失败时返回{@code null}
+     */
+    public LocalDateTime parseLocalDateTime(ByteBuffer buf, int offset, int length, int layout) {
+        if (buf.hasArray()) {
+            return parseLocalDateTime(buf.array(), buf.arrayOffset() + offset, length, layout);
+        }
+        if (!copyToScratch(buf, offset, length)) {
+            return null;
+        }
+        return parseLocalDateTime(scratch, 0, length, layout);
+    }
+
+    /**
+     * 解析为本地纪元毫秒，即本地时间视为UTC时对应的毫秒数，ISO格式中的时区偏移通过{@link #isOffsetPresent()}、
+     * {@link #getOffsetSeconds()}获取
+     *
+     * @param buf 字节数组
+     * @param offset 起始位置
+     * @param length 长度
+     * @param layout {@link FastDateTimeCodec}中的内置格式或{@link #LAYOUT_ISO}
+     *
+     * @return 本地纪元毫秒，失败时返回{@link #INVALID}
+     */
+    public long parseLocalEpochMilli(byte[] buf, int offset, int length, int layout) {
+        reset();
+        if (layout == LAYOUT_ISO) {
+            return parseIso(buf, offset, length);
+        }
+        return parseFixed(buf, offset, length, layout);
+    }
+
+    /**
+     * 解析字符序列，字符先按ASCII复制到内部缓冲区，不生成String
+     *
+     * @param text 文本
+     * @param layout {@link FastDateTimeCodec}中的内置格式或{@link #LAYOUT_ISO}
+     *
+     * @return 本地纪元毫秒，失败时返回{@link #INVALID}
+     *
+     * @see #parseLocalEpochMilli(byte[], int, int, int)
+     */
+    public long parseLocalEpochMilli(CharSequence text, int layout) {
+        reset();
+        int length = text.length();
+        if (length > MAX_LENGTH) {
+            return invalid(MAX_LENGTH);
+        }
+        for (int i = 0; i < length; i++) {
+            char c = text.charAt(i);
+            if (c > 0x7F) {
+                return invalid(i);
+            }
+            scratch[i] = (byte) c;
+        }
+        return parseLocalEpochMilli(scratch, 0, length, layout);
+    }
+
+    /**
+     * @return 上一次成功解析的秒内纳秒数
+     */
+    public int getNanoOfSecond() {
+        return nanoOfSecond;
+    }
+
+    /**
+     * @return 上一次解析的失败位置（相对于输入起始位置），成功时为-1
+     */
+    public int getErrorIndex() {
+        return errorIndex;
+    }
+
+    /**
+     * @return 上一次解析的ISO文本是否带有时区偏移
+     */
+    public boolean isOffsetPresent() {
+        return offsetPresent;
+    }
+
+    /**
+     * @return 上一次解析的ISO文本中的时区偏移秒数
+     */
+    public int getOffsetSeconds() {
+        return offsetSeconds;
+    }
+
+    /**
+     * 使用当前线程的实例解析为纪元毫秒
+     *
+     * @see #parseEpochMilli(byte[], int, int, int, ZoneId)
+     */
+    public static long toEpochMilli(byte[] buf, int offset, int length, int layout, ZoneId zone) {
+        return local().parseEpochMilli(buf, offset, length, layout, zone);
+    }
+
+    /**
+     * 使用当前线程的实例解析为纪元毫秒
+     *
+     * @see #parseEpochMilli(ByteBuffer, int, int, int, ZoneId)
+     */
+    public static long toEpochMilli(ByteBuffer buf, int offset, int length, int layout, ZoneId zone) {
+        return local().parseEpochMilli(buf, offset, length, layout, zone);
+    }
+
+    /**
+     * 使用当前线程的实例解析为{@link LocalDateTime}
+     *
+     * @see #parseLocalDateTime(byte[], int, int, int)
+     */
+    public static LocalDateTime toLocalDateTime(byte[] buf, int offset, int length, int layout) {
+        return local().parseLocalDateTime(buf, offset, length, layout);
+    }
+
+    /**
+     * 使用当前线程的实例解析为{@link LocalDateTime}
+     *
+     * @see #parseLocalDateTime(ByteBuffer, int, int, int)
+     */
+    public static LocalDateTime toLocalDateTime(ByteBuffer buf, int offset, int length, int layout) {
+        return local().parseLocalDateTime(buf, offset, length, layout);
+    }
+
+    private long parseFixed(byte[] b, int off, int len, int layout) {
+        if (len != FastDateTimeCodec.length(layout)) {
+            return invalid(Math.min(len, FastDateTimeCodec.length(layout)));
+        }
+        int year = digits(b, off, 0, 4);
+        int month = year < 0 ? -1 : expect(b, off, 4, '-') ? digits(b, off, 5, 2) : -1;
+        int day = month < 0 ? -1 : expect(b, off, 7, '-') ? digits(b, off, 8, 2) : -1;
+        if (day < 0) {
+            return INVALID;
+        }
+        if (!FastDateTimeCodec.isValidDate(year, month, day)) {
+            return invalid(year < 1 ? 0 : month < 1 || month > 12 ? 5 : 8);
+        }
+        day = Math.min(day, CivilCalendar.lengthOfMonth(year, month));
+        long millis = CivilCalendar.toEpochDay(year, month, day) * CivilCalendar.MILLIS_PER_DAY;
+        if (layout == FastDateTimeCodec.LAYOUT_DATE) {
+            return millis;
+        }
+        if (!expect(b, off, 10, ' ')) {
+            return INVALID;
+        }
+        long time = time(b, off, 11);
+        if (time < 0) {
+            return INVALID;
+        }
+        millis += time * 1000;
+        if (layout == FastDateTimeCodec.LAYOUT_DATETIME) {
+            return millis;
+        }
+        int milliOfSecond = expect(b, off, 19, ':') ? digits(b, off, 20, 3) : -1;
+        if (milliOfSecond < 0) {
+            return INVALID;
+        }
+        nanoOfSecond = milliOfSecond * 1_000_000;
+        return millis + milliOfSecond;
+    }
+
+    private long parseIso(byte[] b, int off, int len) {
+        if (len < 16) {
+            return invalid(len);
+        }
+        int year = digits(b, off, 0, 4);
+        int month = year < 0 ? -1 : expect(b, off, 4, '-') ? digits(b, off, 5, 2) : -1;
+        int day = month < 0 ? -1 : expect(b, off, 7, '-') ? digits(b, off, 8, 2) : -1;
+        if (day < 0) {
+            return INVALID;
+        }
+        if (month < 1 || month > 12) {
+            return invalid(5);
+        }
+        if (day < 1 || day > CivilCalendar.lengthOfMonth(year, month)) {
+            return invalid(8);
+        }
+        if ((b[off + 10] | 0x20) != 't') {
+            return invalid(10);
+        }
+        int hour = digits(b, off, 11, 2);
+        int minute = hour < 0 ? -1 : expect(b, off, 13, ':') ? digits(b, off, 14, 2) : -1;
+        if (minute < 0) {
+            return INVALID;
+        }
+        if (hour > 23) {
+            return invalid(11);
+        }
+        if (minute > 59) {
+            return invalid(14);
+        }
+        int second = 0;
+        int index = 16;
+        if (index < len && b[off + index] == ':') {
+            if (len < 19 || (second = digits(b, off, 17, 2)) < 0) {
+                return invalid(Math.min(len, 17));
+            }
+            if (second > 59) {
+                return invalid(17);
+            }
+            index = 19;
+            if (index < len && b[off + index] == '.') {
+                index++;
+                int start = index;
+                int nano = 0;
+                while (index < len && index - start < 9 && isDigit(b[off + index])) {
+                    nano = nano * 10 + (b[off + index] - '0');
+                    index++;
+                }
+                if (index == start) {
+                    return invalid(index);
+                }
+                for (int i = index - start; i < 9; i++) {
+                    nano *= 10;
+                }
+                nanoOfSecond = nano;
+            }
+        }
+        if (index < len && !parseIsoOffset(b, off, index, len)) {
+            return INVALID;
+        }
+        long epochDay = CivilCalendar.toEpochDay(year, month, day);
+        return (epochDay * CivilCalendar.SECONDS_PER_DAY + hour * 3600 + minute * 60 + second) * 1000
+                + nanoOfSecond / 1_000_000;
+    }
+
+    /**
+     * 解析 Z、±HH、±HHmm、±HH:mm
+     */
+    private boolean parseIsoOffset(byte[] b, int off, int index, int len) {
+        byte sign = b[off + index];
+        if (sign == 'Z' || sign == 'z') {
+            if (index + 1 != len) {
+                fail(index + 1);
+                return false;
+            }
+            offsetPresent = true;
+            return true;
+        }
+        if (sign != '+' && sign != '-') {
+            fail(index);
+            return false;
+        }
+        int hours = len >= index + 3 ? digits(b, off, index + 1, 2) : fail(index + 1);
+        if (hours < 0) {
+            return false;
+        }
+        int minutes = 0;
+        int rest = len - index - 3;
+        if (rest == 2) {
+            minutes = digits(b, off, index + 3, 2);
+        } else if (rest == 3) {
+            minutes = expect(b, off, index + 3, ':') ? digits(b, off, index + 4, 2) : -1;
+        } else if (rest != 0) {
+            fail(index + 3);
+            return false;
+        }
+        if (minutes < 0) {
+            return false;
+        }
+        if (hours > 18 || minutes > 59 || (hours == 18 && minutes > 0)) {
+            fail(index + 1);
+            return false;
+        }
+        int total = hours * 3600 + minutes * 60;
+        offsetSeconds = sign == '-' ? -total : total;
+        offsetPresent = true;
+        return true;
+    }
+
+    /**
+     * 解析 HH:mm:ss 为一天中的秒数，失败返回-1
+     */
+    private long time(byte[] b, int off, int index) {
+        int hour = digits(b, off, index, 2);
+        int minute = hour < 0 ? -1 : expect(b, off, index + 2, ':') ? digits(b, off, index + 3, 2) : -1;
+        int second = minute < 0 ? -1 : expect(b, off, index + 5, ':') ? digits(b, off, index + 6, 2) : -1;
+        if (second < 0) {
+            return -1;
+        }
+        if (!FastDateTimeCodec.isValidTime(hour, minute, second)) {
+            fail(hour > 23 ? index : minute > 59 ? index + 3 : index + 6);
+            return -1;
+        }
+        return hour * 3600 + minute * 60 + second;
+    }
+
+    /**
+     * 读取定长数字，遇到非数字记录失败位置并返回-1
+     */
+    private int digits(byte[] b, int off, int index, int count) {
+        int value = 0;
+        for (int i = index; i < index + count; i++) {
+            byte c = b[off + i];
+            if (!isDigit(c)) {
+                return fail(i);
+            }
+            value = value * 10 + (c - '0');
+        }
+        return value;
+    }
+
+    private boolean expect(byte[] b, int off, int index, char c) {
+        if (b[off + index] != c) {
+            fail(index);
+            return false;
+        }
+        return true;
+    }
+
+    private static boolean isDigit(byte c) {
+        return c >= '0' && c <= '9';
+    }
+
+    private int fail(int index) {
+        errorIndex = index;
+        return -1;
+    }
+
+    private void reset() {
+        errorIndex = -1;
+        offsetPresent = false;
+        offsetSeconds = 0;
+        nanoOfSecond = 0;
+    }
+
+    private long invalid(int index) {
+        errorIndex = index;
+        return INVALID;
+    }
+
+    private boolean copyToScratch(ByteBuffer buf, int offset, int length) {
+        if (length > MAX_LENGTH) {
+            errorIndex = MAX_LENGTH;
+            return false;
+        }
+        for (int i = 0; i < length; i++) {
+            scratch[i] = buf.get(offset + i);
+        }
+        return true;
+    }
+}
@@ -0,0 +1,152 @@
+package cn.kirbyhao.core.date;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.Month;
+
+/**
+ * 某一时刻分解后的日历字段，全部以基本类型保存，不可变
+ *
+ * <p>由{@link TickingClock}每个周期生成一次，读取字段只是普通的字段读取。</p>
+ *
+ * @author Lu Hao
+ * @date 2026-10-16
+ */
+public final class CalendarSnapshot {
+
+    private final long epochMilli;
+
+    private final int year;
+
+    private final int month;
+
+    private final int dayOfMonth;
+
+    private final int hour;
+
+    private final int minute;
+
+    private final int second;
+
+    private final int nano;
+
+    private final int dayOfYear;
+
+    private final int dayOfWeek;
+
+    private CalendarSnapshot(long epochMilli, int year, int month, int dayOfMonth, int hour, int minute, int second,
+                             int nano, int dayOfYear, int dayOfWeek) {
+        this.epochMilli = epochMilli;
+        this.year = year;
+        this.month = month;
+        this.dayOfMonth = dayOfMonth;
+        this.hour = hour;
+        this.minute = minute;
+        this.second = second;
+        this.nano = nano;
+        this.dayOfYear = dayOfYear;
+        this.dayOfWeek = dayOfWeek;
+    }
+
+    /**
+     * 按纪元毫秒与时区偏移分解
+     *
+     * @param epochMilli 从1970-01-01T00:00:00Z开始计数的毫秒数
+     * @param offsetSeconds 时区偏移秒数
+     *
+     * @return {@link CalendarSnapshot}
+     */
+    public static CalendarSnapshot of(long epochMilli, int offsetSeconds) {
+        long localMilli = epochMilli + offsetSeconds * 1000L;
+        long epochDay = Math.floorDiv(localMilli, CivilCalendar.MILLIS_PER_DAY);
+        int milliOfDay = (int) Math.floorMod(localMilli, CivilCalendar.MILLIS_PER_DAY);
+        long ymd = CivilCalendar.fromEpochDay(epochDay);
+        int year = CivilCalendar.year(ymd);
+        int secondOfDay = milliOfDay / 1000;
+        int dayOfYear = (int) (epochDay - CivilCalendar.toEpochDay(year, 1, 1)) + 1;
+        return new CalendarSnapshot(epochMilli, year, CivilCalendar.month(ymd), CivilCalendar.day(ymd),
+                secondOfDay / 3600, secondOfDay / 60 % 60, secondOfDay % 60, milliOfDay % 1000 * 1_000_000,
+                dayOfYear, CivilCalendar.dayOfWeek(epochDay));
+    }
+
+    /**
+     * 按{@link LocalDateTime}分解
+     *
+     * @param time {@link LocalDateTime}
+     *
+     * @return {@link CalendarSnapshot}
+     */
+    public static CalendarSnapshot of(LocalDateTime time) {
+        return new CalendarSnapshot(Long.MIN_VALUE, time.getYear(), time.getMonthValue(), time.getDayOfMonth(),
+                time.getHour(), time.getMinute(), time.getSecond(), time.getNano(), time.getDayOfYear(),
+                time.getDayOfWeek().getValue());
+    }
+
+    /**
+     * @return 对应的纪元毫秒，由{@link LocalDateTime}创建时为{@link Long#MIN_VALUE}
+     */
+    public long getEpochMilli() {
+        return epochMilli;
+    }
+
+    public int getYear() {
+        return year;
+    }
+
+    public int getMonthValue() {
+        return month;
+    }
+
+    public Month getMonth() {
+        return Month.of(month);
+    }
+
+    public int getDayOfMonth() {
+        return dayOfMonth;
+    }
+
+    public int getHour() {
+        return hour;
+    }
+
+    public int getMinute() {
+        return minute;
+    }
+
+    public int getSecond() {
+        return second;
+    }
+
+    public int getNano() {
+        return nano;
+    }
+
+    public int getDayOfYear() {
+        return dayOfYear;
+    }
+
+    /**
+     * @return 一周中的第几天，周一为 1，周日为 7
+     */
+    public int getDayOfWeekValue() {
+        return dayOfWeek;
+    }
+
+    public DayOfWeek getDayOfWeek() {
+        return DayOfWeek.of(dayOfWeek);
+    }
+
+    /**
+     * 转换为{@link LocalDateTime}
+     *
+     * @return {@link LocalDateTime}
+     */
+    public LocalDateTime toLocalDateTime() {
+        return LocalDateTime.of(year, month, dayOfMonth, hour, minute, second, nano);
+    }
+
+    @Override
+    public String toString() {
+        return toLocalDateTime().toString();
+    }
+}
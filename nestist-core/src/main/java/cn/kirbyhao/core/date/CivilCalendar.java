@@ -0,0 +1,116 @@
+package cn.kirbyhao.core.date;
+
+/**
+ * 公历（ISO-8601历法）年月日与纪元日之间的纯算术换算，不创建任何对象
+ *
+ * <p>纪元日为从1970-01-01开始计数的天数，与{@link java.time.LocalDate#toEpochDay()}一致。
+ * 换算方法参考 Howard Hinnant 的 days_from_civil / civil_from_days 算法。</p>
+ *
+ * @author Lu Hao
+ * @date 2026-10-16
+ */
+final class CivilCalendar {
+
+    /**
+     * 一天的毫秒数
+     */
+    static final long MILLIS_PER_DAY = 86_400_000L;
+
+    /**
+     * 一天的秒数
+     */
+    static final int SECONDS_PER_DAY = 86_400;
+
+    private CivilCalendar() {
+    }
+
+    /**
+     * 年月日转换为纪元日
+     *
+     * @param year 年
+     * @param month 月，1到12
+     * @param day 日，1到31
+     *
+     * @return 纪元日
+     */
+    static long toEpochDay(long year, int month, int day) {
+        long y = month <= 2 ? year - 1 : year;
+        long era = Math.floorDiv(y, 400);
+        long yoe = y - era * 400;
+        int mp = month > 2 ? month - 3 : month + 9;
+        long doy = (153L * mp + 2) / 5 + day - 1;
+        long doe = yoe * 365 + yoe / 4 - yoe / 100 + doy;
+        return era * 146_097 + doe - 719_468;
+    }
+
+    /**
+     * 纪元日转换为打包的年月日，使用{@link #year(long)}、{@link #month(long)}、{@link #day(long)}解包
+     *
+     * @param epochDay 纪元日
+     *
+     * @return 打包的年月日
+     */
+    static long fromEpochDay(long epochDay) {
+        long z = epochDay + 719_468;
+        long era = Math.floorDiv(z, 146_097);
+        long doe = z - era * 146_097;
+        long yoe = (doe - doe / 1460 + doe / 36_524 - doe / 146_096) / 365;
+        long doy = doe - (365 * yoe + yoe / 4 - yoe / 100);
+        long mp = (5 * doy + 2) / 153;
+        int day = (int) (doy - (153 * mp + 2) / 5 + 1);
+        int month = (int) (mp < 10 ? mp + 3 : mp - 9);
+        long year = yoe + era * 400 + (month <= 2 ? 1 : 0);
+        return pack(year, month, day);
+    }
+
+    /**
+     * 打包年月日，年份在高位，因此打包值的大小顺序与日期先后一致
+     */
+    static long pack(long year, int month, int day) {
+        return (year << 9) | ((long) month << 5) | day;
+    }
+
+    static int year(long packed) {
+        return (int) (packed >> 9);
+    }
+
+    static int month(long packed) {
+        return (int) (packed >>> 5) & 0xF;
+    }
+
+    static int day(long packed) {
+        return (int) packed & 0x1F;
+    }
+
+    /**
+     * 是否为闰年
+     */
+    static boolean isLeapYear(long year) {
+        return (year & 3) == 0 && (year % 100 != 0 || year % 400 == 0);
+    }
+
+    /**
+     * 指定年月的天数
+     */
+    static int lengthOfMonth(long year, int month) {
+        switch (month) {
+            case 2:
+                return isLeapYear(year) ? 29 : 28;
+            case 4:
+            case 6:
+            case 9:
+            case 11:
+                return 30;
+            default:
+                return 31;
+        }
+    }
+
+    /**
+     * 纪元日对应的星期，周一为1，周日为7
+     */
+    static int dayOfWeek(long epochDay) {
+        // 1970-01-01 为周四
+        return (int) Math.floorMod(epochDay + 3, 7L) + 1;
+    }
+}
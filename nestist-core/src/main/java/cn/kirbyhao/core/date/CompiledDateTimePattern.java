@@ -0,0 +1,340 @@
+package cn.kirbyhao.core.date;
+
+import java.time.LocalDateTime;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 预编译的日期时间格式
+ *
+ * <p>把格式字符串解析一次，编译为由整数操作码组成的扁平数组，格式化时顺序执行操作码，
+ * 把数字直接写入线程内复用的缓冲区，不再像{@link java.time.format.DateTimeFormatter}那样在每次调用时
+ * 遍历打印解析器链、通过{@link java.time.temporal.TemporalAccessor}接口逐字段读取。</p>
+ *
+ * <p>只支持纯数字字段与字面量，对支持的子集输出与{@link java.time.format.DateTimeFormatter#ofPattern(String)}相同：</p>
+ * <ul>
+ *     <li>y、u：年，yy、uu为两位年份，其余个数为最小宽度，仅支持1到9999年，超出时返回{@code null}</li>
+ *     <li>M、d、H、m、s：一个字母为不补零，两个字母为补零到两位</li>
+ *     <li>S：1到9个字母，秒内的小数部分，截断到指定位数</li>
+ *     <li>单引号括起的字面量（两个单引号表示一个单引号），以及除字母和{@code [ ] # { }}之外的字符</li>
+ * </ul>
+ * <p>其他字母（文本月份、星期、时区等）与可选段不支持，{@link #compile(String)}返回{@code null}，
+ * 调用方应改用{@link java.time.format.DateTimeFormatter}。实例不可变，线程安全。</p>
+ *
+ * @author Lu Hao
+ * @date 2026-10-16
+ */
+public final class CompiledDateTimePattern {
+
+    /**
+     * 缓存的格式数量上限，超过时整体清空重建
+     */
+    public static final int MAX_CACHE_SIZE = 256;
+
+    private static final int OP_LITERAL = 0;
+
+    private static final int OP_YEAR = 1;
+
+    private static final int OP_YEAR_2 = 2;
+
+    private static final int OP_MONTH = 3;
+
+    private static final int OP_DAY = 4;
+
+    private static final int OP_HOUR = 5;
+
+    private static final int OP_MINUTE = 6;
+
+    private static final int OP_SECOND = 7;
+
+    private static final int OP_FRACTION = 8;
+
+    /**
+     * 每个操作占用的int个数：操作码、宽度、字面量起始位置
+     */
+    private static final int OP_SIZE = 3;
+
+    /**
+     * 编译结果缓存，不支持的格式缓存为{@link #UNSUPPORTED}
+     */
+    private static final ConcurrentHashMap<String, CompiledDateTimePattern> CACHE = new ConcurrentHashMap<>();
+
+    private static final CompiledDateTimePattern UNSUPPORTED = new CompiledDateTimePattern("", new int[0], new char[0], 0);
+
+    private static final ThreadLocal<char[]> BUFFER = ThreadLocal.withInitial(() -> new char[64]);
+
+    private static final int[] POWERS_OF_TEN = {1, 10, 100, 1000, 10_000, 100_000, 1_000_000, 10_000_000,
+            100_000_000, 1_000_000_000};
+
+    private final String pattern;
+
+    private final int[] program;
+
+    private final char[] literals;
+
+    /**
+     * 输出的最大长度
+     */
+    private final int maxLength;
+
+    private CompiledDateTimePattern(String pattern, int[] program, char[] literals, int maxLength) {
+        this.pattern = pattern;
+        this.program = program;
+        this.literals = literals;
+        this.maxLength = maxLength;
+    }
+
+    /**
+     * 编译格式，结果按格式字符串缓存
+     *
+     * @param pattern 格式，例如：yyyy/MM/dd HH:mm:ss.SSS
+     *
+     * @return 编译后的格式，格式含有不支持的部分时返回{@code null}
+     */
+    public static CompiledDateTimePattern compile(String pattern) {
+        CompiledDateTimePattern compiled = CACHE.get(pattern);
+        if (null == compiled) {
+            compiled = doCompile(pattern);
+            if (null == compiled) {
+                compiled = UNSUPPORTED;
+            }
+            if (CACHE.size() >= MAX_CACHE_SIZE) {
+                CACHE.clear();
+            }
+            CACHE.put(pattern, compiled);
+        }
+        return compiled == UNSUPPORTED ? null : compiled;
+    }
+
+    /**
+     * @return 格式字符串
+     */
+    public String getPattern() {
+        return pattern;
+    }
+
+    /**
+     * @return 输出的最大长度
+     */
+    public int getMaxLength() {
+        return maxLength;
+    }
+
+    /**
+     * 格式化
+     *
+     * @param time 时间
+     *
+     * @return 格式化后的字符串，年份不在1到9999之间时返回{@code null}
+     */
+    public String format(LocalDateTime time) {
+        char[] buf = BUFFER.get();
+        if (buf.length < maxLength) {
+            buf = new char[maxLength];
+            BUFFER.set(buf);
+        }
+        int end = format(time, buf, 0);
+        return end < 0 ? null : new String(buf, 0, end);
+    }
+
+    /**
+     * 格式化，写入指定的缓冲区
+     *
+     * @param time 时间
+     * @param buf 缓冲区，从off开始至少有{@link #getMaxLength()}个字符的空间
+     * @param off 写入的起始位置
+     *
+     * @return 写入结束的位置（不包含），年份不在1到9999之间时返回-1
+     */
+    public int format(LocalDateTime time, char[] buf, int off) {
+        int year = time.getYear();
+        if (!FastDateTimeCodec.isSupportedYear(year)) {
+            return -1;
+        }
+        int[] program = this.program;
+        int pos = off;
+        for (int pc = 0; pc < program.length; pc += OP_SIZE) {
+            int width = program[pc + 1];
+            switch (program[pc]) {
+                case OP_LITERAL:
+                    System.arraycopy(literals, program[pc + 2], buf, pos, width);
+                    pos += width;
+                    break;
+                case OP_YEAR:
+                    pos = writeNumber(year, width, buf, pos);
+                    break;
+                case OP_YEAR_2:
+                    pos = writeNumber(year % 100, 2, buf, pos);
+                    break;
+                case OP_MONTH:
+                    pos = writeNumber(time.getMonthValue(), width, buf, pos);
+                    break;
+                case OP_DAY:
+                    pos = writeNumber(time.getDayOfMonth(), width, buf, pos);
+                    break;
+                case OP_HOUR:
+                    pos = writeNumber(time.getHour(), width, buf, pos);
+                    break;
+                case OP_MINUTE:
+                    pos = writeNumber(time.getMinute(), width, buf, pos);
+                    break;
+                case OP_SECOND:
+                    pos = writeNumber(time.getSecond(), width, buf, pos);
+                    break;
+                default:
+                    // 截断到width位小数
+                    pos = writeNumber(time.getNano() / POWERS_OF_TEN[9 - width], width, buf, pos);
+                    break;
+            }
+        }
+        return pos;
+    }
+
+    @Override
+    public String toString() {
+        return pattern;
+    }
+
+    /**
+     * 写入非负整数，不足width位时左侧补零
+     */
+    private static int writeNumber(int value, int width, char[] buf, int pos) {
+        int digits = 1;
+        while (digits < POWERS_OF_TEN.length && value >= POWERS_OF_TEN[digits]) {
+            digits++;
+        }
+        int length = Math.max(digits, width);
+        int end = pos + length;
+        int i = end;
+        do {
+            buf[--i] = (char) ('0' + value % 10);
+            value /= 10;
+        } while (value > 0);
+        while (i > pos) {
+            buf[--i] = '0';
+        }
+        return end;
+    }
+
+    private static CompiledDateTimePattern doCompile(String pattern) {
+        int length = pattern.length();
+        int[] program = new int[Math.max(length, 1) * OP_SIZE];
+        int count = 0;
+        StringBuilder literals = new StringBuilder();
+        int maxLength = 0;
+        int i = 0;
+        while (i < length) {
+            char c = pattern.charAt(i);
+            if ((c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z')) {
+                int start = i;
+                while (i < length && pattern.charAt(i) == c) {
+                    i++;
+                }
+                int width = i - start;
+                int op;
+                int maxWidth;
+                switch (c) {
+                    case 'y':
+                    case 'u':
+                        if (width > 19) {
+                            return null;
+                        }
+                        op = width == 2 ? OP_YEAR_2 : OP_YEAR;
+                        maxWidth = Math.max(width, 4);
+                        break;
+                    case 'M':
+                    case 'd':
+                    case 'H':
+                    case 'm':
+                    case 's':
+                        if (width > 2) {
+                            return null;
+                        }
+                        op = numericOp(c);
+                        maxWidth = 2;
+                        break;
+                    case 'S':
+                        if (width > 9) {
+                            return null;
+                        }
+                        op = OP_FRACTION;
+                        maxWidth = width;
+                        break;
+                    default:
+                        return null;
+                }
+                program[count++] = op;
+                program[count++] = width;
+                program[count++] = 0;
+                maxLength += maxWidth;
+                continue;
+            }
+
+            int literalStart = literals.length();
+            if (c == '\'') {
+                // 引号内的字面量，两个单引号表示一个单引号
+                i++;
+                if (i < length && pattern.charAt(i) == '\'') {
+                    literals.append('\'');
+                    i++;
+                } else {
+                    boolean closed = false;
+                    while (i < length) {
+                        char q = pattern.charAt(i++);
+                        if (q == '\'') {
+                            if (i < length && pattern.charAt(i) == '\'') {
+                                literals.append('\'');
+                                i++;
+                                continue;
+                            }
+                            closed = true;
+                            break;
+                        }
+                        literals.append(q);
+                    }
+                    if (!closed) {
+                        return null;
+                    }
+                }
+            } else if (c == '[' || c == ']' || c == '#' || c == '{' || c == '}') {
+                return null;
+            } else {
+                literals.append(c);
+                i++;
+            }
+            int literalLength = literals.length() - literalStart;
+            if (literalLength == 0) {
+                continue;
+            }
+            if (count > 0 && program[count - OP_SIZE] == OP_LITERAL) {
+                // 与前一个字面量合并
+                program[count - OP_SIZE + 1] += literalLength;
+            } else {
+                program[count++] = OP_LITERAL;
+                program[count++] = literalLength;
+                program[count++] = literalStart;
+            }
+            maxLength += literalLength;
+        }
+
+        int[] trimmed = new int[count];
+        System.arraycopy(program, 0, trimmed, 0, count);
+        char[] chars = new char[literals.length()];
+        literals.getChars(0, chars.length, chars, 0);
+        return new CompiledDateTimePattern(pattern, trimmed, chars, maxLength);
+    }
+
+    private static int numericOp(char letter) {
+        switch (letter) {
+            case 'M':
+                return OP_MONTH;
+            case 'd':
+                return OP_DAY;
+            case 'H':
+                return OP_HOUR;
+            case 'm':
+                return OP_MINUTE;
+            default:
+                return OP_SECOND;
+        }
+    }
+}
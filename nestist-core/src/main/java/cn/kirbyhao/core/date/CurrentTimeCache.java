@@ -0,0 +1,247 @@
+package cn.kirbyhao.core.date;
+
+import java.time.Clock;
+import java.time.ZoneId;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * 当前时间字符串缓存，供{@link DateTimeUtil#getCurrentDate()}、{@link DateTimeUtil#getCurrentDateTime()}、
+ * {@link DateTimeUtil#getCurrentDateTimeMillis()}使用
+ *
+ * <p>每种格式的字符串在一个刷新周期内只计算一次，通过volatile引用发布，同一周期内的并发调用共享同一个String，不再分配内存。
+ * 刷新周期为格式精度（秒或毫秒）与允许的最大陈旧时间二者中的较大值。
+ * 时间与时区取自{@link DateTimeUtil#getClock()}。</p>
+ *
+ * <p>支持两种刷新策略：</p>
+ * <ul>
+ *     <li>{@link RefreshStrategy#LAZY}：读取时比较当前周期，过期才重新计算，默认策略，结果与直接格式化一致</li>
+ *     <li>{@link RefreshStrategy#BACKGROUND}：由后台守护线程按刷新间隔刷新，刷新时刻对齐到间隔的整数倍，
+ *     读取时不再读时钟，与直接格式化相比最多陈旧一个刷新间隔（另加线程调度的延迟）</li>
+ * </ul>
+ *
+ * @author Lu Hao
+ * @date 2026-10-16
+ */
+public final class CurrentTimeCache {
+
+    /**
+     * 刷新策略
+     */
+    public enum RefreshStrategy {
+        /**
+         * 读取时按需刷新
+         */
+        LAZY,
+        /**
+         * 后台线程定时刷新
+         */
+        BACKGROUND
+    }
+
+    /**
+     * 三种内置格式的缓存槽，下标为{@link FastDateTimeCodec}中的格式常量
+     */
+    private static final Slot[] SLOTS = {
+            new Slot(FastDateTimeCodec.LAYOUT_DATE, DateTimeUtil.DATE_FORMAT_STR, 1000),
+            new Slot(FastDateTimeCodec.LAYOUT_DATETIME, DateTimeUtil.DATETIME_FORMAT_STR, 1000),
+            new Slot(FastDateTimeCodec.LAYOUT_DATETIME_MILLIS, DateTimeUtil.DATETIME_MILLIS_FORMAT_STR, 1)
+    };
+
+    private static volatile RefreshStrategy strategy = RefreshStrategy.LAZY;
+
+    private static volatile long maxStalenessMillis = 0;
+
+    private static ScheduledExecutorService ticker;
+
+    private static ScheduledFuture<?> tickTask;
+
+    private CurrentTimeCache() {
+    }
+
+    /**
+     * 获取当前时间的格式化字符串
+     *
+     * @param layout {@link FastDateTimeCodec}中的内置格式
+     *
+     * @return 当前时间字符串
+     */
+    public static String get(int layout) {
+        Slot slot = SLOTS[layout];
+        if (strategy == RefreshStrategy.BACKGROUND) {
+            Snapshot snapshot = slot.current;
+            if (null != snapshot) {
+                return snapshot.text;
+            }
+        }
+        return slot.get(currentTimeMillis());
+    }
+
+    /**
+     * 使用读取时刷新的策略
+     *
+     * @param maxStalenessMillis 允许的最大陈旧毫秒数，0表示只按格式精度缓存
+     */
+    public static synchronized void useLazyRefresh(long maxStalenessMillis) {
+        configure(RefreshStrategy.LAZY, maxStalenessMillis);
+    }
+
+    /**
+     * 使用后台线程定时刷新的策略
+     *
+     * @param refreshIntervalMillis 刷新间隔毫秒数，即允许的最大陈旧时间，必须大于0
+     */
+    public static synchronized void useBackgroundRefresh(long refreshIntervalMillis) {
+        if (refreshIntervalMillis <= 0) {
+            throw new IllegalArgumentException("refreshIntervalMillis must be positive: " + refreshIntervalMillis);
+        }
+        configure(RefreshStrategy.BACKGROUND, refreshIntervalMillis);
+    }
+
+    /**
+     * @return 当前刷新策略
+     */
+    public static RefreshStrategy getStrategy() {
+        return strategy;
+    }
+
+    /**
+     * @return 允许的最大陈旧毫秒数
+     */
+    public static long getMaxStalenessMillis() {
+        return maxStalenessMillis;
+    }
+
+    /**
+     * 丢弃已缓存的字符串，例如默认时区变化之后
+     */
+    public static void invalidate() {
+        for (Slot slot : SLOTS) {
+            slot.current = null;
+        }
+        if (strategy == RefreshStrategy.BACKGROUND) {
+            refreshAll();
+        }
+    }
+
+    private static void configure(RefreshStrategy newStrategy, long staleness) {
+        if (staleness < 0) {
+            throw new IllegalArgumentException("maxStalenessMillis must not be negative: " + staleness);
+        }
+        if (null != tickTask) {
+            tickTask.cancel(false);
+            tickTask = null;
+        }
+        maxStalenessMillis = staleness;
+        for (Slot slot : SLOTS) {
+            slot.tickMillis = Math.max(slot.resolutionMillis, staleness);
+            slot.current = null;
+        }
+
+        if (newStrategy == RefreshStrategy.BACKGROUND) {
+            refreshAll();
+            if (null == ticker) {
+                ticker = Executors.newSingleThreadScheduledExecutor(r -> {
+                    Thread thread = new Thread(r, "nestist-current-time-ticker");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+            }
+            // 首次刷新对齐到下一个间隔边界，否则任意的相位会与周期起点的向下取整叠加，陈旧时间接近两个间隔
+            long initialDelay = staleness - Math.floorMod(currentTimeMillis(), staleness);
+            tickTask = ticker.scheduleAtFixedRate(CurrentTimeCache::refreshAll, initialDelay, staleness,
+                    TimeUnit.MILLISECONDS);
+        }
+        strategy = newStrategy;
+    }
+
+    private static void refreshAll() {
+        long now = currentTimeMillis();
+        for (Slot slot : SLOTS) {
+            slot.get(now);
+        }
+    }
+
+    private static long currentTimeMillis() {
+        Clock clock = DateTimeUtil.customClock();
+        return null != clock ? clock.millis() : System.currentTimeMillis();
+    }
+
+    private static ZoneId currentZone() {
+        Clock clock = DateTimeUtil.customClock();
+        return null != clock ? clock.getZone() : ZoneOffsetCache.systemDefault();
+    }
+
+    /**
+     * 单个格式的缓存槽
+     */
+    private static final class Slot {
+
+        private final int layout;
+
+        private final String pattern;
+
+        /**
+         * 格式精度
+         */
+        private final long resolutionMillis;
+
+        /**
+         * 刷新周期，周期按纪元毫秒对齐
+         */
+        private volatile long tickMillis;
+
+        private volatile Snapshot current;
+
+        private Slot(int layout, String pattern, long resolutionMillis) {
+            this.layout = layout;
+            this.pattern = pattern;
+            this.resolutionMillis = resolutionMillis;
+            this.tickMillis = resolutionMillis;
+        }
+
+        private String get(long nowMillis) {
+            // 只读一次，避免并发的configure使周期序号与起点来自不同的周期长度
+            long period = tickMillis;
+            long tick = Math.floorDiv(nowMillis, period);
+            Snapshot snapshot = current;
+            if (null != snapshot && snapshot.tick == tick && snapshot.period == period) {
+                return snapshot.text;
+            }
+            // 多个线程同时过期时可能重复计算，结果相同，后写入者覆盖即可，无需加锁
+            snapshot = new Snapshot(tick, period, format(tick * period));
+            current = snapshot;
+            return snapshot.text;
+        }
+
+        private String format(long epochMilli) {
+            ZoneId zone = currentZone();
+            int offsetSeconds = ZoneOffsetCache.getOffsetSeconds(Math.floorDiv(epochMilli, 1000), zone);
+            char[] buf = new char[FastDateTimeCodec.length(layout)];
+            if (FastDateTimeCodec.formatEpochMilli(epochMilli, offsetSeconds, layout, buf, 0) < 0) {
+                return DateTimeUtil.format(DateTimeUtil.of(epochMilli, zone), pattern);
+            }
+            return new String(buf);
+        }
+    }
+
+    /**
+     * 某一周期的计算结果，不可变
+     */
+    private static final class Snapshot {
+
+        private final long tick;
+
+        private final long period;
+
+        private final String text;
+
+        private Snapshot(long tick, long period, String text) {
+            this.tick = tick;
+            this.period = period;
+            this.text = text;
+        }
+    }
+}
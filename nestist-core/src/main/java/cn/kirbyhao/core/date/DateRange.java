@@ -0,0 +1,339 @@
+package cn.kirbyhao.core.date;
+
+import java.time.DayOfWeek;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.TemporalAdjusters;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+/**
+ * 按固定步长划分的时间区间[start, end)
+ *
+ * <p>区间内第i个元素为{@code plus(start, i * step, unit)}，按需计算，不会预先生成列表。
+ * 元素个数基于{@link TemporalUtil#between(java.time.temporal.Temporal, java.time.temporal.Temporal, ChronoUnit)}
+ * 直接求出，{@link #spliterator()}报告准确的大小，并按下标对半拆分，{@code parallel()}时可以均匀地分给多个线程。</p>
+ *
+ * <p>通过{@link #alignedTo(ChronoUnit)}指定对齐单位后，拆分点会移动到该单位的边界上，
+ * 例如按小时遍历、按天对齐时，同一天的元素总是在同一个分块内。实例不可变，线程安全。</p>
+ *
+ * @author Lu Hao
+ * @date 2026-10-16
+ */
+public final class DateRange implements Iterable<LocalDateTime> {
+
+    private final LocalDateTime start;
+
+    private final LocalDateTime end;
+
+    private final long step;
+
+    private final ChronoUnit unit;
+
+    /**
+     * 拆分时对齐的单位，{@code null}表示不对齐
+     */
+    private final ChronoUnit alignment;
+
+    private final long size;
+
+    private DateRange(LocalDateTime start, LocalDateTime end, long step, ChronoUnit unit, ChronoUnit alignment,
+                      long size) {
+        this.start = start;
+        this.end = end;
+        this.step = step;
+        this.unit = unit;
+        this.alignment = alignment;
+        this.size = size;
+    }
+
+    /**
+     * 创建步长为1个单位的区间
+     *
+     * @param start 开始时间（包含）
+     * @param end 结束时间（不包含）
+     * @param unit 步长单位
+     *
+     * @return {@link DateRange}
+     */
+    public static DateRange of(LocalDateTime start, LocalDateTime end, ChronoUnit unit) {
+        return of(start, end, 1, unit);
+    }
+
+    /**
+     * 创建区间
+     *
+     * @param start 开始时间（包含）
+     * @param end 结束时间（不包含），不晚于start时区间为空
+     * @param step 步长，必须为正数
+     * @param unit 步长单位
+     *
+     * @return {@link DateRange}
+     */
+    public static DateRange of(LocalDateTime start, LocalDateTime end, long step, ChronoUnit unit) {
+        if (step <= 0) {
+            throw new IllegalArgumentException("step must be positive: " + step);
+        }
+        if (unit == ChronoUnit.FOREVER) {
+            throw new IllegalArgumentException("Unsupported unit: " + unit);
+        }
+        return new DateRange(start, end, step, unit, null, countBefore(start, end, step, unit));
+    }
+
+    /**
+     * 返回拆分时按指定单位对齐的区间，元素不变
+     *
+     * @param alignment 对齐单位，支持{@link ChronoUnit#DAYS}及更小的单位、{@link ChronoUnit#WEEKS}（周一开始）、
+     * {@link ChronoUnit#MONTHS}、{@link ChronoUnit#YEARS}，为{@code null}时不对齐
+     *
+     * @return {@link DateRange}
+     */
+    public DateRange alignedTo(ChronoUnit alignment) {
+        if (null != alignment && alignment.compareTo(ChronoUnit.DAYS) > 0 && alignment != ChronoUnit.WEEKS
+                && alignment != ChronoUnit.MONTHS && alignment != ChronoUnit.YEARS) {
+            throw new IllegalArgumentException("Unsupported alignment: " + alignment);
+        }
+        return new DateRange(start, end, step, unit, alignment, size);
+    }
+
+    /**
+     * @return 开始时间（包含）
+     */
+    public LocalDateTime getStart() {
+        return start;
+    }
+
+    /**
+     * @return 结束时间（不包含）
+     */
+    public LocalDateTime getEnd() {
+        return end;
+    }
+
+    /**
+     * @return 步长
+     */
+    public long getStep() {
+        return step;
+    }
+
+    /**
+     * @return 步长单位
+     */
+    public ChronoUnit getUnit() {
+        return unit;
+    }
+
+    /**
+     * @return 元素个数
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * @return 是否为空
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 获取第index个元素
+     *
+     * @param index 下标，从0开始
+     *
+     * @return 元素
+     */
+    public LocalDateTime get(long index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        return plus(start, index * step, unit);
+    }
+
+    /**
+     * @return 顺序流
+     */
+    public Stream<LocalDateTime> stream() {
+        return StreamSupport.stream(spliterator(), false);
+    }
+
+    /**
+     * @return 并行流
+     */
+    public Stream<LocalDateTime> parallelStream() {
+        return StreamSupport.stream(spliterator(), true);
+    }
+
+    @Override
+    public Iterator<LocalDateTime> iterator() {
+        return new Iterator<LocalDateTime>() {
+
+            private long index;
+
+            @Override
+            public boolean hasNext() {
+                return index < size;
+            }
+
+            @Override
+            public LocalDateTime next() {
+                if (index >= size) {
+                    throw new NoSuchElementException();
+                }
+                return plus(start, index++ * step, unit);
+            }
+        };
+    }
+
+    @Override
+    public Spliterator<LocalDateTime> spliterator() {
+        return new RangeSpliterator(0, size);
+    }
+
+    @Override
+    public String toString() {
+        return "[" + start + ", " + end + ") step " + step + " " + unit;
+    }
+
+    /**
+     * 区间内早于limit的元素个数，也就是第一个不早于limit的元素的下标
+     */
+    private static long countBefore(LocalDateTime start, LocalDateTime limit, long step, ChronoUnit unit) {
+        if (!start.isBefore(limit)) {
+            return 0;
+        }
+        // 最后一个满足start.plus(k) < limit的k，按月、年计算时受月末调整影响，需要再校正
+        long k = TemporalUtil.between(start, limit, unit);
+        while (k > 0 && !plus(start, k, unit).isBefore(limit)) {
+            k--;
+        }
+        while (plus(start, k + 1, unit).isBefore(limit)) {
+            k++;
+        }
+        return k / step + 1;
+    }
+
+    /**
+     * {@link LocalDateTime#plus(long, java.time.temporal.TemporalUnit)}在单位为{@link ChronoUnit#HALF_DAYS}、
+     * 数量不小于256时结果错误，这里换算为小时
+     */
+    private static LocalDateTime plus(LocalDateTime time, long amount, ChronoUnit unit) {
+        return unit == ChronoUnit.HALF_DAYS ? time.plusHours(Math.multiplyExact(amount, 12)) : time.plus(amount, unit);
+    }
+
+    /**
+     * 不晚于time的最后一个对齐边界
+     */
+    private static LocalDateTime floorTo(LocalDateTime time, ChronoUnit alignment) {
+        switch (alignment) {
+            case WEEKS:
+                return time.truncatedTo(ChronoUnit.DAYS).with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+            case MONTHS:
+                return time.truncatedTo(ChronoUnit.DAYS).withDayOfMonth(1);
+            case YEARS:
+                return time.truncatedTo(ChronoUnit.DAYS).withDayOfYear(1);
+            default:
+                return time.truncatedTo(alignment);
+        }
+    }
+
+    /**
+     * 按下标区间[index, fence)遍历的{@link Spliterator}
+     */
+    private final class RangeSpliterator implements Spliterator<LocalDateTime> {
+
+        private long index;
+
+        private final long fence;
+
+        RangeSpliterator(long index, long fence) {
+            this.index = index;
+            this.fence = fence;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super LocalDateTime> action) {
+            if (index >= fence) {
+                return false;
+            }
+            action.accept(plus(start, index++ * step, unit));
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super LocalDateTime> action) {
+            long i = index;
+            long hi = fence;
+            index = hi;
+            if (i >= hi) {
+                return;
+            }
+            if (unit.compareTo(ChronoUnit.WEEKS) > 0) {
+                // 月、年等单位每次都从start计算，避免月末调整累积
+                for (; i < hi; i++) {
+                    action.accept(plus(start, i * step, unit));
+                }
+                return;
+            }
+            LocalDateTime time = plus(start, i * step, unit);
+            for (; i < hi; i++) {
+                action.accept(time);
+                time = plus(time, step, unit);
+            }
+        }
+
+        @Override
+        public Spliterator<LocalDateTime> trySplit() {
+            long lo = index;
+            long mid = (lo + fence) >>> 1;
+            if (mid <= lo) {
+                return null;
+            }
+            if (null != alignment) {
+                mid = alignedSplit(lo, mid);
+                if (mid < 0) {
+                    return null;
+                }
+            }
+            index = mid;
+            return new RangeSpliterator(lo, mid);
+        }
+
+        /**
+         * 把拆分点移动到最近的对齐边界上，前后两半都不能为空，找不到时返回-1
+         */
+        private long alignedSplit(long lo, long mid) {
+            LocalDateTime boundary = floorTo(plus(start, mid * step, unit), alignment);
+            long split = countBefore(start, boundary, step, unit);
+            if (split > lo) {
+                return split;
+            }
+            // mid所在的对齐单位从lo之前就开始了，改用下一个边界
+            boundary = boundary.plus(1, alignment);
+            split = countBefore(start, boundary, step, unit);
+            return split < fence ? split : -1;
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | DISTINCT | SORTED | SIZED | SUBSIZED | NONNULL | IMMUTABLE;
+        }
+
+        @Override
+        public Comparator<? super LocalDateTime> getComparator() {
+            return null;
+        }
+    }
+}
@@ -0,0 +1,113 @@
+package cn.kirbyhao.core.date;
+
+/**
+ * 按列存放的日期时间字段，供{@link EpochMillisBatch}批量填充
+ *
+ * <p>每个字段为一个基本类型数组，为{@code null}的列不会被填充。</p>
+ *
+ * @author Lu Hao
+ * @date 2026-10-16
+ */
+public class DateTimeColumns {
+
+    private final int[] years;
+
+    private final int[] months;
+
+    private final int[] days;
+
+    private final int[] hours;
+
+    private final int[] minutes;
+
+    private final int[] seconds;
+
+    private final int[] millis;
+
+    /**
+     * 构造，任意列都可以为{@code null}
+     *
+     * @param years 年
+     * @param months 月，1到12
+     * @param days 日，1到31
+     * @param hours 时
+     * @param minutes 分
+     * @param seconds 秒
+     * @param millis 毫秒
+     */
+    public DateTimeColumns(int[] years, int[] months, int[] days, int[] hours, int[] minutes, int[] seconds,
+                           int[] millis) {
+        this.years = years;
+        this.months = months;
+        this.days = days;
+        this.hours = hours;
+        this.minutes = minutes;
+        this.seconds = seconds;
+        this.millis = millis;
+    }
+
+    /**
+     * 创建所有列
+     *
+     * @param size 行数
+     *
+     * @return {@link DateTimeColumns}
+     */
+    public static DateTimeColumns allocate(int size) {
+        return new DateTimeColumns(new int[size], new int[size], new int[size], new int[size], new int[size],
+                new int[size], new int[size]);
+    }
+
+    /**
+     * 只创建年月日三列
+     *
+     * @param size 行数
+     *
+     * @return {@link DateTimeColumns}
+     */
+    public static DateTimeColumns allocateDate(int size) {
+        return new DateTimeColumns(new int[size], new int[size], new int[size], null, null, null, null);
+    }
+
+    public int[] getYears() {
+        return years;
+    }
+
+    public int[] getMonths() {
+        return months;
+    }
+
+    public int[] getDays() {
+        return days;
+    }
+
+    public int[] getHours() {
+        return hours;
+    }
+
+    public int[] getMinutes() {
+        return minutes;
+    }
+
+    public int[] getSeconds() {
+        return seconds;
+    }
+
+    public int[] getMillis() {
+        return millis;
+    }
+
+    /**
+     * 是否需要填充时间部分
+     */
+    boolean hasTimeColumns() {
+        return null != hours || null != minutes || null != seconds || null != millis;
+    }
+
+    /**
+     * 是否需要填充日期部分
+     */
+    boolean hasDateColumns() {
+        return null != years || null != months || null != days;
+    }
+}
@@ -0,0 +1,221 @@
+package cn.kirbyhao.core.date;
+
+import java.time.format.DateTimeFormatter;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 线程安全的 日期格式 -&gt; {@link DateTimeFormatter} 缓存
+ *
+ * <p>避免每次格式化、解析时都调用{@link DateTimeFormatter#ofPattern(String)}重新解析格式串。
+ * 缓存有容量上限，超出时按近似的最近最少使用（LRU）淘汰，防止用户传入的格式串无限增长；
+ * 通过{@link #pin(String, DateTimeFormatter)}固定的格式永不淘汰。</p>
+ *
+ * <p>命中、未命中、淘汰次数可通过对应的getter读取，用于监控采集。</p>
+ *
+ * @author Lu Hao
+ * @date 2026-10-16
+ */
+public class DateTimeFormatterCache {
+
+    /**
+     * 默认容量上限
+     */
+    public static final int DEFAULT_MAX_SIZE = 256;
+
+    /**
+     * 全局共享的缓存实例
+     */
+    private static final DateTimeFormatterCache SHARED = new DateTimeFormatterCache(DEFAULT_MAX_SIZE);
+
+    static {
+        SHARED.pin(DateTimeUtil.DATE_FORMAT_STR, DateTimeUtil.DATE_FORMATTER);
+        SHARED.pin(DateTimeUtil.DATETIME_FORMAT_STR, DateTimeUtil.DATETIME_FORMATTER);
+        SHARED.pin(DateTimeUtil.DATETIME_MILLIS_FORMAT_STR, DateTimeUtil.DATETIME_MILLIS_FORMATTER);
+    }
+
+    private final ConcurrentHashMap<String, Entry> cache = new ConcurrentHashMap<>();
+
+    /**
+     * 粗粒度的逻辑时钟，只在未命中时前进，并发未命中时少计几次也无妨。命中时把它写入缓存项，淘汰时按它排序，
+     * 同一时钟值内的先后不作区分，从而命中路径上没有共享的计数器
+     */
+    private volatile long clock;
+
+    private final LongAdder hitCount = new LongAdder();
+
+    private final LongAdder missCount = new LongAdder();
+
+    private final LongAdder evictionCount = new LongAdder();
+
+    private final int maxSize;
+
+    /**
+     * 构造
+     *
+     * @param maxSize 容量上限（不含固定的格式），必须大于0
+     */
+    public DateTimeFormatterCache(int maxSize) {
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("maxSize must be positive: " + maxSize);
+        }
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * 获取全局共享的缓存实例
+     *
+     * @return 共享缓存
+     */
+    public static DateTimeFormatterCache shared() {
+        return SHARED;
+    }
+
+    /**
+     * 获取指定格式对应的{@link DateTimeFormatter}，不存在时创建并放入缓存
+     *
+     * @param pattern 日期格式
+     *
+     * @return {@link DateTimeFormatter}
+     *
+     * @throws IllegalArgumentException 格式串非法
+     */
+    public DateTimeFormatter get(String pattern) {
+        Entry entry = cache.get(pattern);
+        if (null != entry) {
+            hitCount.increment();
+            entry.touch(clock);
+            return entry.formatter;
+        }
+
+        missCount.increment();
+        // 格式非法时在放入缓存之前抛出异常
+        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(pattern);
+        Entry created = new Entry(formatter, false);
+        created.touch(++clock);
+        Entry existing = cache.putIfAbsent(pattern, created);
+        if (null != existing) {
+            return existing.formatter;
+        }
+
+        evictIfNecessary();
+        return formatter;
+    }
+
+    /**
+     * 固定一个格式，固定的格式不计入容量，也不会被淘汰
+     *
+     * @param pattern 日期格式
+     * @param formatter 对应的格式化器
+     */
+    public void pin(String pattern, DateTimeFormatter formatter) {
+        cache.put(pattern, new Entry(formatter, true));
+    }
+
+    /**
+     * 清空所有未固定的格式
+     */
+    public void clear() {
+        cache.values().removeIf(entry -> !entry.pinned);
+    }
+
+    /**
+     * 当前缓存的格式数（含固定的格式）
+     *
+     * @return 格式数
+     */
+    public int size() {
+        return cache.size();
+    }
+
+    /**
+     * @return 容量上限
+     */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /**
+     * @return 命中次数
+     */
+    public long getHitCount() {
+        return hitCount.sum();
+    }
+
+    /**
+     * @return 未命中次数
+     */
+    public long getMissCount() {
+        return missCount.sum();
+    }
+
+    /**
+     * @return 淘汰次数
+     */
+    public long getEvictionCount() {
+        return evictionCount.sum();
+    }
+
+    /**
+     * 超出容量时淘汰最久未访问的格式。
+     * 只在未命中时执行，容量有限，线性扫描的开销可以接受
+     */
+    private void evictIfNecessary() {
+        while (unpinnedSize() > maxSize) {
+            String eldestKey = null;
+            long eldestAccess = Long.MAX_VALUE;
+            for (Map.Entry<String, Entry> e : cache.entrySet()) {
+                Entry entry = e.getValue();
+                if (!entry.pinned && entry.lastAccess < eldestAccess) {
+                    eldestAccess = entry.lastAccess;
+                    eldestKey = e.getKey();
+                }
+            }
+            if (null == eldestKey) {
+                return;
+            }
+            Entry removed = cache.get(eldestKey);
+            if (null != removed && !removed.pinned && cache.remove(eldestKey, removed)) {
+                evictionCount.increment();
+            }
+        }
+    }
+
+    private int unpinnedSize() {
+        int size = 0;
+        for (Entry entry : cache.values()) {
+            if (!entry.pinned) {
+                size++;
+            }
+        }
+        return size;
+    }
+
+    /**
+     * 缓存项
+     */
+    private static final class Entry {
+
+        private final DateTimeFormatter formatter;
+
+        private final boolean pinned;
+
+        /**
+         * 最近一次访问时的时钟值，普通字段，淘汰时读到稍旧的值只影响近似程度
+         */
+        private long lastAccess;
+
+        private Entry(DateTimeFormatter formatter, boolean pinned) {
+            this.formatter = formatter;
+            this.pinned = pinned;
+        }
+
+        private void touch(long now) {
+            // 固定的格式不参与淘汰；时钟未前进时不写，避免热点格式所在的缓存行在各核之间来回失效
+            if (!pinned && lastAccess != now) {
+                lastAccess = now;
+            }
+        }
+    }
+}
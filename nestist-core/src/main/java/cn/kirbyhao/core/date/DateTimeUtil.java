@@ -1,16 +1,17 @@
 package cn.kirbyhao.core.date;
 
-import cn.kirbyhao.core.util.ObjectUtils;
-
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
 import java.time.DayOfWeek;
 import java.time.Instant;
-import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.Month;
 import java.time.YearMonth;
 import java.time.ZoneId;
+import java.time.ZoneOffset;
 import java.time.format.DateTimeFormatter;
-import java.time.temporal.ChronoField;
+import java.time.format.DateTimeParseException;
 import java.time.temporal.ChronoUnit;
 import java.time.temporal.TemporalAccessor;
 import java.util.Date;
@@ -39,13 +40,86 @@ public class DateTimeUtil {
      */
     public static final String DATETIME_MILLIS_FORMAT_STR = "yyyy-MM-dd HH:mm:ss:SSS";
 
+    /**
+     * 精确到日的日期格式化器，对应{@link #DATE_FORMAT_STR}
+     */
+    public static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern(DATE_FORMAT_STR);
+
+    /**
+     * 精确到秒的日期格式化器，对应{@link #DATETIME_FORMAT_STR}
+     */
+    public static final DateTimeFormatter DATETIME_FORMATTER = DateTimeFormatter.ofPattern(DATETIME_FORMAT_STR);
+
+    /**
+     * 精确到毫秒的日期格式化器，对应{@link #DATETIME_MILLIS_FORMAT_STR}
+     */
+    public static final DateTimeFormatter DATETIME_MILLIS_FORMATTER = DateTimeFormatter.ofPattern(DATETIME_MILLIS_FORMAT_STR);
+
+    /**
+     * 自定义的时钟，为{@code null}时使用系统默认时区的系统时钟
+     */
+    private static volatile Clock clock;
+
+    /**
+     * 设置所有"当前时间"方法使用的时钟
+     *
+     * <p>可传入{@link TickingClock}减少获取年、月、日等字段的开销，
+     * 或传入{@link Clock#fixed(Instant, ZoneId)}、{@link Clock#offset(Clock, java.time.Duration)}使测试结果确定</p>
+     *
+     * @param newClock 时钟，为{@code null}时恢复为系统默认时区的系统时钟
+     */
+    public static void setClock(Clock newClock) {
+        clock = newClock;
+        CurrentTimeCache.invalidate();
+    }
+
+    /**
+     * 获取"当前时间"方法使用的时钟
+     *
+     * @return 时钟
+     */
+    public static Clock getClock() {
+        Clock current = clock;
+        return null != current ? current : Clock.systemDefaultZone();
+    }
+
+    /**
+     * 获取自定义的时钟，未设置时返回{@code null}
+     */
+    static Clock customClock() {
+        return clock;
+    }
+
     /**
      * 当前时间，默认时区
      *
      * @return {@link LocalDateTime}
      */
     public static LocalDateTime now() {
-        return LocalDateTime.now();
+        Clock current = clock;
+        return null != current ? LocalDateTime.now(current) : LocalDateTime.now();
+    }
+
+    /**
+     * 当前时间的日历字段，使用{@link TickingClock}时直接读取当前周期的缓存
+     *
+     * @return {@link CalendarSnapshot}
+     */
+    public static CalendarSnapshot currentSnapshot() {
+        Clock current = clock;
+        if (current instanceof TickingClock) {
+            return ((TickingClock) current).snapshot();
+        }
+        return CalendarSnapshot.of(now());
+    }
+
+    /**
+     * 获取自定义的{@link TickingClock}，未使用时返回{@code null}。
+     * 其余时钟下的字段getter直接读取{@link #now()}，不额外创建{@link CalendarSnapshot}
+     */
+    private static TickingClock tickingClock() {
+        Clock current = clock;
+        return current instanceof TickingClock ? (TickingClock) current : null;
     }
 
     /**
@@ -56,7 +130,7 @@ public class DateTimeUtil {
      * @return {@link LocalDateTime}
      */
     public static LocalDateTime of(Instant instant) {
-        return of(instant, ZoneId.systemDefault());
+        return of(instant, ZoneOffsetCache.systemDefault());
     }
 
     /**
@@ -67,7 +141,7 @@ public class DateTimeUtil {
      * @return {@link LocalDateTime}
      */
     public static LocalDateTime ofUtc(Instant instant) {
-        return of(instant, ZoneId.of("UTC"));
+        return of(instant, ZoneOffset.UTC);
     }
 
     /**
@@ -83,7 +157,8 @@ public class DateTimeUtil {
             return null;
         }
 
-        return LocalDateTime.ofInstant(instant, ObjectUtils.defaultIfNull(zoneId, ZoneId.systemDefault()));
+        return ZoneOffsetCache.toLocalDateTime(instant.getEpochSecond(), instant.getNano(),
+                null != zoneId ? zoneId : ZoneOffsetCache.systemDefault());
     }
 
     /**
@@ -99,7 +174,7 @@ public class DateTimeUtil {
             return null;
         }
 
-        return of(instant, ObjectUtils.defaultIfNull(timeZone, TimeZone.getDefault()).toZoneId());
+        return of(instant, null != timeZone ? timeZone.toZoneId() : ZoneOffsetCache.systemDefault());
     }
 
     /**
@@ -112,7 +187,7 @@ public class DateTimeUtil {
      * @return {@link LocalDateTime}
      */
     public static LocalDateTime of(long epochMilli) {
-        return of(Instant.ofEpochMilli(epochMilli));
+        return ZoneOffsetCache.toLocalDateTime(epochMilli, ZoneOffsetCache.systemDefault());
     }
 
     /**
@@ -123,7 +198,7 @@ public class DateTimeUtil {
      * @return {@link LocalDateTime}
      */
     public static LocalDateTime ofUtc(long epochMilli) {
-        return ofUtc(Instant.ofEpochMilli(epochMilli));
+        return ZoneOffsetCache.toLocalDateTime(epochMilli, ZoneOffset.UTC);
     }
 
     /**
@@ -135,7 +210,7 @@ public class DateTimeUtil {
      * @return {@link LocalDateTime}
      */
     public static LocalDateTime of(long epochMilli, ZoneId zoneId) {
-        return of(Instant.ofEpochMilli(epochMilli), zoneId);
+        return ZoneOffsetCache.toLocalDateTime(epochMilli, null != zoneId ? zoneId : ZoneOffsetCache.systemDefault());
     }
 
     /**
@@ -147,7 +222,7 @@ public class DateTimeUtil {
      * @return {@link LocalDateTime}
      */
     public static LocalDateTime of(long epochMilli, TimeZone timeZone) {
-        return of(Instant.ofEpochMilli(epochMilli), timeZone);
+        return of(epochMilli, null != timeZone ? timeZone.toZoneId() : ZoneOffsetCache.systemDefault());
     }
 
     /**
@@ -176,29 +251,19 @@ public class DateTimeUtil {
             return null;
         }
 
-        if(temporalAccessor instanceof LocalDate){
-            return ((LocalDate)temporalAccessor).atStartOfDay();
-        }
-
-        return LocalDateTime.of(
-                TemporalAccessorUtil.get(temporalAccessor, ChronoField.YEAR),
-                TemporalAccessorUtil.get(temporalAccessor, ChronoField.MONTH_OF_YEAR),
-                TemporalAccessorUtil.get(temporalAccessor, ChronoField.DAY_OF_MONTH),
-                TemporalAccessorUtil.get(temporalAccessor, ChronoField.HOUR_OF_DAY),
-                TemporalAccessorUtil.get(temporalAccessor, ChronoField.MINUTE_OF_HOUR),
-                TemporalAccessorUtil.get(temporalAccessor, ChronoField.SECOND_OF_MINUTE),
-                TemporalAccessorUtil.get(temporalAccessor, ChronoField.NANO_OF_SECOND)
-        );
+        return TemporalConverter.of(temporalAccessor.getClass()).toLocalDateTime(temporalAccessor);
     }
 
 
     /**
      * 获取当前时间。用 yyyy-MM-dd 格式返回
      *
+     * <p>结果按周期缓存，刷新策略见{@link CurrentTimeCache}</p>
+     *
      * @return 当前时间
      */
     public static String getCurrentDate() {
-        return format(DATE_FORMAT_STR);
+        return CurrentTimeCache.get(FastDateTimeCodec.LAYOUT_DATE);
     }
 
     /**
@@ -207,7 +272,7 @@ public class DateTimeUtil {
      * @return 当前时间
      */
     public static String getCurrentDateTime() {
-        return format(DATETIME_FORMAT_STR);
+        return CurrentTimeCache.get(FastDateTimeCodec.LAYOUT_DATETIME);
     }
 
     /**
@@ -216,7 +281,7 @@ public class DateTimeUtil {
      * @return 当前时间
      */
     public static String getCurrentDateTimeMillis() {
-        return format(DATETIME_MILLIS_FORMAT_STR);
+        return CurrentTimeCache.get(FastDateTimeCodec.LAYOUT_DATETIME_MILLIS);
     }
 
     /**
@@ -227,7 +292,7 @@ public class DateTimeUtil {
      * @return 当前时间
      */
     public static String format(String timePattern) {
-        return format(LocalDateTime.now(), timePattern);
+        return format(now(), timePattern);
     }
 
     /**
@@ -239,8 +304,18 @@ public class DateTimeUtil {
      * @return 格式化后的串
      */
     public static String format(LocalDateTime localDateTime, String timePattern) {
-        DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern(timePattern);
-        return localDateTime.format(dateTimeFormatter);
+        int layout = FastDateTimeCodec.layoutOf(timePattern);
+        if (layout != FastDateTimeCodec.LAYOUT_UNSUPPORTED && FastDateTimeCodec.isSupportedYear(localDateTime.getYear())) {
+            return FastDateTimeCodec.format(localDateTime, layout);
+        }
+        CompiledDateTimePattern compiled = CompiledDateTimePattern.compile(timePattern);
+        if (null != compiled) {
+            String text = compiled.format(localDateTime);
+            if (null != text) {
+                return text;
+            }
+        }
+        return localDateTime.format(DateTimeFormatterCache.shared().get(timePattern));
     }
 
     /**
@@ -251,8 +326,101 @@ public class DateTimeUtil {
      * @return {@link LocalDateTime}
      */
     public static LocalDateTime parse(CharSequence text) {
-        DateTimeFormatter dateTimeFormatter = DateTimeFormatter.ofPattern(DATETIME_FORMAT_STR);
-        return parse(text, dateTimeFormatter);
+        return parse(text, DATETIME_FORMATTER);
+    }
+
+    /**
+     * 自动识别格式并解析日期时间字符串为{@link LocalDateTime}，解析失败时返回{@code null}而不抛出异常
+     *
+     * <p>支持的格式见{@link MultiFormatDateTimeParser.Layout}，包括标准格式、ISO-8601、斜杠分隔、紧凑格式以及纪元秒、纪元毫秒</p>
+     *
+     * @param text 日期时间字符串
+     *
+     * @return {@link LocalDateTime}，无法解析时返回{@code null}
+     */
+    public static LocalDateTime parseAny(CharSequence text) {
+        return MultiFormatDateTimeParser.getDefault().parse(text);
+    }
+
+    /**
+     * 直接从ASCII字节解析yyyy-MM-dd HH:mm:ss格式的日期时间，不生成中间的String
+     *
+     * @param buf 字节数组
+     * @param offset 起始位置
+     * @param length 长度
+     *
+     * @return {@link LocalDateTime}
+     *
+     * @throws DateTimeParseException 格式不匹配
+     */
+    public static LocalDateTime parse(byte[] buf, int offset, int length) {
+        return parse(buf, offset, length, FastDateTimeCodec.LAYOUT_DATETIME);
+    }
+
+    /**
+     * 直接从ASCII字节解析日期时间，不生成中间的String
+     *
+     * @param buf 字节数组
+     * @param offset 起始位置
+     * @param length 长度
+     * @param layout {@link FastDateTimeCodec}中的内置格式或{@link AsciiDateTimeParser#LAYOUT_ISO}
+     *
+     * @return {@link LocalDateTime}
+     *
+     * @throws DateTimeParseException 格式不匹配
+     */
+    public static LocalDateTime parse(byte[] buf, int offset, int length, int layout) {
+        AsciiDateTimeParser parser = AsciiDateTimeParser.local();
+        LocalDateTime result = parser.parseLocalDateTime(buf, offset, length, layout);
+        if (null == result) {
+            throw parseFailure(new String(buf, offset, length, StandardCharsets.US_ASCII), parser.getErrorIndex());
+        }
+        return result;
+    }
+
+    /**
+     * 直接从{@link ByteBuffer}中的ASCII字节解析yyyy-MM-dd HH:mm:ss格式的日期时间，按绝对位置读取，不改变position
+     *
+     * @param buf 缓冲区
+     * @param offset 起始位置
+     * @param length 长度
+     *
+     * @return {@link LocalDateTime}
+     *
+     * @throws DateTimeParseException 格式不匹配
+     */
+    public static LocalDateTime parse(ByteBuffer buf, int offset, int length) {
+        return parse(buf, offset, length, FastDateTimeCodec.LAYOUT_DATETIME);
+    }
+
+    /**
+     * 直接从{@link ByteBuffer}中的ASCII字节解析日期时间，按绝对位置读取，不改变position
+     *
+     * @param buf 缓冲区
+     * @param offset 起始位置
+     * @param length 长度
+     * @param layout {@link FastDateTimeCodec}中的内置格式或{@link AsciiDateTimeParser#LAYOUT_ISO}
+     *
+     * @return {@link LocalDateTime}
+     *
+     * @throws DateTimeParseException 格式不匹配
+     */
+    public static LocalDateTime parse(ByteBuffer buf, int offset, int length, int layout) {
+        AsciiDateTimeParser parser = AsciiDateTimeParser.local();
+        LocalDateTime result = parser.parseLocalDateTime(buf, offset, length, layout);
+        if (null == result) {
+            byte[] bytes = new byte[length];
+            for (int i = 0; i < length; i++) {
+                bytes[i] = buf.get(offset + i);
+            }
+            throw parseFailure(new String(bytes, StandardCharsets.US_ASCII), parser.getErrorIndex());
+        }
+        return result;
+    }
+
+    private static DateTimeParseException parseFailure(String text, int errorIndex) {
+        return new DateTimeParseException("Text '" + text + "' could not be parsed at index " + Math.max(errorIndex, 0),
+                text, Math.max(errorIndex, 0));
     }
 
     /**
@@ -271,6 +439,15 @@ public class DateTimeUtil {
             return LocalDateTime.parse(text);
         }
 
+        int layout = FastDateTimeCodec.layoutOf(formatter);
+        if (layout != FastDateTimeCodec.LAYOUT_UNSUPPORTED) {
+            LocalDateTime result = FastDateTimeCodec.parse(text, layout);
+            if (null != result) {
+                return result;
+            }
+            // 快速解析不匹配时交给格式化器，以得到一致的异常信息
+        }
+
         return of(formatter.parse(text));
     }
 
@@ -280,7 +457,8 @@ public class DateTimeUtil {
      * @return 当前年份
      */
     public int getCurrentYear() {
-        return LocalDateTime.now().getYear();
+        TickingClock ticking = tickingClock();
+        return null != ticking ? ticking.snapshot().getYear() : now().getYear();
     }
 
     /**
@@ -289,7 +467,8 @@ public class DateTimeUtil {
      * @return 当前月份
      */
     public int getCurrentMonth() {
-        return LocalDateTime.now().getMonthValue();
+        TickingClock ticking = tickingClock();
+        return null != ticking ? ticking.snapshot().getMonthValue() : now().getMonthValue();
     }
 
     /**
@@ -298,7 +477,8 @@ public class DateTimeUtil {
      * @return 当前月份的枚举
      */
     public Month getCurrentMonthEnum() {
-        return LocalDateTime.now().getMonth();
+        TickingClock ticking = tickingClock();
+        return null != ticking ? ticking.snapshot().getMonth() : now().getMonth();
     }
 
     /**
@@ -307,7 +487,8 @@ public class DateTimeUtil {
      * @return 一个月中的第几天
      */
     public int getCurrentDayOfMonth() {
-        return LocalDateTime.now().getDayOfMonth();
+        TickingClock ticking = tickingClock();
+        return null != ticking ? ticking.snapshot().getDayOfMonth() : now().getDayOfMonth();
     }
 
     /**
@@ -316,7 +497,8 @@ public class DateTimeUtil {
      * @return 当前小时数
      */
     public int getCurrentHour() {
-        return LocalDateTime.now().getHour();
+        TickingClock ticking = tickingClock();
+        return null != ticking ? ticking.snapshot().getHour() : now().getHour();
     }
 
     /**
@@ -325,7 +507,8 @@ public class DateTimeUtil {
      * @return 当前分钟数
      */
     public int getCurrentMinute() {
-        return LocalDateTime.now().getMinute();
+        TickingClock ticking = tickingClock();
+        return null != ticking ? ticking.snapshot().getMinute() : now().getMinute();
     }
 
     /**
@@ -334,7 +517,8 @@ public class DateTimeUtil {
      * @return 当前秒数
      */
     public int getCurrentSecond() {
-        return LocalDateTime.now().getSecond();
+        TickingClock ticking = tickingClock();
+        return null != ticking ? ticking.snapshot().getSecond() : now().getSecond();
     }
 
     /**
@@ -343,7 +527,8 @@ public class DateTimeUtil {
      * @return 一年中的第几天
      */
     public int getCurrentDayOfYear() {
-        return LocalDateTime.now().getDayOfYear();
+        TickingClock ticking = tickingClock();
+        return null != ticking ? ticking.snapshot().getDayOfYear() : now().getDayOfYear();
     }
 
     /**
@@ -352,7 +537,8 @@ public class DateTimeUtil {
      * @return 一周中的第几天
      */
     public int getCurrentDayOfWeek() {
-        return LocalDateTime.now().getDayOfWeek().getValue();
+        TickingClock ticking = tickingClock();
+        return null != ticking ? ticking.snapshot().getDayOfWeekValue() : now().getDayOfWeek().getValue();
     }
 
     /**
@@ -361,7 +547,8 @@ public class DateTimeUtil {
      * @return 当前是星期几
      */
     public String getCurrentWeekDay() {
-        return LocalDateTime.now().getDayOfWeek().name();
+        TickingClock ticking = tickingClock();
+        return null != ticking ? ticking.snapshot().getDayOfWeek().name() : now().getDayOfWeek().name();
     }
 
     /**
@@ -370,7 +557,8 @@ public class DateTimeUtil {
      * @return 星期枚举
      */
     public DayOfWeek getCurrentWeekDayEnum() {
-        return LocalDateTime.now().getDayOfWeek();
+        TickingClock ticking = tickingClock();
+        return null != ticking ? ticking.snapshot().getDayOfWeek() : now().getDayOfWeek();
     }
 
     /**
@@ -419,6 +607,18 @@ public class DateTimeUtil {
         return changeOn(delta, ChronoUnit.DAYS, oldDateTime);
     }
 
+    /**
+     * 按{@link WorkdayCalendar#getDefault()}增减指定的工作日数，时间部分不变
+     *
+     * @param delta 变化量（可以为负），为正时得到之后第delta个工作日
+     * @param oldDateTime 原时间
+     *
+     * @return 变化后的时间
+     */
+    public static LocalDateTime changeWorkdaysOn(int delta, LocalDateTime oldDateTime) {
+        return WorkdayCalendar.getDefault().plusWorkdays(oldDateTime.toLocalDate(), delta).atTime(oldDateTime.toLocalTime());
+    }
+
     /**
      * 增减指定的小时数
      *
@@ -504,6 +704,18 @@ public class DateTimeUtil {
         return getDifferenceTimeUnits(older, later, ChronoUnit.DAYS);
     }
 
+    /**
+     * 按{@link WorkdayCalendar#getDefault()}获取两个日期之间的工作日数，包含较早的日期、不包含较晚的日期，忽略时间部分
+     *
+     * @param older 较早的时间
+     * @param later 较晚的时间
+     *
+     * @return 差值
+     */
+    public static long getDifferenceWorkdays(LocalDateTime older, LocalDateTime later) {
+        return WorkdayCalendar.getDefault().workdaysBetween(older.toLocalDate(), later.toLocalDate());
+    }
+
     /**
      * 获取两个时间相差的小时数
      *
@@ -555,6 +767,19 @@ public class DateTimeUtil {
         return older.until(later, timeUnit);
     }
 
+    /**
+     * 按指定的时间单元划分区间[start, end)，元素按需计算，替代循环{@link #changeOn(int, ChronoUnit, LocalDateTime)}生成列表
+     *
+     * @param start 开始时间（包含）
+     * @param end 结束时间（不包含）
+     * @param unit 时间单元
+     *
+     * @return {@link DateRange}
+     */
+    public static DateRange range(LocalDateTime start, LocalDateTime end, ChronoUnit unit) {
+        return DateRange.of(start, end, unit);
+    }
+
     /**
      * 用指定的模式创建时间
      *
@@ -563,7 +788,13 @@ public class DateTimeUtil {
      * @return 创建的时间
      */
     public static LocalDateTime parse(String timeStr, String pattern) {
-        DateTimeFormatter formatter = DateTimeFormatter.ofPattern(pattern);
-        return LocalDateTime.parse(timeStr, formatter);
+        int layout = FastDateTimeCodec.layoutOf(pattern);
+        if (layout == FastDateTimeCodec.LAYOUT_DATETIME || layout == FastDateTimeCodec.LAYOUT_DATETIME_MILLIS) {
+            LocalDateTime result = FastDateTimeCodec.parse(timeStr, layout);
+            if (null != result) {
+                return result;
+            }
+        }
+        return LocalDateTime.parse(timeStr, DateTimeFormatterCache.shared().get(pattern));
     }
 }
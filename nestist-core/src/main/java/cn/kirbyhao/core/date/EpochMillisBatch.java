@@ -0,0 +1,273 @@
+package cn.kirbyhao.core.date;
+
+import java.time.DateTimeException;
+import java.time.ZoneId;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 纪元毫秒列的批量换算与格式化
+ *
+ * <p>输入为从1970-01-01T00:00:00Z开始计数的毫秒数组（如Kafka批次、Parquet页中的时间戳列），
+ * 结果写入调用方提供的基本类型数组或可复用的字符、字节缓冲区，循环中不创建任何对象。
+ * 时区偏移按{@link ZoneOffsetCache}的窗口在循环内复用，只有跨越偏移变化时才重新查询。</p>
+ *
+ * <p>parallel开头的方法在数据量超过{@link #PARALLEL_THRESHOLD}时使用{@link ForkJoinPool#commonPool()}分段并行处理。</p>
+ *
+ * @author Lu Hao
+ * @date 2026-10-16
+ */
+public final class EpochMillisBatch {
+
+    /**
+     * 并行处理时每段的最小长度
+     */
+    public static final int PARALLEL_THRESHOLD = 1 << 15;
+
+    private EpochMillisBatch() {
+    }
+
+    /**
+     * 批量转换为本地纪元日（从1970-01-01开始计数的天数）
+     *
+     * @param epochMillis 纪元毫秒
+     * @param from 起始下标（包含）
+     * @param to 结束下标（不包含）
+     * @param zone 时区
+     * @param epochDays 输出，下标与输入一致
+     */
+    public static void toEpochDays(long[] epochMillis, int from, int to, ZoneId zone, int[] epochDays) {
+        checkRange(epochMillis, from, to);
+        ZoneOffsetCache.Window window = null;
+        for (int i = from; i < to; i++) {
+            long epochMilli = epochMillis[i];
+            long epochSecond = Math.floorDiv(epochMilli, 1000);
+            if (null == window || !window.contains(epochSecond)) {
+                window = ZoneOffsetCache.window(epochSecond, zone);
+            }
+            long localMilli = epochMilli + window.offsetSeconds() * 1000L;
+            epochDays[i] = (int) Math.floorDiv(localMilli, CivilCalendar.MILLIS_PER_DAY);
+        }
+    }
+
+    /**
+     * 批量分解为年、月、日、时、分、秒、毫秒列
+     *
+     * @param epochMillis 纪元毫秒
+     * @param from 起始下标（包含）
+     * @param to 结束下标（不包含）
+     * @param zone 时区
+     * @param columns 输出列，下标与输入一致
+     */
+    public static void decompose(long[] epochMillis, int from, int to, ZoneId zone, DateTimeColumns columns) {
+        checkRange(epochMillis, from, to);
+        boolean dateColumns = columns.hasDateColumns();
+        boolean timeColumns = columns.hasTimeColumns();
+        int[] years = columns.getYears();
+        int[] months = columns.getMonths();
+        int[] days = columns.getDays();
+        int[] hours = columns.getHours();
+        int[] minutes = columns.getMinutes();
+        int[] seconds = columns.getSeconds();
+        int[] millis = columns.getMillis();
+
+        ZoneOffsetCache.Window window = null;
+        long lastEpochDay = Long.MIN_VALUE;
+        long ymd = 0;
+        for (int i = from; i < to; i++) {
+            long epochMilli = epochMillis[i];
+            long epochSecond = Math.floorDiv(epochMilli, 1000);
+            if (null == window || !window.contains(epochSecond)) {
+                window = ZoneOffsetCache.window(epochSecond, zone);
+            }
+            long localMilli = epochMilli + window.offsetSeconds() * 1000L;
+            if (dateColumns) {
+                long epochDay = Math.floorDiv(localMilli, CivilCalendar.MILLIS_PER_DAY);
+                // 同一列中相邻时间戳大多在同一天，复用上一次的年月日
+                if (epochDay != lastEpochDay) {
+                    ymd = CivilCalendar.fromEpochDay(epochDay);
+                    lastEpochDay = epochDay;
+                }
+                if (null != years) {
+                    years[i] = CivilCalendar.year(ymd);
+                }
+                if (null != months) {
+                    months[i] = CivilCalendar.month(ymd);
+                }
+                if (null != days) {
+                    days[i] = CivilCalendar.day(ymd);
+                }
+            }
+            if (timeColumns) {
+                int milliOfDay = (int) Math.floorMod(localMilli, CivilCalendar.MILLIS_PER_DAY);
+                int secondOfDay = milliOfDay / 1000;
+                if (null != hours) {
+                    hours[i] = secondOfDay / 3600;
+                }
+                if (null != minutes) {
+                    minutes[i] = secondOfDay / 60 % 60;
+                }
+                if (null != seconds) {
+                    seconds[i] = secondOfDay % 60;
+                }
+                if (null != millis) {
+                    millis[i] = milliOfDay % 1000;
+                }
+            }
+        }
+    }
+
+    /**
+     * 批量格式化为内置格式，依次写入同一个字符缓冲区
+     *
+     * <p>内置格式为定长格式，第i个元素写在{@code offset + (i - from) * FastDateTimeCodec.length(layout)}处</p>
+     *
+     * @param epochMillis 纪元毫秒
+     * @param from 起始下标（包含）
+     * @param to 结束下标（不包含）
+     * @param zone 时区
+     * @param layout {@link FastDateTimeCodec}中的内置格式
+     * @param buf 输出缓冲区
+     * @param offset 写入起始位置
+     *
+     * @return 写入结束位置
+     *
+     * @throws DateTimeException 年份不在1到9999之间
+     */
+    public static int format(long[] epochMillis, int from, int to, ZoneId zone, int layout, char[] buf, int offset) {
+        return format(epochMillis, from, to, zone, layout, buf, null, offset);
+    }
+
+    /**
+     * 批量格式化为内置格式，以ASCII编码依次写入同一个字节缓冲区
+     *
+     * @param epochMillis 纪元毫秒
+     * @param from 起始下标（包含）
+     * @param to 结束下标（不包含）
+     * @param zone 时区
+     * @param layout {@link FastDateTimeCodec}中的内置格式
+     * @param buf 输出缓冲区
+     * @param offset 写入起始位置
+     *
+     * @return 写入结束位置
+     *
+     * @throws DateTimeException 年份不在1到9999之间
+     * @see #format(long[], int, int, ZoneId, int, char[], int)
+     */
+    public static int format(long[] epochMillis, int from, int to, ZoneId zone, int layout, byte[] buf, int offset) {
+        return format(epochMillis, from, to, zone, layout, null, buf, offset);
+    }
+
+    /**
+     * 并行的{@link #toEpochDays(long[], int, int, ZoneId, int[])}
+     */
+    public static void parallelToEpochDays(long[] epochMillis, int from, int to, ZoneId zone, int[] epochDays) {
+        checkRange(epochMillis, from, to);
+        ForkJoinPool.commonPool().invoke(new BatchTask(from, to,
+                (start, end) -> toEpochDays(epochMillis, start, end, zone, epochDays)));
+    }
+
+    /**
+     * 并行的{@link #decompose(long[], int, int, ZoneId, DateTimeColumns)}
+     */
+    public static void parallelDecompose(long[] epochMillis, int from, int to, ZoneId zone, DateTimeColumns columns) {
+        checkRange(epochMillis, from, to);
+        ForkJoinPool.commonPool().invoke(new BatchTask(from, to,
+                (start, end) -> decompose(epochMillis, start, end, zone, columns)));
+    }
+
+    /**
+     * 并行的{@link #format(long[], int, int, ZoneId, int, char[], int)}
+     */
+    public static int parallelFormat(long[] epochMillis, int from, int to, ZoneId zone, int layout, char[] buf,
+                                     int offset) {
+        checkRange(epochMillis, from, to);
+        int length = FastDateTimeCodec.length(layout);
+        ForkJoinPool.commonPool().invoke(new BatchTask(from, to,
+                (start, end) -> format(epochMillis, start, end, zone, layout, buf, offset + (start - from) * length)));
+        return offset + (to - from) * length;
+    }
+
+    private static int format(long[] epochMillis, int from, int to, ZoneId zone, int layout, char[] chars,
+                              byte[] bytes, int offset) {
+        checkRange(epochMillis, from, to);
+        ZoneOffsetCache.Window window = null;
+        long lastEpochDay = Long.MIN_VALUE;
+        long ymd = 0;
+        int position = offset;
+        for (int i = from; i < to; i++) {
+            long epochMilli = epochMillis[i];
+            long epochSecond = Math.floorDiv(epochMilli, 1000);
+            if (null == window || !window.contains(epochSecond)) {
+                window = ZoneOffsetCache.window(epochSecond, zone);
+            }
+            long localMilli = epochMilli + window.offsetSeconds() * 1000L;
+            long epochDay = Math.floorDiv(localMilli, CivilCalendar.MILLIS_PER_DAY);
+            if (epochDay != lastEpochDay) {
+                ymd = CivilCalendar.fromEpochDay(epochDay);
+                lastEpochDay = epochDay;
+                if (!FastDateTimeCodec.isSupportedYear(CivilCalendar.year(ymd))) {
+                    throw new DateTimeException("Year out of range [1, 9999] at index " + i + ": "
+                            + CivilCalendar.year(ymd));
+                }
+            }
+            int milliOfDay = (int) Math.floorMod(localMilli, CivilCalendar.MILLIS_PER_DAY);
+            int secondOfDay = milliOfDay / 1000;
+            int year = CivilCalendar.year(ymd);
+            int month = CivilCalendar.month(ymd);
+            int day = CivilCalendar.day(ymd);
+            if (null != chars) {
+                position = FastDateTimeCodec.format(year, month, day, secondOfDay / 3600, secondOfDay / 60 % 60,
+                        secondOfDay % 60, milliOfDay % 1000, layout, chars, position);
+            } else {
+                position = FastDateTimeCodec.format(year, month, day, secondOfDay / 3600, secondOfDay / 60 % 60,
+                        secondOfDay % 60, milliOfDay % 1000, layout, bytes, position);
+            }
+        }
+        return position;
+    }
+
+    private static void checkRange(long[] epochMillis, int from, int to) {
+        if (from < 0 || to > epochMillis.length || from > to) {
+            throw new IndexOutOfBoundsException("from: " + from + ", to: " + to + ", length: " + epochMillis.length);
+        }
+    }
+
+    /**
+     * 处理[start, end)区间的一段
+     */
+    @FunctionalInterface
+    private interface RangeConsumer {
+        void accept(int start, int end);
+    }
+
+    /**
+     * 按{@link #PARALLEL_THRESHOLD}二分拆分的并行任务
+     */
+    private static final class BatchTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final int start;
+
+        private final int end;
+
+        private final RangeConsumer consumer;
+
+        private BatchTask(int start, int end, RangeConsumer consumer) {
+            this.start = start;
+            this.end = end;
+            this.consumer = consumer;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start <= PARALLEL_THRESHOLD) {
+                consumer.accept(start, end);
+                return;
+            }
+            int middle = (start + end) >>> 1;
+            invokeAll(new BatchTask(start, middle, consumer), new BatchTask(middle, end, consumer));
+        }
+    }
+}
@@ -0,0 +1,453 @@
+package cn.kirbyhao.core.date;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * 内置日期格式的快速格式化与解析
+ *
+ * <p>只处理{@link DateTimeUtil#DATE_FORMAT_STR}、{@link DateTimeUtil#DATETIME_FORMAT_STR}、
+ * {@link DateTimeUtil#DATETIME_MILLIS_FORMAT_STR}三种定长格式，直接读写字符，
+ * 不经过{@link DateTimeFormatter}，也不产生中间对象。</p>
+ *
+ * <p>结果与对应的{@link DateTimeFormatter}完全一致：
+ * 年份只支持1到9999（yyyy为公元纪年，超出范围时格式不同），解析时日期按SMART规则把超出当月天数的日修正为月末。
+ * 不在支持范围内的输入由调用方回退到{@link DateTimeFormatter}处理。</p>
+ *
+ * @author Lu Hao
+ * @date 2026-10-16
+ */
+public final class FastDateTimeCodec {
+
+    /**
+     * 不支持的格式
+     */
+    public static final int LAYOUT_UNSUPPORTED = -1;
+
+    /**
+     * yyyy-MM-dd
+     */
+    public static final int LAYOUT_DATE = 0;
+
+    /**
+     * yyyy-MM-dd HH:mm:ss
+     */
+    public static final int LAYOUT_DATETIME = 1;
+
+    /**
+     * yyyy-MM-dd HH:mm:ss:SSS
+     */
+    public static final int LAYOUT_DATETIME_MILLIS = 2;
+
+    /**
+     * 解析失败时{@link #parseEpochMilli(CharSequence, int, ZoneOffset)}的返回值
+     */
+    public static final long INVALID = Long.MIN_VALUE;
+
+    private static final int[] LENGTHS = {10, 19, 23};
+
+    private FastDateTimeCodec() {
+    }
+
+    /**
+     * 获取格式串对应的内置格式
+     *
+     * @param pattern 格式串
+     *
+     * @return 内置格式，不支持时返回{@link #LAYOUT_UNSUPPORTED}
+     */
+    public static int layoutOf(String pattern) {
+        if (DateTimeUtil.DATETIME_FORMAT_STR.equals(pattern)) {
+            return LAYOUT_DATETIME;
+        }
+        if (DateTimeUtil.DATETIME_MILLIS_FORMAT_STR.equals(pattern)) {
+            return LAYOUT_DATETIME_MILLIS;
+        }
+        if (DateTimeUtil.DATE_FORMAT_STR.equals(pattern)) {
+            return LAYOUT_DATE;
+        }
+        return LAYOUT_UNSUPPORTED;
+    }
+
+    /**
+     * 获取内置格式化器对应的内置格式，按引用比较
+     *
+     * @param formatter 格式化器
+     *
+     * @return 内置格式，不支持时返回{@link #LAYOUT_UNSUPPORTED}
+     */
+    public static int layoutOf(DateTimeFormatter formatter) {
+        if (formatter == DateTimeUtil.DATETIME_FORMATTER) {
+            return LAYOUT_DATETIME;
+        }
+        if (formatter == DateTimeUtil.DATETIME_MILLIS_FORMATTER) {
+            return LAYOUT_DATETIME_MILLIS;
+        }
+        if (formatter == DateTimeUtil.DATE_FORMATTER) {
+            return LAYOUT_DATE;
+        }
+        return LAYOUT_UNSUPPORTED;
+    }
+
+    /**
+     * 内置格式的字符长度
+     *
+     * @param layout 内置格式
+     *
+     * @return 字符长度
+     */
+    public static int length(int layout) {
+        return LENGTHS[layout];
+    }
+
+    /**
+     * 年份是否在快速格式化的支持范围内
+     *
+     * @param year 年份
+     *
+     * @return 是否支持
+     */
+    public static boolean isSupportedYear(int year) {
+        return year >= 1 && year <= 9999;
+    }
+
+    /**
+     * 格式化为字符串
+     *
+     * @param time 时间，年份需在1到9999之间
+     * @param layout 内置格式
+     *
+     * @return 格式化后的字符串
+     */
+    public static String format(LocalDateTime time, int layout) {
+        char[] buf = new char[LENGTHS[layout]];
+        format(time, layout, buf, 0);
+        return new String(buf);
+    }
+
+    /**
+     * 格式化并追加到{@link StringBuilder}
+     *
+     * @param time 时间，年份需在1到9999之间
+     * @param layout 内置格式
+     * @param sb 目标
+     */
+    public static void format(LocalDateTime time, int layout, StringBuilder sb) {
+        int len = LENGTHS[layout];
+        int start = sb.length();
+        sb.setLength(start + len);
+        writeFields(time.getYear(), time.getMonthValue(), time.getDayOfMonth(), time.getHour(), time.getMinute(),
+                time.getSecond(), time.getNano() / 1_000_000, layout, sb, start);
+    }
+
+    /**
+     * 格式化并写入字符数组
+     *
+     * @param time 时间，年份需在1到9999之间
+     * @param layout 内置格式
+     * @param buf 目标数组
+     * @param offset 写入起始位置
+     *
+     * @return 写入结束位置
+     */
+    public static int format(LocalDateTime time, int layout, char[] buf, int offset) {
+        return format(time.getYear(), time.getMonthValue(), time.getDayOfMonth(), time.getHour(), time.getMinute(),
+                time.getSecond(), time.getNano() / 1_000_000, layout, buf, offset);
+    }
+
+    /**
+     * 按字段格式化并写入字符数组
+     *
+     * @param year 年，1到9999
+     * @param month 月
+     * @param day 日
+     * @param hour 时
+     * @param minute 分
+     * @param second 秒
+     * @param millis 毫秒
+     * @param layout 内置格式
+     * @param buf 目标数组
+     * @param offset 写入起始位置
+     *
+     * @return 写入结束位置
+     */
+    public static int format(int year, int month, int day, int hour, int minute, int second, int millis,
+                             int layout, char[] buf, int offset) {
+        write4(buf, offset, year);
+        buf[offset + 4] = '-';
+        write2(buf, offset + 5, month);
+        buf[offset + 7] = '-';
+        write2(buf, offset + 8, day);
+        if (layout == LAYOUT_DATE) {
+            return offset + 10;
+        }
+        buf[offset + 10] = ' ';
+        write2(buf, offset + 11, hour);
+        buf[offset + 13] = ':';
+        write2(buf, offset + 14, minute);
+        buf[offset + 16] = ':';
+        write2(buf, offset + 17, second);
+        if (layout == LAYOUT_DATETIME) {
+            return offset + 19;
+        }
+        buf[offset + 19] = ':';
+        write3(buf, offset + 20, millis);
+        return offset + 23;
+    }
+
+    /**
+     * 按字段格式化并以ASCII编码写入字节数组
+     *
+     * @param year 年，1到9999
+     * @param month 月
+     * @param day 日
+     * @param hour 时
+     * @param minute 分
+     * @param second 秒
+     * @param millis 毫秒
+     * @param layout 内置格式
+     * @param buf 目标数组
+     * @param offset 写入起始位置
+     *
+     * @return 写入结束位置
+     */
+    public static int format(int year, int month, int day, int hour, int minute, int second, int millis,
+                             int layout, byte[] buf, int offset) {
+        write2(buf, offset, year / 100);
+        write2(buf, offset + 2, year % 100);
+        buf[offset + 4] = '-';
+        write2(buf, offset + 5, month);
+        buf[offset + 7] = '-';
+        write2(buf, offset + 8, day);
+        if (layout == LAYOUT_DATE) {
+            return offset + 10;
+        }
+        buf[offset + 10] = ' ';
+        write2(buf, offset + 11, hour);
+        buf[offset + 13] = ':';
+        write2(buf, offset + 14, minute);
+        buf[offset + 16] = ':';
+        write2(buf, offset + 17, second);
+        if (layout == LAYOUT_DATETIME) {
+            return offset + 19;
+        }
+        buf[offset + 19] = ':';
+        buf[offset + 20] = (byte) ('0' + millis / 100);
+        write2(buf, offset + 21, millis % 100);
+        return offset + 23;
+    }
+
+    /**
+     * 按纪元毫秒格式化并写入字符数组
+     *
+     * @param epochMilli 从1970-01-01T00:00:00Z开始计数的毫秒数
+     * @param offsetSeconds 时区偏移秒数
+     * @param layout 内置格式
+     * @param buf 目标数组
+     * @param offset 写入起始位置
+     *
+     * @return 写入结束位置，年份不在支持范围内时返回-1
+     */
+    public static int formatEpochMilli(long epochMilli, int offsetSeconds, int layout, char[] buf, int offset) {
+        long localMilli = epochMilli + offsetSeconds * 1000L;
+        long epochDay = Math.floorDiv(localMilli, CivilCalendar.MILLIS_PER_DAY);
+        int milliOfDay = (int) Math.floorMod(localMilli, CivilCalendar.MILLIS_PER_DAY);
+        long ymd = CivilCalendar.fromEpochDay(epochDay);
+        int year = CivilCalendar.year(ymd);
+        if (!isSupportedYear(year)) {
+            return -1;
+        }
+        int secondOfDay = milliOfDay / 1000;
+        return format(year, CivilCalendar.month(ymd), CivilCalendar.day(ymd), secondOfDay / 3600,
+                secondOfDay / 60 % 60, secondOfDay % 60, milliOfDay % 1000, layout, buf, offset);
+    }
+
+    /**
+     * 解析为{@link LocalDateTime}，只有日期的格式解析为当天零点
+     *
+     * @param text 文本
+     * @param layout 内置格式
+     *
+     * @return {@link LocalDateTime}，文本与格式不完全匹配时返回{@code null}
+     */
+    public static LocalDateTime parse(CharSequence text, int layout) {
+        if (!matchesShape(text, layout)) {
+            return null;
+        }
+        int year = read4(text, 0);
+        int month = read2(text, 5);
+        int day = read2(text, 8);
+        if (!isValidDate(year, month, day)) {
+            return null;
+        }
+        day = Math.min(day, CivilCalendar.lengthOfMonth(year, month));
+        if (layout == LAYOUT_DATE) {
+            return LocalDateTime.of(year, month, day, 0, 0);
+        }
+        int hour = read2(text, 11);
+        int minute = read2(text, 14);
+        int second = read2(text, 17);
+        if (!isValidTime(hour, minute, second)) {
+            return null;
+        }
+        int millis = layout == LAYOUT_DATETIME_MILLIS ? read3(text, 20) : 0;
+        if (millis < 0) {
+            return null;
+        }
+        return LocalDateTime.of(year, month, day, hour, minute, second, millis * 1_000_000);
+    }
+
+    /**
+     * 解析为纪元毫秒
+     *
+     * @param text 文本
+     * @param layout 内置格式
+     * @param offset 时区偏移
+     *
+     * @return 从1970-01-01T00:00:00Z开始计数的毫秒数，文本与格式不完全匹配时返回{@link #INVALID}
+     */
+    public static long parseEpochMilli(CharSequence text, int layout, ZoneOffset offset) {
+        long localMilli = parseLocalEpochMilli(text, layout);
+        return localMilli == INVALID ? INVALID : localMilli - offset.getTotalSeconds() * 1000L;
+    }
+
+    /**
+     * 解析为本地纪元毫秒，即把文本视为UTC时间得到的毫秒数
+     *
+     * @param text 文本
+     * @param layout 内置格式
+     *
+     * @return 本地纪元毫秒，文本与格式不完全匹配时返回{@link #INVALID}
+     */
+    public static long parseLocalEpochMilli(CharSequence text, int layout) {
+        if (!matchesShape(text, layout)) {
+            return INVALID;
+        }
+        int year = read4(text, 0);
+        int month = read2(text, 5);
+        int day = read2(text, 8);
+        if (!isValidDate(year, month, day)) {
+            return INVALID;
+        }
+        day = Math.min(day, CivilCalendar.lengthOfMonth(year, month));
+        long millis = CivilCalendar.toEpochDay(year, month, day) * CivilCalendar.MILLIS_PER_DAY;
+        if (layout == LAYOUT_DATE) {
+            return millis;
+        }
+        int hour = read2(text, 11);
+        int minute = read2(text, 14);
+        int second = read2(text, 17);
+        if (!isValidTime(hour, minute, second)) {
+            return INVALID;
+        }
+        millis += (hour * 3600 + minute * 60 + second) * 1000L;
+        if (layout == LAYOUT_DATETIME_MILLIS) {
+            int milliOfSecond = read3(text, 20);
+            if (milliOfSecond < 0) {
+                return INVALID;
+            }
+            millis += milliOfSecond;
+        }
+        return millis;
+    }
+
+    static boolean isValidDate(int year, int month, int day) {
+        return year >= 1 && month >= 1 && month <= 12 && day >= 1 && day <= 31;
+    }
+
+    static boolean isValidTime(int hour, int minute, int second) {
+        return hour >= 0 && hour <= 23 && minute >= 0 && minute <= 59 && second >= 0 && second <= 59;
+    }
+
+    /**
+     * 校验长度、分隔符与数字位，数字位不合法时读出的值为负数
+     */
+    private static boolean matchesShape(CharSequence text, int layout) {
+        if (null == text || text.length() != LENGTHS[layout]) {
+            return false;
+        }
+        if (text.charAt(4) != '-' || text.charAt(7) != '-') {
+            return false;
+        }
+        if (layout == LAYOUT_DATE) {
+            return true;
+        }
+        if (text.charAt(10) != ' ' || text.charAt(13) != ':' || text.charAt(16) != ':') {
+            return false;
+        }
+        return layout == LAYOUT_DATETIME || text.charAt(19) == ':';
+    }
+
+    private static int digit(char c) {
+        int d = c - '0';
+        // 非数字字符返回一个足够小的负数，使整个字段的结果为负
+        return d >= 0 && d <= 9 ? d : -10_000;
+    }
+
+    private static int read2(CharSequence text, int index) {
+        return digit(text.charAt(index)) * 10 + digit(text.charAt(index + 1));
+    }
+
+    private static int read3(CharSequence text, int index) {
+        return digit(text.charAt(index)) * 100 + read2(text, index + 1);
+    }
+
+    private static int read4(CharSequence text, int index) {
+        return read2(text, index) * 100 + read2(text, index + 2);
+    }
+
+    private static void write2(char[] buf, int index, int value) {
+        buf[index] = (char) ('0' + value / 10);
+        buf[index + 1] = (char) ('0' + value % 10);
+    }
+
+    private static void write3(char[] buf, int index, int value) {
+        buf[index] = (char) ('0' + value / 100);
+        write2(buf, index + 1, value % 100);
+    }
+
+    private static void write4(char[] buf, int index, int value) {
+        write2(buf, index, value / 100);
+        write2(buf, index + 2, value % 100);
+    }
+
+    private static void write2(byte[] buf, int index, int value) {
+        buf[index] = (byte) ('0' + value / 10);
+        buf[index + 1] = (byte) ('0' + value % 10);
+    }
+
+    private static void writeFields(int year, int month, int day, int hour, int minute, int second, int millis,
+                                    int layout, StringBuilder sb, int start) {
+        write4(sb, start, year);
+        sb.setCharAt(start + 4, '-');
+        write2(sb, start + 5, month);
+        sb.setCharAt(start + 7, '-');
+        write2(sb, start + 8, day);
+        if (layout == LAYOUT_DATE) {
+            return;
+        }
+        sb.setCharAt(start + 10, ' ');
+        write2(sb, start + 11, hour);
+        sb.setCharAt(start + 13, ':');
+        write2(sb, start + 14, minute);
+        sb.setCharAt(start + 16, ':');
+        write2(sb, start + 17, second);
+        if (layout == LAYOUT_DATETIME) {
+            return;
+        }
+        sb.setCharAt(start + 19, ':');
+        sb.setCharAt(start + 20, (char) ('0' + millis / 100));
+        write2(sb, start + 21, millis % 100);
+    }
+
+    private static void write2(StringBuilder sb, int index, int value) {
+        sb.setCharAt(index, (char) ('0' + value / 10));
+        sb.setCharAt(index + 1, (char) ('0' + value % 10));
+    }
+
+    private static void write4(StringBuilder sb, int index, int value) {
+        write2(sb, index, value / 100);
+        write2(sb, index + 2, value % 100);
+    }
+}
@@ -0,0 +1,244 @@
+package cn.kirbyhao.core.date;
+
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+import java.time.temporal.TemporalField;
+import java.time.temporal.TemporalQueries;
+import java.time.temporal.TemporalQuery;
+import java.time.temporal.UnsupportedTemporalTypeException;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link DateTimeFormatter}格式化时必需的字段
+ *
+ * <p>用一个记录字段访问的探测对象实际格式化一次：探测对象起初不支持任何字段，格式化器读取不支持的字段而失败时，
+ * 把该字段加入支持的字段再重试，直到格式化成功。可选段（{@code [...]}）只会询问字段是否支持而不会因缺失而失败，
+ * 因此其中的字段不计入必需字段。本地化样式、{@link java.time.temporal.IsoFields}等派生字段最终读取的也是{@link ChronoField}，同样能被记录。
+ * 据此可在格式化之前判断{@link java.time.LocalDate}是否需要补全时间、{@link java.time.LocalTime}是否需要补全日期，
+ * 无需先格式化再根据{@link java.time.temporal.UnsupportedTemporalTypeException}重试。</p>
+ *
+ * <p>分析结果按格式化器实例缓存，格式化器一般为常量或来自{@link DateTimeFormatterCache}，实例数有限；
+ * 缓存超过{@link #MAX_CACHE_SIZE}时整体清空重建。</p>
+ *
+ * @author Lu Hao
+ * @date 2026-10-16
+ */
+public final class FormatterRequirements {
+
+    /**
+     * 缓存的格式化器数量上限
+     */
+    public static final int MAX_CACHE_SIZE = 1024;
+
+    /**
+     * 探测的最大次数，每次至少发现一个字段，ChronoField总数不超过该值
+     */
+    private static final int MAX_ATTEMPTS = 64;
+
+    /**
+     * 探测对象返回的字段值，取自一个各字段都有效的时刻
+     */
+    private static final ZonedDateTime PROBE_VALUES = ZonedDateTime.of(2000, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    private static final ConcurrentHashMap<DateTimeFormatter, FormatterRequirements> CACHE = new ConcurrentHashMap<>();
+
+    private final Set<TemporalField> requiredFields;
+
+    private final boolean dateRequired;
+
+    private final boolean timeRequired;
+
+    private final boolean otherRequired;
+
+    private FormatterRequirements(Set<TemporalField> requiredFields, boolean dateRequired, boolean timeRequired,
+                                  boolean otherRequired) {
+        this.requiredFields = Collections.unmodifiableSet(requiredFields);
+        this.dateRequired = dateRequired;
+        this.timeRequired = timeRequired;
+        this.otherRequired = otherRequired;
+    }
+
+    /**
+     * 获取格式化器的必需字段，结果会被缓存
+     *
+     * @param formatter 格式化器
+     *
+     * @return {@link FormatterRequirements}
+     */
+    public static FormatterRequirements of(DateTimeFormatter formatter) {
+        FormatterRequirements requirements = CACHE.get(formatter);
+        if (null == requirements) {
+            requirements = analyze(formatter);
+            if (CACHE.size() >= MAX_CACHE_SIZE) {
+                CACHE.clear();
+            }
+            CACHE.put(formatter, requirements);
+        }
+        return requirements;
+    }
+
+    /**
+     * 格式化时必须由时间对象提供的字段，按格式化器第一次读取的顺序排列，派生字段以其依赖的{@link ChronoField}表示
+     *
+     * @return 不可修改的字段集合
+     */
+    public Set<TemporalField> getRequiredFields() {
+        return requiredFields;
+    }
+
+    /**
+     * @return 是否需要日期字段（年、月、日、星期等）
+     */
+    public boolean isDateRequired() {
+        return dateRequired;
+    }
+
+    /**
+     * @return 是否需要时间字段（时、分、秒、上下午等）
+     */
+    public boolean isTimeRequired() {
+        return timeRequired;
+    }
+
+    /**
+     * @return 是否需要日期与时间之外的信息，如时区、偏移、纪元秒
+     */
+    public boolean isOtherRequired() {
+        return otherRequired;
+    }
+
+    /**
+     * 格式化指定时间对象时第一个会因不支持而失败的字段，即直接格式化时异常中报告的字段
+     *
+     * @param temporal 时间对象
+     *
+     * @return 字段，时间对象支持所有必需字段时返回{@code null}
+     */
+    public TemporalField firstUnsupportedField(TemporalAccessor temporal) {
+        for (TemporalField field : requiredFields) {
+            if (!temporal.isSupported(field)) {
+                return field;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 反复用探测对象格式化，每次失败时补上缺失的字段，直到格式化成功
+     */
+    private static FormatterRequirements analyze(DateTimeFormatter formatter) {
+        Set<TemporalField> fields = new LinkedHashSet<>();
+        boolean zoneSupported = false;
+        boolean other = false;
+        StringBuilder sink = new StringBuilder();
+        for (int attempt = 0; attempt < MAX_ATTEMPTS; attempt++) {
+            Probe probe = new Probe(fields, zoneSupported);
+            try {
+                sink.setLength(0);
+                formatter.formatTo(probe, sink);
+                break;
+            } catch (RuntimeException e) {
+                if (null != probe.missing) {
+                    fields.add(probe.missing);
+                } else if (!zoneSupported) {
+                    // 无法通过字段提供的信息只有时区，提供时区后继续探测后面的字段
+                    zoneSupported = true;
+                    other = true;
+                } else {
+                    other = true;
+                    break;
+                }
+            }
+        }
+        boolean date = false;
+        boolean time = false;
+        for (TemporalField field : fields) {
+            date |= field.isDateBased();
+            time |= field.isTimeBased();
+            other |= !field.isDateBased() && !field.isTimeBased();
+        }
+        return new FormatterRequirements(fields, date, time, other);
+    }
+
+    /**
+     * 只支持指定字段、并记录第一个被读取的不支持字段的时间对象
+     *
+     * <p>派生字段（如{@link java.time.temporal.IsoFields#QUARTER_OF_YEAR}）先询问依赖的字段是否支持，
+     * 不支持时直接失败而不读取，因此计算派生字段期间询问过的不支持字段也视为缺失。</p>
+     */
+    private static final class Probe implements TemporalAccessor {
+
+        private final Set<TemporalField> supported;
+
+        private final boolean zoneSupported;
+
+        /**
+         * 正在计算的派生字段层数
+         */
+        private int deriving;
+
+        private TemporalField missing;
+
+        private Probe(Set<TemporalField> supported, boolean zoneSupported) {
+            this.supported = supported;
+            this.zoneSupported = zoneSupported;
+        }
+
+        @Override
+        public boolean isSupported(TemporalField field) {
+            if (field instanceof ChronoField) {
+                if (supported.contains(field)) {
+                    return true;
+                }
+                if (deriving > 0) {
+                    markMissing(field);
+                }
+                return false;
+            }
+            return null != field && field.isSupportedBy(this);
+        }
+
+        @Override
+        public long getLong(TemporalField field) {
+            if (!(field instanceof ChronoField)) {
+                deriving++;
+                try {
+                    return field.getFrom(this);
+                } finally {
+                    deriving--;
+                }
+            }
+            if (!supported.contains(field)) {
+                markMissing(field);
+                throw new UnsupportedTemporalTypeException("Unsupported field: " + field);
+            }
+            return PROBE_VALUES.getLong(field);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <R> R query(TemporalQuery<R> query) {
+            if (query == TemporalQueries.localDate() && !supported.contains(ChronoField.EPOCH_DAY)) {
+                // 本地化的周字段等通过LocalDate计算
+                markMissing(ChronoField.EPOCH_DAY);
+            } else if (query == TemporalQueries.localTime() && !supported.contains(ChronoField.NANO_OF_DAY)) {
+                markMissing(ChronoField.NANO_OF_DAY);
+            } else if (zoneSupported && (query == TemporalQueries.zoneId() || query == TemporalQueries.zone())) {
+                return (R) ZoneOffset.UTC;
+            }
+            return TemporalAccessor.super.query(query);
+        }
+
+        private void markMissing(TemporalField field) {
+            if (null == missing) {
+                missing = field;
+            }
+        }
+    }
+}
@@ -0,0 +1,600 @@
+package cn.kirbyhao.core.date;
+
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+/**
+ * 时间区间索引，用于快速查找重叠、包含某一时刻、包含某一区间的区间
+ *
+ * <p>区间为左闭右开的[start, end)，以毫秒为单位保存。{@link LocalDateTime}按不带时区的本地毫秒数换算，
+ * 只要同一个索引内统一使用本地时间即可，毫秒以下的部分被截断。</p>
+ *
+ * <p>内部为按开始时间排序的树堆（treap），每个节点额外记录子树中最大的结束时间，查询时据此剪掉不可能重叠的子树。
+ * 插入、删除为O(log n)，重叠与时刻查询为O(log n + k)，k为结果个数。</p>
+ *
+ * <p>本类不是线程安全的。读多写少的场景可以用{@link #snapshot()}生成不可变的{@link Snapshot}，
+ * 它只由几个排序好的基本类型数组组成，可以被任意多个线程同时查询，写入方更新后重新生成并发布即可。</p>
+ *
+ * @param <V> 区间关联的值类型
+ *
+ * @author Lu Hao
+ * @date 2026-10-16
+ */
+public final class IntervalIndex<V> {
+
+    private Node<V> root;
+
+    private int size;
+
+    private long sequence;
+
+    /**
+     * @return 区间个数
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return 是否为空
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 添加区间
+     *
+     * @param start 开始时间（包含）
+     * @param end 结束时间（不包含）
+     * @param value 关联的值
+     */
+    public void add(LocalDateTime start, LocalDateTime end, V value) {
+        add(toMillis(start), toMillis(end), value);
+    }
+
+    /**
+     * 添加区间，相同的区间可以重复添加
+     *
+     * @param start 开始时间的毫秒数（包含）
+     * @param end 结束时间的毫秒数（不包含），必须晚于start
+     * @param value 关联的值
+     */
+    public void add(long start, long end, V value) {
+        checkInterval(start, end);
+        Node<V> node = new Node<>(start, end, sequence++, value, ThreadLocalRandom.current().nextInt());
+        root = insert(root, node);
+        size++;
+    }
+
+    /**
+     * 删除一个区间与值都相同的区间
+     *
+     * @param start 开始时间（包含）
+     * @param end 结束时间（不包含）
+     * @param value 关联的值
+     *
+     * @return 是否删除
+     */
+    public boolean remove(LocalDateTime start, LocalDateTime end, V value) {
+        return remove(toMillis(start), toMillis(end), value);
+    }
+
+    /**
+     * 删除一个区间与值都相同的区间
+     *
+     * @param start 开始时间的毫秒数（包含）
+     * @param end 结束时间的毫秒数（不包含）
+     * @param value 关联的值
+     *
+     * @return 是否删除
+     */
+    public boolean remove(long start, long end, V value) {
+        Node<V> found = find(root, start, end, value);
+        if (null == found) {
+            return false;
+        }
+        root = delete(root, found);
+        size--;
+        return true;
+    }
+
+    /**
+     * 清空
+     */
+    public void clear() {
+        root = null;
+        size = 0;
+    }
+
+    /**
+     * 是否有与[start, end)重叠的区间，例如检查新的预订是否冲突
+     *
+     * @param start 开始时间（包含）
+     * @param end 结束时间（不包含）
+     *
+     * @return 是否有重叠
+     */
+    public boolean overlaps(LocalDateTime start, LocalDateTime end) {
+        return overlaps(toMillis(start), toMillis(end));
+    }
+
+    /**
+     * 是否有与[start, end)重叠的区间，O(log n)
+     *
+     * @param start 开始时间的毫秒数（包含）
+     * @param end 结束时间的毫秒数（不包含）
+     *
+     * @return 是否有重叠
+     */
+    public boolean overlaps(long start, long end) {
+        Node<V> node = root;
+        while (null != node && node.maxEnd > start) {
+            if (node.start < end && node.end > start) {
+                return true;
+            }
+            if (null != node.left && node.left.maxEnd > start) {
+                // 左子树中存在结束时间晚于start的区间，它们的开始时间都不晚于node，若与查询不重叠则右子树也不会重叠
+                node = node.left;
+            } else if (node.start < end) {
+                node = node.right;
+            } else {
+                return false;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * 查找与[start, end)重叠的区间
+     *
+     * @param start 开始时间（包含）
+     * @param end 结束时间（不包含）
+     *
+     * @return 重叠区间关联的值，按开始时间排序
+     */
+    public List<V> findOverlapping(LocalDateTime start, LocalDateTime end) {
+        List<V> result = new ArrayList<>();
+        findOverlapping(toMillis(start), toMillis(end), result::add);
+        return result;
+    }
+
+    /**
+     * 查找与[start, end)重叠的区间，按开始时间的顺序回调
+     *
+     * @param start 开始时间的毫秒数（包含）
+     * @param end 结束时间的毫秒数（不包含）
+     * @param consumer 接收重叠区间关联的值
+     */
+    public void findOverlapping(long start, long end, Consumer<? super V> consumer) {
+        overlapping(root, start, end, consumer);
+    }
+
+    /**
+     * 查找包含某一时刻的区间
+     *
+     * @param time 时刻
+     *
+     * @return 包含该时刻的区间关联的值，按开始时间排序
+     */
+    public List<V> findContaining(LocalDateTime time) {
+        List<V> result = new ArrayList<>();
+        long millis = toMillis(time);
+        findOverlapping(millis, millis + 1, result::add);
+        return result;
+    }
+
+    /**
+     * 查找完整包含[start, end)的区间
+     *
+     * @param start 开始时间（包含）
+     * @param end 结束时间（不包含）
+     *
+     * @return 区间关联的值，按开始时间排序
+     */
+    public List<V> findEnclosing(LocalDateTime start, LocalDateTime end) {
+        List<V> result = new ArrayList<>();
+        findEnclosing(toMillis(start), toMillis(end), result::add);
+        return result;
+    }
+
+    /**
+     * 查找完整包含[start, end)的区间，即区间开始不晚于start、结束不早于end，按开始时间的顺序回调
+     *
+     * @param start 开始时间的毫秒数（包含）
+     * @param end 结束时间的毫秒数（不包含）
+     * @param consumer 接收区间关联的值
+     */
+    public void findEnclosing(long start, long end, Consumer<? super V> consumer) {
+        enclosing(root, start, end, consumer);
+    }
+
+    /**
+     * 生成不可变的快照，O(n)
+     *
+     * @return {@link Snapshot}
+     */
+    public Snapshot<V> snapshot() {
+        long[] starts = new long[size];
+        long[] ends = new long[size];
+        Object[] values = new Object[size];
+        int[] position = new int[1];
+        fill(root, starts, ends, values, position);
+        return new Snapshot<>(starts, ends, values);
+    }
+
+    static long toMillis(LocalDateTime time) {
+        return time.toEpochSecond(ZoneOffset.UTC) * 1000 + time.getNano() / 1_000_000;
+    }
+
+    private static void checkInterval(long start, long end) {
+        if (end <= start) {
+            throw new IllegalArgumentException("Interval end " + end + " is not after start " + start);
+        }
+    }
+
+    private static <V> void fill(Node<V> node, long[] starts, long[] ends, Object[] values, int[] position) {
+        while (null != node) {
+            fill(node.left, starts, ends, values, position);
+            int i = position[0]++;
+            starts[i] = node.start;
+            ends[i] = node.end;
+            values[i] = node.value;
+            node = node.right;
+        }
+    }
+
+    private static <V> void overlapping(Node<V> node, long start, long end, Consumer<? super V> consumer) {
+        while (null != node && node.maxEnd > start) {
+            overlapping(node.left, start, end, consumer);
+            if (node.start >= end) {
+                // 右子树的开始时间都不早于node，不会重叠
+                return;
+            }
+            if (node.end > start) {
+                consumer.accept(node.value);
+            }
+            node = node.right;
+        }
+    }
+
+    private static <V> void enclosing(Node<V> node, long start, long end, Consumer<? super V> consumer) {
+        while (null != node && node.maxEnd >= end) {
+            enclosing(node.left, start, end, consumer);
+            if (node.start > start) {
+                return;
+            }
+            if (node.end >= end) {
+                consumer.accept(node.value);
+            }
+            node = node.right;
+        }
+    }
+
+    private static <V> Node<V> find(Node<V> node, long start, long end, V value) {
+        while (null != node) {
+            int c = compare(start, end, node);
+            if (c == 0) {
+                if (Objects.equals(node.value, value)) {
+                    return node;
+                }
+                // 相同的区间按添加顺序排列，可能分布在两侧
+                Node<V> found = find(node.left, start, end, value);
+                return null != found ? found : find(node.right, start, end, value);
+            }
+            node = c < 0 ? node.left : node.right;
+        }
+        return null;
+    }
+
+    private static int compare(long start, long end, Node<?> node) {
+        int c = Long.compare(start, node.start);
+        return c != 0 ? c : Long.compare(end, node.end);
+    }
+
+    private static int compareKey(Node<?> a, Node<?> b) {
+        int c = compare(a.start, a.end, b);
+        return c != 0 ? c : Long.compare(a.sequence, b.sequence);
+    }
+
+    private static <V> Node<V> insert(Node<V> node, Node<V> inserted) {
+        if (null == node) {
+            return inserted;
+        }
+        if (compareKey(inserted, node) < 0) {
+            node.left = insert(node.left, inserted);
+            if (node.left.priority > node.priority) {
+                node = rotateRight(node);
+            }
+        } else {
+            node.right = insert(node.right, inserted);
+            if (node.right.priority > node.priority) {
+                node = rotateLeft(node);
+            }
+        }
+        node.update();
+        return node;
+    }
+
+    private static <V> Node<V> delete(Node<V> node, Node<V> target) {
+        if (node == target) {
+            return merge(node.left, node.right);
+        }
+        if (compareKey(target, node) < 0) {
+            node.left = delete(node.left, target);
+        } else {
+            node.right = delete(node.right, target);
+        }
+        node.update();
+        return node;
+    }
+
+    /**
+     * 合并两棵树，left中的键都小于right
+     */
+    private static <V> Node<V> merge(Node<V> left, Node<V> right) {
+        if (null == left) {
+            return right;
+        }
+        if (null == right) {
+            return left;
+        }
+        if (left.priority > right.priority) {
+            left.right = merge(left.right, right);
+            left.update();
+            return left;
+        }
+        right.left = merge(left, right.left);
+        right.update();
+        return right;
+    }
+
+    private static <V> Node<V> rotateRight(Node<V> node) {
+        Node<V> left = node.left;
+        node.left = left.right;
+        left.right = node;
+        node.update();
+        return left;
+    }
+
+    private static <V> Node<V> rotateLeft(Node<V> node) {
+        Node<V> right = node.right;
+        node.right = right.left;
+        right.left = node;
+        node.update();
+        return right;
+    }
+
+    private static final class Node<V> {
+
+        private final long start;
+
+        private final long end;
+
+        private final long sequence;
+
+        private final V value;
+
+        private final int priority;
+
+        /**
+         * 子树中最大的结束时间
+         */
+        private long maxEnd;
+
+        private Node<V> left;
+
+        private Node<V> right;
+
+        Node(long start, long end, long sequence, V value, int priority) {
+            this.start = start;
+            this.end = end;
+            this.sequence = sequence;
+            this.value = value;
+            this.priority = priority;
+            this.maxEnd = end;
+        }
+
+        void update() {
+            long max = end;
+            if (null != left && left.maxEnd > max) {
+                max = left.maxEnd;
+            }
+            if (null != right && right.maxEnd > max) {
+                max = right.maxEnd;
+            }
+            maxEnd = max;
+        }
+    }
+
+    /**
+     * {@link IntervalIndex}的不可变快照，线程安全
+     *
+     * <p>区间按开始时间排序保存在数组中，并把数组看作一棵隐式的平衡二叉树：区间[lo, hi)的根为中点，
+     * {@code maxEnds[mid]}记录该段内最大的结束时间，查询方式与{@link IntervalIndex}相同。</p>
+     *
+     * @param <V> 区间关联的值类型
+     */
+    public static final class Snapshot<V> {
+
+        private final long[] starts;
+
+        private final long[] ends;
+
+        private final Object[] values;
+
+        private final long[] maxEnds;
+
+        Snapshot(long[] starts, long[] ends, Object[] values) {
+            this.starts = starts;
+            this.ends = ends;
+            this.values = values;
+            this.maxEnds = new long[starts.length];
+            buildMaxEnds(0, starts.length);
+        }
+
+        /**
+         * @return 区间个数
+         */
+        public int size() {
+            return starts.length;
+        }
+
+        /**
+         * 是否有与[start, end)重叠的区间
+         *
+         * @param start 开始时间（包含）
+         * @param end 结束时间（不包含）
+         *
+         * @return 是否有重叠
+         */
+        public boolean overlaps(LocalDateTime start, LocalDateTime end) {
+            return overlaps(toMillis(start), toMillis(end));
+        }
+
+        /**
+         * 是否有与[start, end)重叠的区间，O(log n)
+         *
+         * @param start 开始时间的毫秒数（包含）
+         * @param end 结束时间的毫秒数（不包含）
+         *
+         * @return 是否有重叠
+         */
+        public boolean overlaps(long start, long end) {
+            int lo = 0;
+            int hi = starts.length;
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (maxEnds[mid] <= start) {
+                    return false;
+                }
+                if (starts[mid] < end && ends[mid] > start) {
+                    return true;
+                }
+                if (lo < mid && maxEnds[(lo + mid) >>> 1] > start) {
+                    hi = mid;
+                } else if (starts[mid] < end) {
+                    lo = mid + 1;
+                } else {
+                    return false;
+                }
+            }
+            return false;
+        }
+
+        /**
+         * 查找与[start, end)重叠的区间
+         *
+         * @param start 开始时间（包含）
+         * @param end 结束时间（不包含）
+         *
+         * @return 重叠区间关联的值，按开始时间排序
+         */
+        public List<V> findOverlapping(LocalDateTime start, LocalDateTime end) {
+            List<V> result = new ArrayList<>();
+            findOverlapping(toMillis(start), toMillis(end), result::add);
+            return result;
+        }
+
+        /**
+         * 查找与[start, end)重叠的区间，按开始时间的顺序回调
+         *
+         * @param start 开始时间的毫秒数（包含）
+         * @param end 结束时间的毫秒数（不包含）
+         * @param consumer 接收重叠区间关联的值
+         */
+        public void findOverlapping(long start, long end, Consumer<? super V> consumer) {
+            overlapping(0, starts.length, start, end, consumer);
+        }
+
+        /**
+         * 查找包含某一时刻的区间
+         *
+         * @param time 时刻
+         *
+         * @return 包含该时刻的区间关联的值，按开始时间排序
+         */
+        public List<V> findContaining(LocalDateTime time) {
+            List<V> result = new ArrayList<>();
+            long millis = toMillis(time);
+            findOverlapping(millis, millis + 1, result::add);
+            return result;
+        }
+
+        /**
+         * 查找完整包含[start, end)的区间
+         *
+         * @param start 开始时间（包含）
+         * @param end 结束时间（不包含）
+         *
+         * @return 区间关联的值，按开始时间排序
+         */
+        public List<V> findEnclosing(LocalDateTime start, LocalDateTime end) {
+            List<V> result = new ArrayList<>();
+            findEnclosing(toMillis(start), toMillis(end), result::add);
+            return result;
+        }
+
+        /**
+         * 查找完整包含[start, end)的区间，按开始时间的顺序回调
+         *
+         * @param start 开始时间的毫秒数（包含）
+         * @param end 结束时间的毫秒数（不包含）
+         * @param consumer 接收区间关联的值
+         */
+        public void findEnclosing(long start, long end, Consumer<? super V> consumer) {
+            enclosing(0, starts.length, start, end, consumer);
+        }
+
+        private long buildMaxEnds(int lo, int hi) {
+            if (lo >= hi) {
+                return Long.MIN_VALUE;
+            }
+            int mid = (lo + hi) >>> 1;
+            long max = Math.max(ends[mid], Math.max(buildMaxEnds(lo, mid), buildMaxEnds(mid + 1, hi)));
+            maxEnds[mid] = max;
+            return max;
+        }
+
+        @SuppressWarnings("unchecked")
+        private void overlapping(int lo, int hi, long start, long end, Consumer<? super V> consumer) {
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (maxEnds[mid] <= start) {
+                    return;
+                }
+                overlapping(lo, mid, start, end, consumer);
+                if (starts[mid] >= end) {
+                    return;
+                }
+                if (ends[mid] > start) {
+                    consumer.accept((V) values[mid]);
+                }
+                lo = mid + 1;
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private void enclosing(int lo, int hi, long start, long end, Consumer<? super V> consumer) {
+            while (lo < hi) {
+                int mid = (lo + hi) >>> 1;
+                if (maxEnds[mid] < end) {
+                    return;
+                }
+                enclosing(lo, mid, start, end, consumer);
+                if (starts[mid] > start) {
+                    return;
+                }
+                if (ends[mid] >= end) {
+                    consumer.accept((V) values[mid]);
+                }
+                lo = mid + 1;
+            }
+        }
+    }
+}
@@ -0,0 +1,252 @@
+package cn.kirbyhao.core.date;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.function.Consumer;
+
+/**
+ * 按时间截取日志文件的扫描器
+ *
+ * <p>日志文件的每条记录以内置格式的时间开头（默认为{@link DateTimeUtil#DATETIME_MILLIS_FORMAT_STR}），并按时间排序。
+ * 文件通过{@link FileChannel#map}分段映射到内存，在字节偏移上二分查找时间窗口的起止位置，
+ * 只需O(log n)次定位而无需读取整个文件；不以时间开头的行（如异常堆栈）归属于上一条记录。</p>
+ *
+ * <p>时间按本地时间比较，不涉及时区。实例不是线程安全的。</p>
+ *
+ * @author Lu Hao
+ * @date 2026-10-16
+ */
+public class LogTimestampScanner implements Closeable {
+
+    /**
+     * 每段映射的大小
+     */
+    private static final long SEGMENT_SIZE = 1L << 30;
+
+    /**
+     * 相邻两段映射重叠的大小，不超过该长度的行总能在一段映射内完整读取
+     */
+    private static final int SEGMENT_OVERLAP = 1 << 20;
+
+    private final FileChannel channel;
+
+    private final long size;
+
+    private final int layout;
+
+    private final int timestampLength;
+
+    private final MappedByteBuffer[] segments;
+
+    private final byte[] scratch;
+
+    private final AsciiDateTimeParser parser = new AsciiDateTimeParser();
+
+    /**
+     * 打开日志文件，记录以{@link DateTimeUtil#DATETIME_MILLIS_FORMAT_STR}格式的时间开头
+     *
+     * @param file 日志文件
+     *
+     * @throws IOException 打开文件失败
+     */
+    public LogTimestampScanner(Path file) throws IOException {
+        this(file, FastDateTimeCodec.LAYOUT_DATETIME_MILLIS);
+    }
+
+    /**
+     * 打开日志文件
+     *
+     * @param file 日志文件
+     * @param layout 行首时间的格式，{@link FastDateTimeCodec}中的内置格式
+     *
+     * @throws IOException 打开文件失败
+     */
+    public LogTimestampScanner(Path file, int layout) throws IOException {
+        this.channel = FileChannel.open(file, StandardOpenOption.READ);
+        this.size = channel.size();
+        this.layout = layout;
+        this.timestampLength = FastDateTimeCodec.length(layout);
+        this.segments = new MappedByteBuffer[(int) ((size + SEGMENT_SIZE - 1) / SEGMENT_SIZE)];
+        this.scratch = new byte[timestampLength];
+    }
+
+    /**
+     * @return 文件大小
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * 查找第一条时间不早于指定时间的记录的起始偏移
+     *
+     * @param time 时间
+     *
+     * @return 字节偏移，不存在时返回文件大小
+     *
+     * @throws IOException 映射文件失败
+     */
+    public long lowerBound(LocalDateTime time) throws IOException {
+        long target = time.toEpochSecond(ZoneOffset.UTC) * 1000 + time.getNano() / 1_000_000;
+        long lo = 0;
+        long hi = size;
+        while (lo < hi) {
+            long mid = (lo + hi) >>> 1;
+            long start = nextRecordStart(mid);
+            if (start >= size || timestampAt(start) >= target) {
+                hi = mid;
+            } else {
+                lo = mid + 1;
+            }
+        }
+        return nextRecordStart(lo);
+    }
+
+    /**
+     * 查找时间窗口[from, to)对应的字节区间
+     *
+     * @param from 开始时间（包含）
+     * @param to 结束时间（不包含）
+     *
+     * @return 两个元素的数组：起始偏移（包含）、结束偏移（不包含）
+     *
+     * @throws IOException 映射文件失败
+     */
+    public long[] findRange(LocalDateTime from, LocalDateTime to) throws IOException {
+        long start = lowerBound(from);
+        long end = Math.max(start, lowerBound(to));
+        return new long[]{start, end};
+    }
+
+    /**
+     * 把时间窗口[from, to)内的记录写入目标通道，由操作系统直接传输，不经过Java堆
+     *
+     * @param from 开始时间（包含）
+     * @param to 结束时间（不包含）
+     * @param target 目标通道
+     *
+     * @return 写入的字节数
+     *
+     * @throws IOException 读写失败
+     */
+    public long transferTo(LocalDateTime from, LocalDateTime to, WritableByteChannel target) throws IOException {
+        long[] range = findRange(from, to);
+        long position = range[0];
+        while (position < range[1]) {
+            position += channel.transferTo(position, range[1] - position, target);
+        }
+        return range[1] - range[0];
+    }
+
+    /**
+     * 依次处理时间窗口[from, to)内的每一行，不含换行符
+     *
+     * <p>传入的{@link ByteBuffer}是映射内存的只读视图，只在回调期间有效；
+     * 超过1MB且跨越映射段的行会复制到堆内存</p>
+     *
+     * @param from 开始时间（包含）
+     * @param to 结束时间（不包含）
+     * @param consumer 行处理
+     *
+     * @throws IOException 映射文件失败
+     */
+    public void forEachLine(LocalDateTime from, LocalDateTime to, Consumer<ByteBuffer> consumer) throws IOException {
+        long[] range = findRange(from, to);
+        long position = range[0];
+        while (position < range[1]) {
+            long lineEnd = indexOf((byte) '\n', position, range[1]);
+            consumer.accept(slice(position, lineEnd));
+            position = lineEnd + 1;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+
+    /**
+     * 从指定偏移开始（含该偏移处开始的行）的第一条记录的起始偏移，不存在时返回文件大小
+     */
+    private long nextRecordStart(long position) throws IOException {
+        long start = position == 0 ? 0 : indexOf((byte) '\n', position - 1, size) + 1;
+        while (start < size) {
+            if (timestampAt(start) != AsciiDateTimeParser.INVALID) {
+                return start;
+            }
+            start = indexOf((byte) '\n', start, size) + 1;
+        }
+        return size;
+    }
+
+    /**
+     * 解析行首的时间为本地纪元毫秒，不是记录行时返回{@link AsciiDateTimeParser#INVALID}
+     */
+    private long timestampAt(long lineStart) throws IOException {
+        if (lineStart + timestampLength > size) {
+            return AsciiDateTimeParser.INVALID;
+        }
+        MappedByteBuffer segment = segment(lineStart);
+        int index = (int) (lineStart % SEGMENT_SIZE);
+        for (int i = 0; i < timestampLength; i++) {
+            scratch[i] = segment.get(index + i);
+        }
+        return parser.parseLocalEpochMilli(scratch, 0, timestampLength, layout);
+    }
+
+    /**
+     * 在[from, limit)中查找字节，找不到时返回limit
+     */
+    private long indexOf(byte value, long from, long limit) throws IOException {
+        long position = from;
+        while (position < limit) {
+            MappedByteBuffer segment = segment(position);
+            long segmentStart = position - position % SEGMENT_SIZE;
+            int end = (int) (Math.min(limit, segmentStart + SEGMENT_SIZE) - segmentStart);
+            for (int i = (int) (position - segmentStart); i < end; i++) {
+                if (segment.get(i) == value) {
+                    return segmentStart + i;
+                }
+            }
+            position = segmentStart + end;
+        }
+        return limit;
+    }
+
+    private ByteBuffer slice(long start, long end) throws IOException {
+        int length = (int) (end - start);
+        MappedByteBuffer segment = segment(start);
+        int index = (int) (start % SEGMENT_SIZE);
+        if (index + length <= segment.limit()) {
+            ByteBuffer view = segment.asReadOnlyBuffer();
+            view.position(index).limit(index + length);
+            return view.slice();
+        }
+        ByteBuffer copy = ByteBuffer.allocate(length);
+        while (copy.hasRemaining()) {
+            channel.read(copy, start + copy.position());
+        }
+        copy.flip();
+        return copy.asReadOnlyBuffer();
+    }
+
+    private MappedByteBuffer segment(long position) throws IOException {
+        int index = (int) (position / SEGMENT_SIZE);
+        MappedByteBuffer segment = segments[index];
+        if (null == segment) {
+            long start = index * SEGMENT_SIZE;
+            long length = Math.min(size - start, SEGMENT_SIZE + SEGMENT_OVERLAP);
+            segment = channel.map(FileChannel.MapMode.READ_ONLY, start, length);
+            segments[index] = segment;
+        }
+        return segment;
+    }
+}
@@ -0,0 +1,325 @@
+package cn.kirbyhao.core.date;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * 自动识别格式的日期时间解析器
+ *
+ * <p>一次遍历即可按长度与分隔符位置确定输入的格式，直接交给对应的解析逻辑，
+ * 不需要逐个尝试{@link java.time.format.DateTimeFormatter}，解析失败也不会抛出异常。</p>
+ *
+ * <p>支持的格式见{@link Layout}，可通过构造参数限定接受的格式。
+ * 纪元秒、纪元毫秒以及带时区偏移的ISO文本会换算为指定时区的本地时间。
+ * 实例不可变，线程安全。</p>
+ *
+ * @author Lu Hao
+ * @date 2026-10-16
+ */
+public class MultiFormatDateTimeParser {
+
+    /**
+     * 支持的输入格式
+     */
+    public enum Layout {
+        /**
+         * yyyy-MM-dd
+         */
+        DATE("yyyy-MM-dd"),
+        /**
+         * yyyy-MM-dd HH:mm:ss
+         */
+        DATETIME("yyyy-MM-dd HH:mm:ss"),
+        /**
+         * yyyy-MM-dd HH:mm:ss:SSS 或 yyyy-MM-dd HH:mm:ss.SSS
+         */
+        DATETIME_MILLIS("yyyy-MM-dd HH:mm:ss:SSS"),
+        /**
+         * ISO-8601，例如：2007-12-03T10:15:30、2007-12-03T10:15:30.123+08:00
+         */
+        ISO(null),
+        /**
+         * yyyy/MM/dd
+         */
+        SLASH_DATE("yyyy/MM/dd"),
+        /**
+         * yyyy/MM/dd HH:mm:ss
+         */
+        SLASH_DATETIME("yyyy/MM/dd HH:mm:ss"),
+        /**
+         * yyyy/MM/dd HH:mm:ss:SSS 或 yyyy/MM/dd HH:mm:ss.SSS
+         */
+        SLASH_DATETIME_MILLIS("yyyy/MM/dd HH:mm:ss:SSS"),
+        /**
+         * yyyyMMdd
+         */
+        COMPACT_DATE("yyyyMMdd"),
+        /**
+         * yyyyMMddHHmmss
+         */
+        COMPACT_DATETIME("yyyyMMddHHmmss"),
+        /**
+         * yyyyMMddHHmmssSSS
+         */
+        COMPACT_DATETIME_MILLIS("yyyyMMddHHmmssSSS"),
+        /**
+         * 10位数字的纪元秒
+         */
+        EPOCH_SECONDS(null),
+        /**
+         * 13位数字的纪元毫秒
+         */
+        EPOCH_MILLIS(null);
+
+        /**
+         * 定长格式的模板，字母位为数字，其余为分隔符
+         */
+        private final String template;
+
+        Layout(String template) {
+            this.template = template;
+        }
+    }
+
+    /**
+     * 接受全部格式、使用系统默认时区的解析器
+     */
+    private static final MultiFormatDateTimeParser DEFAULT = new MultiFormatDateTimeParser(
+            EnumSet.allOf(Layout.class), null);
+
+    /**
+     * 按{@link Layout#ordinal()}索引的是否接受
+     */
+    private final boolean[] accepted;
+
+    /**
+     * 时区，为{@code null}时使用系统默认时区
+     */
+    private final ZoneId zone;
+
+    /**
+     * 构造
+     *
+     * @param layouts 接受的格式
+     * @param zone 时区，用于纪元时间以及带偏移的ISO文本，为{@code null}时使用系统默认时区
+     */
+    public MultiFormatDateTimeParser(Collection<Layout> layouts, ZoneId zone) {
+        this.accepted = new boolean[Layout.values().length];
+        for (Layout layout : layouts) {
+            accepted[layout.ordinal()] = true;
+        }
+        this.zone = zone;
+    }
+
+    /**
+     * 获取接受全部格式、使用系统默认时区的解析器
+     *
+     * @return {@link MultiFormatDateTimeParser}
+     */
+    public static MultiFormatDateTimeParser getDefault() {
+        return DEFAULT;
+    }
+
+    /**
+     * @return 接受的格式
+     */
+    public Set<Layout> getLayouts() {
+        Set<Layout> layouts = EnumSet.noneOf(Layout.class);
+        for (Layout layout : Layout.values()) {
+            if (accepted[layout.ordinal()]) {
+                layouts.add(layout);
+            }
+        }
+        return layouts;
+    }
+
+    /**
+     * 识别输入的格式
+     *
+     * @param text 文本
+     *
+     * @return 格式，无法识别或不在接受范围内时返回{@code null}
+     */
+    public Layout detect(CharSequence text) {
+        Layout layout = classify(text);
+        return null != layout && accepted[layout.ordinal()] ? layout : null;
+    }
+
+    /**
+     * 解析为{@link LocalDateTime}，只有日期的格式解析为当天零点
+     *
+     * @param text 文本
+     *
+     * @return {@link LocalDateTime}，无法识别或内容不合法时返回{@code null}
+     */
+    public LocalDateTime parse(CharSequence text) {
+        Layout layout = detect(text);
+        if (null == layout) {
+            return null;
+        }
+        switch (layout) {
+            case ISO:
+                return parseIso(text);
+            case EPOCH_SECONDS:
+            case EPOCH_MILLIS:
+                long epoch = readLong(text);
+                if (epoch < 0) {
+                    return null;
+                }
+                long epochMilli = layout == Layout.EPOCH_SECONDS ? epoch * 1000 : epoch;
+                return ZoneOffsetCache.toLocalDateTime(epochMilli, zone());
+            default:
+                long localMilli = parseTemplate(text, layout.template);
+                if (localMilli == AsciiDateTimeParser.INVALID) {
+                    return null;
+                }
+                return LocalDateTime.ofEpochSecond(Math.floorDiv(localMilli, 1000),
+                        (int) Math.floorMod(localMilli, 1000) * 1_000_000, ZoneOffset.UTC);
+        }
+    }
+
+    /**
+     * 按长度与分隔符位置确定格式
+     */
+    private static Layout classify(CharSequence text) {
+        if (null == text) {
+            return null;
+        }
+        int length = text.length();
+        if (length < 8) {
+            return null;
+        }
+        char c4 = text.charAt(4);
+        if (c4 >= '0' && c4 <= '9') {
+            switch (length) {
+                case 8:
+                    return Layout.COMPACT_DATE;
+                case 10:
+                    return Layout.EPOCH_SECONDS;
+                case 13:
+                    return Layout.EPOCH_MILLIS;
+                case 14:
+                    return Layout.COMPACT_DATETIME;
+                case 17:
+                    return Layout.COMPACT_DATETIME_MILLIS;
+                default:
+                    return null;
+            }
+        }
+        boolean slash = c4 == '/';
+        if (!slash && c4 != '-') {
+            return null;
+        }
+        if (length == 10) {
+            return slash ? Layout.SLASH_DATE : Layout.DATE;
+        }
+        if (length < 16) {
+            return null;
+        }
+        char c10 = text.charAt(10);
+        if (c10 == 'T' || c10 == 't') {
+            return slash ? null : Layout.ISO;
+        }
+        if (c10 != ' ') {
+            return null;
+        }
+        if (length == 19) {
+            return slash ? Layout.SLASH_DATETIME : Layout.DATETIME;
+        }
+        if (length == 23) {
+            return slash ? Layout.SLASH_DATETIME_MILLIS : Layout.DATETIME_MILLIS;
+        }
+        return null;
+    }
+
+    private LocalDateTime parseIso(CharSequence text) {
+        AsciiDateTimeParser parser = AsciiDateTimeParser.local();
+        long localMilli = parser.parseLocalEpochMilli(text, AsciiDateTimeParser.LAYOUT_ISO);
+        if (localMilli == AsciiDateTimeParser.INVALID) {
+            return null;
+        }
+        long localSecond = Math.floorDiv(localMilli, 1000);
+        int nano = parser.getNanoOfSecond();
+        if (parser.isOffsetPresent()) {
+            return ZoneOffsetCache.toLocalDateTime(localSecond - parser.getOffsetSeconds(), nano, zone());
+        }
+        return LocalDateTime.ofEpochSecond(localSecond, nano, ZoneOffset.UTC);
+    }
+
+    /**
+     * 按模板解析定长格式为本地纪元毫秒，毫秒前的分隔符接受':'或'.'
+     */
+    private static long parseTemplate(CharSequence text, String template) {
+        int year = 0;
+        int month = 0;
+        int day = 0;
+        int hour = 0;
+        int minute = 0;
+        int second = 0;
+        int millis = 0;
+        for (int i = 0; i < template.length(); i++) {
+            char expected = template.charAt(i);
+            char c = text.charAt(i);
+            if (Character.isLetter(expected)) {
+                int digit = c - '0';
+                if (digit < 0 || digit > 9) {
+                    return AsciiDateTimeParser.INVALID;
+                }
+                switch (expected) {
+                    case 'y':
+                        year = year * 10 + digit;
+                        break;
+                    case 'M':
+                        month = month * 10 + digit;
+                        break;
+                    case 'd':
+                        day = day * 10 + digit;
+                        break;
+                    case 'H':
+                        hour = hour * 10 + digit;
+                        break;
+                    case 'm':
+                        minute = minute * 10 + digit;
+                        break;
+                    case 's':
+                        second = second * 10 + digit;
+                        break;
+                    default:
+                        millis = millis * 10 + digit;
+                        break;
+                }
+            } else if (c != expected && !(i == 19 && c == '.')) {
+                return AsciiDateTimeParser.INVALID;
+            }
+        }
+        if (!FastDateTimeCodec.isValidDate(year, month, day) || day > CivilCalendar.lengthOfMonth(year, month)
+                || !FastDateTimeCodec.isValidTime(hour, minute, second)) {
+            return AsciiDateTimeParser.INVALID;
+        }
+        return CivilCalendar.toEpochDay(year, month, day) * CivilCalendar.MILLIS_PER_DAY
+                + (hour * 3600 + minute * 60 + second) * 1000L + millis;
+    }
+
+    /**
+     * 读取全为数字的文本，含非数字字符时返回-1
+     */
+    private static long readLong(CharSequence text) {
+        long value = 0;
+        for (int i = 0; i < text.length(); i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9) {
+                return -1;
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    private ZoneId zone() {
+        return null != zone ? zone : ZoneOffsetCache.systemDefault();
+    }
+}
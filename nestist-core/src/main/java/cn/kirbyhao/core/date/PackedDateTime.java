@@ -0,0 +1,545 @@
+package cn.kirbyhao.core.date;
+
+import java.time.DateTimeException;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.temporal.ChronoUnit;
+import java.time.temporal.UnsupportedTemporalTypeException;
+
+/**
+ * 打包为long的本地日期时间，精确到毫秒
+ *
+ * <p>各字段按位存放，从高到低依次为：年（有符号，28位）、月（4位）、日（5位）、时（5位）、分（6位）、秒（6位）、毫秒（10位）。
+ * 年份在最高位，因此打包值的大小顺序与时间先后一致，可以直接作为{@code long[]}排序、比较，
+ * 读取字段只是移位运算，加减与求差值只做整数运算，全程不创建对象，适合在大量时间戳上循环做分桶、范围判断等操作。</p>
+ *
+ * <p>加减与差值的语义与{@link LocalDateTime#plus(long, java.time.temporal.TemporalUnit)}、
+ * {@link LocalDateTime#until(java.time.temporal.Temporal, java.time.temporal.TemporalUnit)}一致，
+ * 例如加减月份时日超出当月天数取当月最后一天；{@link ChronoUnit#HALF_DAYS}总是按12小时计算。
+ * 由{@link LocalDateTime}转换时毫秒以下的部分被舍去。</p>
+ *
+ * @author Lu Hao
+ * @date 2026-10-16
+ */
+public final class PackedDateTime {
+
+    /**
+     * 支持的最小年份
+     */
+    public static final int MIN_YEAR = -(1 << 27);
+
+    /**
+     * 支持的最大年份
+     */
+    public static final int MAX_YEAR = (1 << 27) - 1;
+
+    private static final int MILLIS_SHIFT = 0;
+
+    private static final int SECOND_SHIFT = 10;
+
+    private static final int MINUTE_SHIFT = 16;
+
+    private static final int HOUR_SHIFT = 22;
+
+    /**
+     * 日期部分与{@link CivilCalendar#pack(long, int, int)}的打包方式相同，整体左移该位数
+     */
+    private static final int DATE_SHIFT = 27;
+
+    private static final long TIME_MASK = (1L << DATE_SHIFT) - 1;
+
+    private static final long MIN_EPOCH_DAY = CivilCalendar.toEpochDay(MIN_YEAR, 1, 1);
+
+    private static final long MAX_EPOCH_DAY = CivilCalendar.toEpochDay(MAX_YEAR, 12, 31);
+
+    private static final int MILLIS_PER_SECOND = 1000;
+
+    private static final int MILLIS_PER_MINUTE = 60_000;
+
+    private static final int MILLIS_PER_HOUR = 3_600_000;
+
+    private PackedDateTime() {
+    }
+
+    /**
+     * 由各字段创建
+     *
+     * @param year 年，{@link #MIN_YEAR}到{@link #MAX_YEAR}
+     * @param month 月，1到12
+     * @param day 日，1到当月天数
+     * @param hour 时，0到23
+     * @param minute 分，0到59
+     * @param second 秒，0到59
+     * @param millis 毫秒，0到999
+     *
+     * @return 打包值
+     *
+     * @throws DateTimeException 字段超出范围
+     */
+    public static long of(int year, int month, int day, int hour, int minute, int second, int millis) {
+        if (year < MIN_YEAR || year > MAX_YEAR) {
+            throw new DateTimeException("Year out of range: " + year);
+        }
+        if (month < 1 || month > 12 || day < 1 || day > CivilCalendar.lengthOfMonth(year, month)) {
+            throw new DateTimeException("Invalid date: " + year + "-" + month + "-" + day);
+        }
+        if (!FastDateTimeCodec.isValidTime(hour, minute, second) || millis < 0 || millis > 999) {
+            throw new DateTimeException("Invalid time: " + hour + ":" + minute + ":" + second + "." + millis);
+        }
+        return pack(year, month, day, hour, minute, second, millis);
+    }
+
+    /**
+     * 由{@link LocalDateTime}创建，毫秒以下的部分被舍去
+     *
+     * @param time 本地时间
+     *
+     * @return 打包值
+     *
+     * @throws DateTimeException 年份超出范围
+     */
+    public static long of(LocalDateTime time) {
+        return of(time.getYear(), time.getMonthValue(), time.getDayOfMonth(), time.getHour(), time.getMinute(),
+                time.getSecond(), time.getNano() / 1_000_000);
+    }
+
+    /**
+     * 由本地纪元毫秒创建，本地纪元毫秒即本地时间视为UTC时对应的毫秒数
+     *
+     * @param localEpochMilli 本地纪元毫秒
+     *
+     * @return 打包值
+     */
+    public static long ofLocalEpochMilli(long localEpochMilli) {
+        return ofEpochDay(Math.floorDiv(localEpochMilli, CivilCalendar.MILLIS_PER_DAY),
+                (int) Math.floorMod(localEpochMilli, CivilCalendar.MILLIS_PER_DAY));
+    }
+
+    /**
+     * 由纪元毫秒创建
+     *
+     * @param epochMilli 从1970-01-01T00:00:00Z开始计数的毫秒数
+     * @param zone 时区
+     *
+     * @return 打包值
+     */
+    public static long ofEpochMilli(long epochMilli, ZoneId zone) {
+        return ofLocalEpochMilli(ZoneOffsetCache.toLocalEpochMilli(epochMilli, zone));
+    }
+
+    /**
+     * 转换为{@link LocalDateTime}
+     *
+     * @param packed 打包值
+     *
+     * @return {@link LocalDateTime}
+     */
+    public static LocalDateTime toLocalDateTime(long packed) {
+        return LocalDateTime.of(getYear(packed), getMonth(packed), getDayOfMonth(packed), getHour(packed),
+                getMinute(packed), getSecond(packed), getMillis(packed) * 1_000_000);
+    }
+
+    /**
+     * 转换为本地纪元毫秒
+     *
+     * @param packed 打包值
+     *
+     * @return 本地纪元毫秒
+     */
+    public static long toLocalEpochMilli(long packed) {
+        return toEpochDay(packed) * CivilCalendar.MILLIS_PER_DAY + getMillisOfDay(packed);
+    }
+
+    /**
+     * 转换为纪元毫秒，跳过或重叠的本地时间按{@link LocalDateTime#atZone(ZoneId)}的规则处理
+     *
+     * @param packed 打包值
+     * @param zone 时区
+     *
+     * @return 从1970-01-01T00:00:00Z开始计数的毫秒数
+     */
+    public static long toEpochMilli(long packed, ZoneId zone) {
+        long localSecond = toEpochDay(packed) * CivilCalendar.SECONDS_PER_DAY + getMillisOfDay(packed) / 1000;
+        return ZoneOffsetCache.toEpochSecond(localSecond, zone) * 1000 + getMillis(packed);
+    }
+
+    /**
+     * @param packed 打包值
+     *
+     * @return 年
+     */
+    public static int getYear(long packed) {
+        return CivilCalendar.year(packed >> DATE_SHIFT);
+    }
+
+    /**
+     * @param packed 打包值
+     *
+     * @return 月，1到12
+     */
+    public static int getMonth(long packed) {
+        return CivilCalendar.month(packed >> DATE_SHIFT);
+    }
+
+    /**
+     * @param packed 打包值
+     *
+     * @return 日，1到31
+     */
+    public static int getDayOfMonth(long packed) {
+        return CivilCalendar.day(packed >> DATE_SHIFT);
+    }
+
+    /**
+     * @param packed 打包值
+     *
+     * @return 时，0到23
+     */
+    public static int getHour(long packed) {
+        return (int) (packed >>> HOUR_SHIFT) & 0x1F;
+    }
+
+    /**
+     * @param packed 打包值
+     *
+     * @return 分，0到59
+     */
+    public static int getMinute(long packed) {
+        return (int) (packed >>> MINUTE_SHIFT) & 0x3F;
+    }
+
+    /**
+     * @param packed 打包值
+     *
+     * @return 秒，0到59
+     */
+    public static int getSecond(long packed) {
+        return (int) (packed >>> SECOND_SHIFT) & 0x3F;
+    }
+
+    /**
+     * @param packed 打包值
+     *
+     * @return 毫秒，0到999
+     */
+    public static int getMillis(long packed) {
+        return (int) (packed >>> MILLIS_SHIFT) & 0x3FF;
+    }
+
+    /**
+     * @param packed 打包值
+     *
+     * @return 星期，周一为1，周日为7
+     */
+    public static int getDayOfWeek(long packed) {
+        return CivilCalendar.dayOfWeek(toEpochDay(packed));
+    }
+
+    /**
+     * @param packed 打包值
+     *
+     * @return 从1970-01-01开始计数的天数
+     */
+    public static long toEpochDay(long packed) {
+        long date = packed >> DATE_SHIFT;
+        return CivilCalendar.toEpochDay(CivilCalendar.year(date), CivilCalendar.month(date), CivilCalendar.day(date));
+    }
+
+    /**
+     * @param packed 打包值
+     *
+     * @return 当天已经过的毫秒数
+     */
+    public static int getMillisOfDay(long packed) {
+        return getHour(packed) * MILLIS_PER_HOUR + getMinute(packed) * MILLIS_PER_MINUTE
+                + getSecond(packed) * MILLIS_PER_SECOND + getMillis(packed);
+    }
+
+    /**
+     * 比较先后
+     *
+     * @param a 打包值
+     * @param b 打包值
+     *
+     * @return 负数、0、正数分别表示a早于、等于、晚于b
+     */
+    public static int compare(long a, long b) {
+        return Long.compare(a, b);
+    }
+
+    /**
+     * @param a 打包值
+     * @param b 打包值
+     *
+     * @return a是否早于b
+     */
+    public static boolean isBefore(long a, long b) {
+        return a < b;
+    }
+
+    /**
+     * @param a 打包值
+     * @param b 打包值
+     *
+     * @return a是否晚于b
+     */
+    public static boolean isAfter(long a, long b) {
+        return a > b;
+    }
+
+    /**
+     * 截断到指定单元，例如按小时、按天分桶
+     *
+     * @param packed 打包值
+     * @param unit 时间单元，{@link ChronoUnit#MILLIS}到{@link ChronoUnit#DAYS}
+     *
+     * @return 截断后的打包值
+     *
+     * @throws UnsupportedTemporalTypeException 不支持的时间单元
+     */
+    public static long truncatedTo(long packed, ChronoUnit unit) {
+        switch (unit) {
+            case NANOS:
+            case MICROS:
+            case MILLIS:
+                return packed;
+            case SECONDS:
+                return packed & ~((1L << SECOND_SHIFT) - 1);
+            case MINUTES:
+                return packed & ~((1L << MINUTE_SHIFT) - 1);
+            case HOURS:
+                return packed & ~((1L << HOUR_SHIFT) - 1);
+            case HALF_DAYS:
+                return (packed & ~TIME_MASK) | (getHour(packed) >= 12 ? 12L << HOUR_SHIFT : 0);
+            case DAYS:
+                return packed & ~TIME_MASK;
+            default:
+                throw new UnsupportedTemporalTypeException("Unsupported unit: " + unit);
+        }
+    }
+
+    /**
+     * 增加指定数量的时间单元，为负则减
+     *
+     * @param packed 打包值
+     * @param amount 数量
+     * @param unit 时间单元，不支持{@link ChronoUnit#NANOS}、{@link ChronoUnit#MICROS}、{@link ChronoUnit#ERAS}、
+     * {@link ChronoUnit#FOREVER}
+     *
+     * @return 打包值
+     *
+     * @throws UnsupportedTemporalTypeException 不支持的时间单元
+     * @throws DateTimeException 结果超出支持的范围
+     */
+    public static long plus(long packed, long amount, ChronoUnit unit) {
+        switch (unit) {
+            case MILLIS:
+                return plusMillis(packed, amount);
+            case SECONDS:
+                return plusMillis(packed, Math.multiplyExact(amount, MILLIS_PER_SECOND));
+            case MINUTES:
+                return plusMillis(packed, Math.multiplyExact(amount, MILLIS_PER_MINUTE));
+            case HOURS:
+                return plusMillis(packed, Math.multiplyExact(amount, MILLIS_PER_HOUR));
+            case HALF_DAYS:
+                return plusMillis(packed, Math.multiplyExact(amount, CivilCalendar.MILLIS_PER_DAY / 2));
+            case DAYS:
+                return plusDays(packed, amount);
+            case WEEKS:
+                return plusDays(packed, Math.multiplyExact(amount, 7));
+            case MONTHS:
+                return plusMonths(packed, amount);
+            case YEARS:
+                return plusMonths(packed, Math.multiplyExact(amount, 12));
+            case DECADES:
+                return plusMonths(packed, Math.multiplyExact(amount, 120));
+            case CENTURIES:
+                return plusMonths(packed, Math.multiplyExact(amount, 1200));
+            case MILLENNIA:
+                return plusMonths(packed, Math.multiplyExact(amount, 12_000));
+            default:
+                throw new UnsupportedTemporalTypeException("Unsupported unit: " + unit);
+        }
+    }
+
+    /**
+     * 减去指定数量的时间单元，为负则加
+     *
+     * @param packed 打包值
+     * @param amount 数量
+     * @param unit 时间单元，支持的单元同{@link #plus(long, long, ChronoUnit)}
+     *
+     * @return 打包值
+     */
+    public static long minus(long packed, long amount, ChronoUnit unit) {
+        return amount == Long.MIN_VALUE ? plus(plus(packed, Long.MAX_VALUE, unit), 1, unit)
+                : plus(packed, -amount, unit);
+    }
+
+    /**
+     * 增加指定的毫秒数
+     *
+     * @param packed 打包值
+     * @param millis 毫秒数（可以为负）
+     *
+     * @return 打包值
+     */
+    public static long plusMillis(long packed, long millis) {
+        if (millis == 0) {
+            return packed;
+        }
+        long millisOfDay = getMillisOfDay(packed) + Math.floorMod(millis, CivilCalendar.MILLIS_PER_DAY);
+        long days = Math.floorDiv(millis, CivilCalendar.MILLIS_PER_DAY) + millisOfDay / CivilCalendar.MILLIS_PER_DAY;
+        return ofEpochDay(toEpochDay(packed) + days, (int) (millisOfDay % CivilCalendar.MILLIS_PER_DAY));
+    }
+
+    /**
+     * 增加指定的天数
+     *
+     * @param packed 打包值
+     * @param days 天数（可以为负）
+     *
+     * @return 打包值
+     */
+    public static long plusDays(long packed, long days) {
+        if (days == 0) {
+            return packed;
+        }
+        return ofEpochDayAndTime(Math.addExact(toEpochDay(packed), days), packed & TIME_MASK);
+    }
+
+    /**
+     * 增加指定的月数，日超出当月天数时取当月最后一天
+     *
+     * @param packed 打包值
+     * @param months 月数（可以为负）
+     *
+     * @return 打包值
+     */
+    public static long plusMonths(long packed, long months) {
+        if (months == 0) {
+            return packed;
+        }
+        long monthCount = getYear(packed) * 12L + (getMonth(packed) - 1) + months;
+        long year = Math.floorDiv(monthCount, 12);
+        checkYear(year);
+        int month = (int) Math.floorMod(monthCount, 12) + 1;
+        int day = Math.min(getDayOfMonth(packed), CivilCalendar.lengthOfMonth(year, month));
+        return (CivilCalendar.pack(year, month, day) << DATE_SHIFT) | (packed & TIME_MASK);
+    }
+
+    /**
+     * 增加指定的年数，2月29日在非闰年取2月28日
+     *
+     * @param packed 打包值
+     * @param years 年数（可以为负）
+     *
+     * @return 打包值
+     */
+    public static long plusYears(long packed, long years) {
+        return plusMonths(packed, Math.multiplyExact(years, 12));
+    }
+
+    /**
+     * 计算两个时间相差的时间单元数，不足一个单元的部分舍去，与{@link DateTimeUtil#getDifferenceTimeUnits}一致
+     *
+     * @param start 开始时间的打包值
+     * @param end 结束时间的打包值
+     * @param unit 时间单元，不支持{@link ChronoUnit#ERAS}、{@link ChronoUnit#FOREVER}
+     *
+     * @return 差值，end早于start时为负
+     *
+     * @throws UnsupportedTemporalTypeException 不支持的时间单元
+     */
+    public static long until(long start, long end, ChronoUnit unit) {
+        if (unit.isTimeBased()) {
+            long millis = Math.addExact(Math.multiplyExact(toEpochDay(end) - toEpochDay(start),
+                    CivilCalendar.MILLIS_PER_DAY), getMillisOfDay(end) - getMillisOfDay(start));
+            switch (unit) {
+                case NANOS:
+                    return Math.multiplyExact(millis, 1_000_000L);
+                case MICROS:
+                    return Math.multiplyExact(millis, 1000L);
+                case MILLIS:
+                    return millis;
+                case SECONDS:
+                    return millis / MILLIS_PER_SECOND;
+                case MINUTES:
+                    return millis / MILLIS_PER_MINUTE;
+                case HOURS:
+                    return millis / MILLIS_PER_HOUR;
+                default:
+                    return millis / (CivilCalendar.MILLIS_PER_DAY / 2);
+            }
+        }
+
+        // 日期单元：结束时间的时刻早于开始时间的时刻时，最后一天不完整
+        long endDate = end >> DATE_SHIFT;
+        long startDate = start >> DATE_SHIFT;
+        long startTime = start & TIME_MASK;
+        long endTime = end & TIME_MASK;
+        long endEpochDay = toEpochDay(end);
+        if (endDate > startDate && endTime < startTime) {
+            endEpochDay--;
+            endDate = CivilCalendar.fromEpochDay(endEpochDay);
+        } else if (endDate < startDate && endTime > startTime) {
+            endEpochDay++;
+            endDate = CivilCalendar.fromEpochDay(endEpochDay);
+        }
+        switch (unit) {
+            case DAYS:
+                return endEpochDay - toEpochDay(start);
+            case WEEKS:
+                return (endEpochDay - toEpochDay(start)) / 7;
+            case MONTHS:
+                return monthsUntil(startDate, endDate);
+            case YEARS:
+                return monthsUntil(startDate, endDate) / 12;
+            case DECADES:
+                return monthsUntil(startDate, endDate) / 120;
+            case CENTURIES:
+                return monthsUntil(startDate, endDate) / 1200;
+            case MILLENNIA:
+                return monthsUntil(startDate, endDate) / 12_000;
+            default:
+                throw new UnsupportedTemporalTypeException("Unsupported unit: " + unit);
+        }
+    }
+
+    /**
+     * 与{@link java.time.LocalDate}中的计算相同：按（月序号 * 32 + 日）求差，不足一个月的部分舍去
+     */
+    private static long monthsUntil(long startDate, long endDate) {
+        long start = (CivilCalendar.year(startDate) * 12L + CivilCalendar.month(startDate) - 1) * 32
+                + CivilCalendar.day(startDate);
+        long end = (CivilCalendar.year(endDate) * 12L + CivilCalendar.month(endDate) - 1) * 32
+                + CivilCalendar.day(endDate);
+        return (end - start) / 32;
+    }
+
+    private static long ofEpochDay(long epochDay, int millisOfDay) {
+        int hour = millisOfDay / MILLIS_PER_HOUR;
+        int minute = millisOfDay / MILLIS_PER_MINUTE % 60;
+        int second = millisOfDay / MILLIS_PER_SECOND % 60;
+        return ofEpochDayAndTime(epochDay, ((long) hour << HOUR_SHIFT) | ((long) minute << MINUTE_SHIFT)
+                | ((long) second << SECOND_SHIFT) | (millisOfDay % MILLIS_PER_SECOND));
+    }
+
+    private static long ofEpochDayAndTime(long epochDay, long time) {
+        if (epochDay < MIN_EPOCH_DAY || epochDay > MAX_EPOCH_DAY) {
+            throw new DateTimeException("Epoch day out of range: " + epochDay);
+        }
+        return (CivilCalendar.fromEpochDay(epochDay) << DATE_SHIFT) | time;
+    }
+
+    private static void checkYear(long year) {
+        if (year < MIN_YEAR || year > MAX_YEAR) {
+            throw new DateTimeException("Year out of range: " + year);
+        }
+    }
+
+    private static long pack(int year, int month, int day, int hour, int minute, int second, int millis) {
+        return (CivilCalendar.pack(year, month, day) << DATE_SHIFT) | ((long) hour << HOUR_SHIFT)
+                | ((long) minute << MINUTE_SHIFT) | ((long) second << SECOND_SHIFT) | millis;
+    }
+}
@@ -0,0 +1,406 @@
+package cn.kirbyhao.core.date;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * 按时间分桶的滚动计数器，统计最近一段时间内的次数与数值之和
+ *
+ * <p>时间按固定长度划分为桶，桶序号为{@code floorDiv(epochMilli + offset, bucketMillis)}，
+ * 直接由毫秒数算出，不需要截断{@link LocalDateTime}或格式化成字符串作为键。
+ * 最近的bucketCount个桶保存在环形数组中，每个桶的次数与和各用一个{@link LongAdder}累加，
+ * 高并发写入时分散到不同的cell上，不会争用同一个变量。</p>
+ *
+ * <p>写入不加锁：写入时发现所在的槽位保存的是更早的桶，就新建一个桶用CAS替换，替换失败说明其他线程已经替换过，
+ * 直接使用即可。旧桶只有在经过整整一轮（bucketCount个桶长）之后才会被替换，正在写入的线程不会受影响。</p>
+ *
+ * <p>{@link #rollup(long)}把细粒度的桶按更大的长度合并，例如把按分钟的桶汇总为按小时的结果。</p>
+ *
+ * @author Lu Hao
+ * @date 2026-10-16
+ */
+public final class RollingCounter {
+
+    private final long bucketMillis;
+
+    private final int bucketCount;
+
+    /**
+     * 时区偏移的毫秒数，使按天、按小时分桶时与本地时间对齐
+     */
+    private final long offsetMillis;
+
+    private final AtomicReferenceArray<Bucket> buckets;
+
+    /**
+     * 创建按UTC对齐的计数器
+     *
+     * @param bucketSize 每个桶的时间长度，至少1毫秒
+     * @param bucketCount 保留的桶数
+     */
+    public RollingCounter(Duration bucketSize, int bucketCount) {
+        this(bucketSize, bucketCount, ZoneOffset.UTC);
+    }
+
+    /**
+     * 创建计数器
+     *
+     * @param bucketSize 每个桶的时间长度，至少1毫秒
+     * @param bucketCount 保留的桶数
+     * @param offset 桶边界对齐的时区偏移，例如按天分桶时使用+08:00，桶从北京时间零点开始
+     */
+    public RollingCounter(Duration bucketSize, int bucketCount, ZoneOffset offset) {
+        this.bucketMillis = bucketSize.toMillis();
+        if (bucketMillis <= 0) {
+            throw new IllegalArgumentException("bucketSize must be at least 1 millisecond: " + bucketSize);
+        }
+        if (bucketCount <= 0) {
+            throw new IllegalArgumentException("bucketCount must be positive: " + bucketCount);
+        }
+        this.bucketCount = bucketCount;
+        this.offsetMillis = offset.getTotalSeconds() * 1000L;
+        this.buckets = new AtomicReferenceArray<>(bucketCount);
+    }
+
+    /**
+     * 创建按UTC对齐的计数器
+     *
+     * @param unit 桶长度的单位，需要是固定长度的单位，例如{@link ChronoUnit#MINUTES}
+     * @param bucketCount 保留的桶数
+     *
+     * @return {@link RollingCounter}
+     */
+    public static RollingCounter of(ChronoUnit unit, int bucketCount) {
+        return new RollingCounter(unit.getDuration(), bucketCount);
+    }
+
+    /**
+     * @return 每个桶的毫秒数
+     */
+    public long getBucketMillis() {
+        return bucketMillis;
+    }
+
+    /**
+     * @return 保留的桶数
+     */
+    public int getBucketCount() {
+        return bucketCount;
+    }
+
+    /**
+     * 当前时间记录一次
+     */
+    public void increment() {
+        add(DateTimeUtil.getClock().millis(), 1);
+    }
+
+    /**
+     * 当前时间记录一次，并累加数值
+     *
+     * @param value 数值，例如耗时、字节数
+     */
+    public void add(long value) {
+        add(DateTimeUtil.getClock().millis(), value);
+    }
+
+    /**
+     * 在指定时间记录一次，并累加数值，早于保留范围的时间会被忽略
+     *
+     * @param epochMilli 毫秒时间戳
+     * @param value 数值
+     */
+    public void add(long epochMilli, long value) {
+        Bucket bucket = bucketFor(bucketIndex(epochMilli));
+        if (null != bucket) {
+            bucket.count.increment();
+            bucket.sum.add(value);
+        }
+    }
+
+    /**
+     * 最近一段时间内的次数，包含当前所在的桶
+     *
+     * @param window 时间长度，按桶长向上取整
+     *
+     * @return 次数
+     */
+    public long count(Duration window) {
+        return count(DateTimeUtil.getClock().millis(), window);
+    }
+
+    /**
+     * 截至指定时间的一段时间内的次数，包含该时间所在的桶
+     *
+     * @param epochMilli 截止时间的毫秒时间戳
+     * @param window 时间长度，按桶长向上取整
+     *
+     * @return 次数
+     */
+    public long count(long epochMilli, Duration window) {
+        return aggregate(epochMilli, window, false);
+    }
+
+    /**
+     * 最近一段时间内数值的和，包含当前所在的桶
+     *
+     * @param window 时间长度，按桶长向上取整
+     *
+     * @return 和
+     */
+    public long sum(Duration window) {
+        return sum(DateTimeUtil.getClock().millis(), window);
+    }
+
+    /**
+     * 截至指定时间的一段时间内数值的和，包含该时间所在的桶
+     *
+     * @param epochMilli 截止时间的毫秒时间戳
+     * @param window 时间长度，按桶长向上取整
+     *
+     * @return 和
+     */
+    public long sum(long epochMilli, Duration window) {
+        return aggregate(epochMilli, window, true);
+    }
+
+    /**
+     * 最近一段时间内的平均速率
+     *
+     * @param window 时间长度，按桶长向上取整
+     * @param per 速率的时间单位，例如{@link TimeUnit#SECONDS}表示每秒次数
+     *
+     * @return 速率
+     */
+    public double rate(Duration window, TimeUnit per) {
+        return rate(DateTimeUtil.getClock().millis(), window, per);
+    }
+
+    /**
+     * 截至指定时间的一段时间内的平均速率，时间长度按实际统计的桶数计算
+     *
+     * @param epochMilli 截止时间的毫秒时间戳
+     * @param window 时间长度，按桶长向上取整
+     * @param per 速率的时间单位
+     *
+     * @return 速率
+     */
+    public double rate(long epochMilli, Duration window, TimeUnit per) {
+        long count = count(epochMilli, window);
+        double millis = (double) windowBuckets(window) * bucketMillis;
+        return count * per.toMillis(1) / millis;
+    }
+
+    /**
+     * 保留范围内所有非空的桶，按时间先后排列
+     *
+     * @return 各桶的快照
+     */
+    public List<Snapshot> snapshot() {
+        return rollup(bucketMillis);
+    }
+
+    /**
+     * 把保留范围内的桶按更大的时间长度合并
+     *
+     * @param coarseMillis 合并后的时间长度，必须是桶长的整数倍
+     *
+     * @return 合并后的快照，按时间先后排列，没有数据的时间段不出现
+     */
+    public List<Snapshot> rollup(long coarseMillis) {
+        if (coarseMillis <= 0 || coarseMillis % bucketMillis != 0) {
+            throw new IllegalArgumentException("coarseMillis must be a positive multiple of " + bucketMillis
+                    + ": " + coarseMillis);
+        }
+        List<Bucket> live = new ArrayList<>(bucketCount);
+        long newest = Long.MIN_VALUE;
+        for (int i = 0; i < bucketCount; i++) {
+            Bucket bucket = buckets.get(i);
+            if (null != bucket) {
+                live.add(bucket);
+                newest = Math.max(newest, bucket.index);
+            }
+        }
+        if (live.isEmpty()) {
+            return Collections.emptyList();
+        }
+        live.sort((a, b) -> Long.compare(a.index, b.index));
+
+        long ratio = coarseMillis / bucketMillis;
+        List<Snapshot> result = new ArrayList<>();
+        long group = Long.MIN_VALUE;
+        long count = 0;
+        long sum = 0;
+        for (Bucket bucket : live) {
+            if (bucket.index <= newest - bucketCount) {
+                // 已经过期但槽位尚未被覆盖
+                continue;
+            }
+            long g = Math.floorDiv(bucket.index, ratio);
+            if (g != group) {
+                if (count != 0 || sum != 0) {
+                    result.add(new Snapshot(group * coarseMillis - offsetMillis, coarseMillis, count, sum));
+                }
+                group = g;
+                count = 0;
+                sum = 0;
+            }
+            count += bucket.count.sum();
+            sum += bucket.sum.sum();
+        }
+        if (count != 0 || sum != 0) {
+            result.add(new Snapshot(group * coarseMillis - offsetMillis, coarseMillis, count, sum));
+        }
+        return result;
+    }
+
+    /**
+     * 清空所有的桶
+     */
+    public void reset() {
+        for (int i = 0; i < bucketCount; i++) {
+            buckets.set(i, null);
+        }
+    }
+
+    private long bucketIndex(long epochMilli) {
+        return Math.floorDiv(epochMilli + offsetMillis, bucketMillis);
+    }
+
+    private int slot(long index) {
+        return (int) Math.floorMod(index, (long) bucketCount);
+    }
+
+    /**
+     * 获取序号为index的桶，槽位中是更早的桶时替换，是更晚的桶（index已过期）时返回{@code null}
+     */
+    private Bucket bucketFor(long index) {
+        int slot = slot(index);
+        while (true) {
+            Bucket bucket = buckets.get(slot);
+            if (null != bucket) {
+                if (bucket.index == index) {
+                    return bucket;
+                }
+                if (bucket.index > index) {
+                    return null;
+                }
+            }
+            Bucket created = new Bucket(index);
+            if (buckets.compareAndSet(slot, bucket, created)) {
+                return created;
+            }
+        }
+    }
+
+    private long windowBuckets(Duration window) {
+        long millis = window.toMillis();
+        if (millis <= 0) {
+            throw new IllegalArgumentException("window must be positive: " + window);
+        }
+        return Math.min((millis + bucketMillis - 1) / bucketMillis, bucketCount);
+    }
+
+    private long aggregate(long epochMilli, Duration window, boolean sum) {
+        long last = bucketIndex(epochMilli);
+        long first = last - windowBuckets(window) + 1;
+        long total = 0;
+        for (int i = 0; i < bucketCount; i++) {
+            Bucket bucket = buckets.get(i);
+            if (null != bucket && bucket.index >= first && bucket.index <= last) {
+                total += sum ? bucket.sum.sum() : bucket.count.sum();
+            }
+        }
+        return total;
+    }
+
+    private static final class Bucket {
+
+        private final long index;
+
+        private final LongAdder count = new LongAdder();
+
+        private final LongAdder sum = new LongAdder();
+
+        Bucket(long index) {
+            this.index = index;
+        }
+    }
+
+    /**
+     * 一个时间段的统计结果，不可变
+     */
+    public static final class Snapshot {
+
+        private final long startEpochMilli;
+
+        private final long lengthMillis;
+
+        private final long count;
+
+        private final long sum;
+
+        Snapshot(long startEpochMilli, long lengthMillis, long count, long sum) {
+            this.startEpochMilli = startEpochMilli;
+            this.lengthMillis = lengthMillis;
+            this.count = count;
+            this.sum = sum;
+        }
+
+        /**
+         * @return 开始时间的毫秒时间戳（包含）
+         */
+        public long getStartEpochMilli() {
+            return startEpochMilli;
+        }
+
+        /**
+         * @return 结束时间的毫秒时间戳（不包含）
+         */
+        public long getEndEpochMilli() {
+            return startEpochMilli + lengthMillis;
+        }
+
+        /**
+         * @return 开始时间
+         */
+        public Instant getStart() {
+            return Instant.ofEpochMilli(startEpochMilli);
+        }
+
+        /**
+         * @return 次数
+         */
+        public long getCount() {
+            return count;
+        }
+
+        /**
+         * @return 数值的和
+         */
+        public long getSum() {
+            return sum;
+        }
+
+        /**
+         * @return 平均值，次数为0时返回0
+         */
+        public double getAverage() {
+            return count == 0 ? 0 : (double) sum / count;
+        }
+
+        @Override
+        public String toString() {
+            return getStart() + " count=" + count + " sum=" + sum;
+        }
+    }
+}
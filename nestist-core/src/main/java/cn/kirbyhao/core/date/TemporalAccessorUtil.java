@@ -4,16 +4,15 @@ import org.springframework.util.StringUtils;
 
 import java.time.Instant;
 import java.time.LocalDate;
-import java.time.LocalDateTime;
 import java.time.LocalTime;
-import java.time.OffsetDateTime;
-import java.time.OffsetTime;
 import java.time.ZoneId;
-import java.time.ZonedDateTime;
 import java.time.format.DateTimeFormatter;
+import java.time.temporal.ChronoField;
 import java.time.temporal.TemporalAccessor;
 import java.time.temporal.TemporalField;
-import java.time.temporal.UnsupportedTemporalTypeException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
 
 /**
  * {@link TemporalAccessor} 工具类封装
@@ -55,19 +54,20 @@ public class TemporalAccessorUtil extends TemporalUtil {
 			formatter = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
 		}
 
-
-		try {
-			return formatter.format(time);
-		} catch (UnsupportedTemporalTypeException e){
-			if(time instanceof LocalDate && e.getMessage().contains("HourOfDay")){
-				// 用户传入LocalDate，但是要求格式化带有时间部分，转换为LocalDateTime重试
-				return formatter.format(((LocalDate) time).atStartOfDay());
-			}else if(time instanceof LocalTime && e.getMessage().contains("YearOfEra")){
-				// 用户传入LocalTime，但是要求格式化带有日期部分，转换为LocalDateTime重试
-				return formatter.format(((LocalTime) time).atDate(LocalDate.now()));
+		// 根据格式化器需要的字段预先补全，避免先抛出UnsupportedTemporalTypeException再重试；
+		// 只在直接格式化时第一个缺失的字段为小时（LocalDate）或年（LocalTime）时补全，其余情况照常抛出异常
+		if (time instanceof LocalDate) {
+			if (FormatterRequirements.of(formatter).firstUnsupportedField(time) == ChronoField.HOUR_OF_DAY) {
+				// 用户传入LocalDate，但是要求格式化带有时间部分，转换为LocalDateTime
+				time = ((LocalDate) time).atStartOfDay();
+			}
+		} else if (time instanceof LocalTime) {
+			if (FormatterRequirements.of(formatter).firstUnsupportedField(time) == ChronoField.YEAR_OF_ERA) {
+				// 用户传入LocalTime，但是要求格式化带有日期部分，转换为LocalDateTime
+				time = ((LocalTime) time).atDate(LocalDate.now());
 			}
-			throw e;
 		}
+		return formatter.format(time);
 	}
 
 	/**
@@ -84,7 +84,7 @@ public class TemporalAccessorUtil extends TemporalUtil {
 		}
 
 		final DateTimeFormatter formatter = StringUtils.isEmpty(format)
-				? null : DateTimeFormatter.ofPattern(format);
+				? null : DateTimeFormatterCache.shared().get(format);
 
 		return format(time, formatter);
 	}
@@ -97,7 +97,32 @@ public class TemporalAccessorUtil extends TemporalUtil {
 	 * @since 5.4.1
 	 */
 	public static long toEpochMilli(TemporalAccessor temporalAccessor) {
-		return toInstant(temporalAccessor).toEpochMilli();
+		return TemporalConverter.of(temporalAccessor.getClass())
+				.toEpochMilli(temporalAccessor, ZoneOffsetCache.systemDefault());
+	}
+
+	/**
+	 * 批量转换为时间戳（从1970-01-01T00:00:00Z开始的毫秒数），本地时间使用默认时区
+	 *
+	 * <p>相邻元素类型相同时复用同一个转换策略，适合批量映射同一类型的集合</p>
+	 *
+	 * @param temporalAccessors 时间对象集合，元素不能为{@code null}
+	 * @return 时间戳数组，顺序与集合迭代顺序一致
+	 */
+	public static long[] toEpochMillis(Collection<? extends TemporalAccessor> temporalAccessors) {
+		final ZoneId zone = ZoneOffsetCache.systemDefault();
+		final long[] result = new long[temporalAccessors.size()];
+		Class<?> type = null;
+		TemporalConverter converter = null;
+		int i = 0;
+		for (TemporalAccessor temporalAccessor : temporalAccessors) {
+			if (temporalAccessor.getClass() != type) {
+				type = temporalAccessor.getClass();
+				converter = TemporalConverter.of(type);
+			}
+			result[i++] = converter.toEpochMilli(temporalAccessor, zone);
+		}
+		return result;
 	}
 
 	/**
@@ -112,27 +137,32 @@ public class TemporalAccessorUtil extends TemporalUtil {
 			return null;
 		}
 
-		Instant result;
-		if (temporalAccessor instanceof Instant) {
-			result = (Instant) temporalAccessor;
-		} else if (temporalAccessor instanceof LocalDateTime) {
-			result = ((LocalDateTime) temporalAccessor).atZone(ZoneId.systemDefault()).toInstant();
-		} else if (temporalAccessor instanceof ZonedDateTime) {
-			result = ((ZonedDateTime) temporalAccessor).toInstant();
-		} else if (temporalAccessor instanceof OffsetDateTime) {
-			result = ((OffsetDateTime) temporalAccessor).toInstant();
-		} else if (temporalAccessor instanceof LocalDate) {
-			result = ((LocalDate) temporalAccessor).atStartOfDay(ZoneId.systemDefault()).toInstant();
-		} else if (temporalAccessor instanceof LocalTime) {
-			// 指定本地时间转换 为Instant，取当天日期
-			result = ((LocalTime) temporalAccessor).atDate(LocalDate.now()).atZone(ZoneId.systemDefault()).toInstant();
-		} else if (temporalAccessor instanceof OffsetTime) {
-			// 指定本地时间转换 为Instant，取当天日期
-			result = ((OffsetTime) temporalAccessor).atDate(LocalDate.now()).toInstant();
-		} else {
-			result = Instant.from(temporalAccessor);
-		}
+		return TemporalConverter.of(temporalAccessor.getClass())
+				.toInstant(temporalAccessor, ZoneOffsetCache.systemDefault());
+	}
 
+	/**
+	 * 批量转换为 {@link Instant}对象，本地时间使用默认时区
+	 *
+	 * @param temporalAccessors 时间对象集合，{@code null}元素转换为{@code null}
+	 * @return {@link Instant}列表，顺序与集合迭代顺序一致
+	 */
+	public static List<Instant> toInstants(Collection<? extends TemporalAccessor> temporalAccessors) {
+		final ZoneId zone = ZoneOffsetCache.systemDefault();
+		final List<Instant> result = new ArrayList<>(temporalAccessors.size());
+		Class<?> type = null;
+		TemporalConverter converter = null;
+		for (TemporalAccessor temporalAccessor : temporalAccessors) {
+			if (null == temporalAccessor) {
+				result.add(null);
+				continue;
+			}
+			if (temporalAccessor.getClass() != type) {
+				type = temporalAccessor.getClass();
+				converter = TemporalConverter.of(type);
+			}
+			result.add(converter.toInstant(temporalAccessor, zone));
+		}
 		return result;
 	}
 }
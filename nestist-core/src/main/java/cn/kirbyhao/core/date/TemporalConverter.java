@@ -0,0 +1,237 @@
+package cn.kirbyhao.core.date;
+
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.time.OffsetTime;
+import java.time.ZoneId;
+import java.time.ZonedDateTime;
+import java.time.temporal.ChronoField;
+import java.time.temporal.TemporalAccessor;
+
+/**
+ * 按{@link TemporalAccessor}具体类型选择的转换策略
+ *
+ * <p>每个类只在第一次使用时通过{@link ClassValue}确定一次策略，之后直接调用该类型的专用实现，
+ * 不再逐个{@code instanceof}判断，也不再通过{@code isSupported}、{@code get}逐字段读取。
+ * 未知类型使用基于字段查询的通用实现，结果与原有逻辑一致。</p>
+ *
+ * <p>本地时间按传入的时区换算为时刻，只有时间的类型取当天日期。</p>
+ *
+ * @author Lu Hao
+ * @date 2026-10-16
+ */
+abstract class TemporalConverter {
+
+    private static final ClassValue<TemporalConverter> CONVERTERS = new ClassValue<TemporalConverter>() {
+        @Override
+        protected TemporalConverter computeValue(Class<?> type) {
+            if (type == LocalDateTime.class) {
+                return new LocalDateTimeConverter();
+            }
+            if (type == LocalDate.class) {
+                return new LocalDateConverter();
+            }
+            if (type == ZonedDateTime.class) {
+                return new ZonedDateTimeConverter();
+            }
+            if (type == OffsetDateTime.class) {
+                return new OffsetDateTimeConverter();
+            }
+            if (type == Instant.class) {
+                return new InstantConverter();
+            }
+            if (type == LocalTime.class) {
+                return new LocalTimeConverter();
+            }
+            if (type == OffsetTime.class) {
+                return new OffsetTimeConverter();
+            }
+            return new GenericConverter();
+        }
+    };
+
+    /**
+     * 获取指定类型的转换策略
+     *
+     * @param type {@link TemporalAccessor}的具体类型
+     *
+     * @return 转换策略
+     */
+    static TemporalConverter of(Class<?> type) {
+        return CONVERTERS.get(type);
+    }
+
+    /**
+     * 转换为{@link Instant}
+     *
+     * @param temporal 时间对象，类型与获取策略时的类型一致
+     * @param zone 本地时间使用的时区
+     *
+     * @return {@link Instant}
+     */
+    abstract Instant toInstant(TemporalAccessor temporal, ZoneId zone);
+
+    /**
+     * 转换为从1970-01-01T00:00:00Z开始的毫秒数
+     *
+     * @param temporal 时间对象，类型与获取策略时的类型一致
+     * @param zone 本地时间使用的时区
+     *
+     * @return 纪元毫秒
+     */
+    long toEpochMilli(TemporalAccessor temporal, ZoneId zone) {
+        return toInstant(temporal, zone).toEpochMilli();
+    }
+
+    /**
+     * 转换为{@link LocalDateTime}，不支持的字段取该字段的最小值
+     *
+     * @param temporal 时间对象，类型与获取策略时的类型一致
+     *
+     * @return {@link LocalDateTime}
+     */
+    LocalDateTime toLocalDateTime(TemporalAccessor temporal) {
+        return LocalDateTime.of(
+                TemporalAccessorUtil.get(temporal, ChronoField.YEAR),
+                TemporalAccessorUtil.get(temporal, ChronoField.MONTH_OF_YEAR),
+                TemporalAccessorUtil.get(temporal, ChronoField.DAY_OF_MONTH),
+                TemporalAccessorUtil.get(temporal, ChronoField.HOUR_OF_DAY),
+                TemporalAccessorUtil.get(temporal, ChronoField.MINUTE_OF_HOUR),
+                TemporalAccessorUtil.get(temporal, ChronoField.SECOND_OF_MINUTE),
+                TemporalAccessorUtil.get(temporal, ChronoField.NANO_OF_SECOND)
+        );
+    }
+
+    /**
+     * 与{@link Instant#toEpochMilli()}相同的计算，溢出时抛出{@link ArithmeticException}
+     */
+    private static long epochMilli(long epochSecond, int nano) {
+        return Math.addExact(Math.multiplyExact(epochSecond, 1000), nano / 1_000_000);
+    }
+
+    private static final class LocalDateTimeConverter extends TemporalConverter {
+
+        @Override
+        Instant toInstant(TemporalAccessor temporal, ZoneId zone) {
+            return ZoneOffsetCache.toInstant((LocalDateTime) temporal, zone);
+        }
+
+        @Override
+        long toEpochMilli(TemporalAccessor temporal, ZoneId zone) {
+            return ZoneOffsetCache.toEpochMilli((LocalDateTime) temporal, zone);
+        }
+
+        @Override
+        LocalDateTime toLocalDateTime(TemporalAccessor temporal) {
+            return (LocalDateTime) temporal;
+        }
+    }
+
+    private static final class LocalDateConverter extends TemporalConverter {
+
+        @Override
+        Instant toInstant(TemporalAccessor temporal, ZoneId zone) {
+            return Instant.ofEpochSecond(ZoneOffsetCache.toEpochSecond(localSecond(temporal), zone));
+        }
+
+        @Override
+        long toEpochMilli(TemporalAccessor temporal, ZoneId zone) {
+            return ZoneOffsetCache.toEpochSecond(localSecond(temporal), zone) * 1000;
+        }
+
+        @Override
+        LocalDateTime toLocalDateTime(TemporalAccessor temporal) {
+            return ((LocalDate) temporal).atStartOfDay();
+        }
+
+        private static long localSecond(TemporalAccessor temporal) {
+            return ((LocalDate) temporal).toEpochDay() * CivilCalendar.SECONDS_PER_DAY;
+        }
+    }
+
+    private static final class ZonedDateTimeConverter extends TemporalConverter {
+
+        @Override
+        Instant toInstant(TemporalAccessor temporal, ZoneId zone) {
+            return ((ZonedDateTime) temporal).toInstant();
+        }
+
+        @Override
+        long toEpochMilli(TemporalAccessor temporal, ZoneId zone) {
+            ZonedDateTime time = (ZonedDateTime) temporal;
+            return epochMilli(time.toEpochSecond(), time.getNano());
+        }
+
+        @Override
+        LocalDateTime toLocalDateTime(TemporalAccessor temporal) {
+            return ((ZonedDateTime) temporal).toLocalDateTime();
+        }
+    }
+
+    private static final class OffsetDateTimeConverter extends TemporalConverter {
+
+        @Override
+        Instant toInstant(TemporalAccessor temporal, ZoneId zone) {
+            return ((OffsetDateTime) temporal).toInstant();
+        }
+
+        @Override
+        long toEpochMilli(TemporalAccessor temporal, ZoneId zone) {
+            OffsetDateTime time = (OffsetDateTime) temporal;
+            return epochMilli(time.toEpochSecond(), time.getNano());
+        }
+
+        @Override
+        LocalDateTime toLocalDateTime(TemporalAccessor temporal) {
+            return ((OffsetDateTime) temporal).toLocalDateTime();
+        }
+    }
+
+    private static final class InstantConverter extends TemporalConverter {
+
+        @Override
+        Instant toInstant(TemporalAccessor temporal, ZoneId zone) {
+            return (Instant) temporal;
+        }
+    }
+
+    private static final class LocalTimeConverter extends TemporalConverter {
+
+        @Override
+        Instant toInstant(TemporalAccessor temporal, ZoneId zone) {
+            // 指定本地时间转换为Instant，取当天日期
+            return ZoneOffsetCache.toInstant(((LocalTime) temporal).atDate(LocalDate.now()), zone);
+        }
+
+        @Override
+        LocalDateTime toLocalDateTime(TemporalAccessor temporal) {
+            // 不含日期，日期字段取最小值
+            return LocalDateTime.of(LocalDate.MIN, (LocalTime) temporal);
+        }
+    }
+
+    private static final class OffsetTimeConverter extends TemporalConverter {
+
+        @Override
+        Instant toInstant(TemporalAccessor temporal, ZoneId zone) {
+            // 指定本地时间转换为Instant，取当天日期
+            return ((OffsetTime) temporal).atDate(LocalDate.now()).toInstant();
+        }
+
+        @Override
+        LocalDateTime toLocalDateTime(TemporalAccessor temporal) {
+            return LocalDateTime.of(LocalDate.MIN, ((OffsetTime) temporal).toLocalTime());
+        }
+    }
+
+    private static final class GenericConverter extends TemporalConverter {
+
+        @Override
+        Instant toInstant(TemporalAccessor temporal, ZoneId zone) {
+            return Instant.from(temporal);
+        }
+    }
+}
@@ -0,0 +1,117 @@
+package cn.kirbyhao.core.date;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+
+/**
+ * 按固定周期跳动的粗粒度时钟
+ *
+ * <p>时间按周期向下取整，每个周期只分解一次日历字段并缓存为{@link CalendarSnapshot}，
+ * 之后同一周期内读取年、月、日等字段不再解析时区、也不再创建{@link java.time.LocalDateTime}。</p>
+ *
+ * <p>线程安全，多个线程同时跨周期时可能重复计算，结果相同。</p>
+ *
+ * @author Lu Hao
+ * @date 2026-10-16
+ */
+public final class TickingClock extends Clock {
+
+    private final Clock source;
+
+    private final long tickMillis;
+
+    private volatile CalendarSnapshot snapshot;
+
+    /**
+     * 构造
+     *
+     * @param source 时间来源，可以是{@link Clock#fixed(Instant, ZoneId)}、{@link Clock#offset(Clock, java.time.Duration)}等
+     * @param tickMillis 跳动周期毫秒数，必须大于0
+     */
+    public TickingClock(Clock source, long tickMillis) {
+        if (tickMillis <= 0) {
+            throw new IllegalArgumentException("tickMillis must be positive: " + tickMillis);
+        }
+        this.source = source;
+        this.tickMillis = tickMillis;
+    }
+
+    /**
+     * 使用系统默认时区、每秒跳动一次的时钟
+     *
+     * @return {@link TickingClock}
+     */
+    public static TickingClock systemDefaultZone() {
+        return new TickingClock(Clock.systemDefaultZone(), 1000);
+    }
+
+    /**
+     * 获取当前周期的日历字段
+     *
+     * @return {@link CalendarSnapshot}
+     */
+    public CalendarSnapshot snapshot() {
+        long tickStart = Math.floorDiv(source.millis(), tickMillis) * tickMillis;
+        CalendarSnapshot current = snapshot;
+        if (null != current && current.getEpochMilli() == tickStart) {
+            return current;
+        }
+        int offsetSeconds = source.getZone().getRules().getOffset(Instant.ofEpochMilli(tickStart)).getTotalSeconds();
+        current = CalendarSnapshot.of(tickStart, offsetSeconds);
+        snapshot = current;
+        return current;
+    }
+
+    /**
+     * @return 跳动周期毫秒数
+     */
+    public long getTickMillis() {
+        return tickMillis;
+    }
+
+    @Override
+    public long millis() {
+        return Math.floorDiv(source.millis(), tickMillis) * tickMillis;
+    }
+
+    @Override
+    public Instant instant() {
+        return Instant.ofEpochMilli(millis());
+    }
+
+    @Override
+    public ZoneId getZone() {
+        return source.getZone();
+    }
+
+    @Override
+    public Clock withZone(ZoneId zone) {
+        if (zone.equals(source.getZone())) {
+            return this;
+        }
+        return new TickingClock(source.withZone(zone), tickMillis);
+    }
+
+    @Override
+    public boolean equals(Object obj) {
+        if (this == obj) {
+            return true;
+        }
+        if (!(obj instanceof TickingClock)) {
+            return false;
+        }
+        TickingClock other = (TickingClock) obj;
+        return tickMillis == other.tickMillis && source.equals(other.source);
+    }
+
+    @Override
+    public int hashCode() {
+        return source.hashCode() ^ Long.hashCode(tickMillis);
+    }
+
+    @Override
+    public String toString() {
+        return "TickingClock[" + source + "," + tickMillis + "ms]";
+    }
+}
@@ -0,0 +1,602 @@
+package cn.kirbyhao.core.date;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.PrimitiveIterator;
+import java.util.function.LongConsumer;
+
+/**
+ * 压缩存储毫秒时间戳的只追加列
+ *
+ * <p>参照Gorilla的做法，每个数据块中第一个时间戳原样保存，之后只保存相邻两个差值的差（delta-of-delta），
+ * 并按大小使用不同长度的编码：</p>
+ * <ul>
+ *     <li>{@code 0}：差值不变，1位，等间隔采样时每个点只占1位</li>
+ *     <li>{@code 10} + 7位：[-63, 64]</li>
+ *     <li>{@code 110} + 9位：[-255, 256]</li>
+ *     <li>{@code 1110} + 12位：[-2047, 2048]</li>
+ *     <li>{@code 11110} + 32位：[-2^31 + 1, 2^31]</li>
+ *     <li>{@code 11111} + 64位：其余情况</li>
+ * </ul>
+ * <p>数据块为堆外的直接{@link ByteBuffer}，不占用Java堆，也不产生需要GC扫描的对象。
+ * 每个块记录时间戳的最小、最大值，按时间范围遍历时整块跳过不相交的块。
+ * 读取时按顺序解码，需要{@link java.time.LocalDateTime}时通过{@link DateTimeUtil#of(long)}转换。</p>
+ *
+ * <p>只允许一个线程追加；追加的数据在{@link #size()}更新后对其他线程可见，读取方可以与追加并发进行。
+ * {@link #snapshot()}返回固定长度的只读视图，{@link #writeTo(Path)}写入文件后可以用{@link #map(Path)}以内存映射的方式只读打开。</p>
+ *
+ * @author Lu Hao
+ * @date 2026-10-16
+ */
+public final class TimestampColumn {
+
+    /**
+     * 默认数据块的字节数
+     */
+    public static final int DEFAULT_BLOCK_BYTES = 4096;
+
+    private static final int MAGIC = 0x4E545343;
+
+    private static final int VERSION = 1;
+
+    /**
+     * 一个时间戳编码后的最大位数
+     */
+    private static final int MAX_ENTRY_BITS = 69;
+
+    /**
+     * 每个块的元数据在文件中的字节数
+     */
+    private static final int BLOCK_HEADER_BYTES = 4 + 8 * 5 + 4;
+
+    private final int blockBytes;
+
+    private final boolean readOnly;
+
+    private final List<Block> blocks;
+
+    /**
+     * 已发布的时间戳个数
+     */
+    private volatile long size;
+
+    /**
+     * 创建使用默认块大小的列
+     */
+    public TimestampColumn() {
+        this(DEFAULT_BLOCK_BYTES);
+    }
+
+    /**
+     * 创建列
+     *
+     * @param blockBytes 每个数据块的字节数，至少64，会向上取整为8的倍数
+     */
+    public TimestampColumn(int blockBytes) {
+        if (blockBytes < 64) {
+            throw new IllegalArgumentException("blockBytes must be at least 64: " + blockBytes);
+        }
+        this.blockBytes = (blockBytes + 7) & ~7;
+        this.readOnly = false;
+        this.blocks = new ArrayList<>();
+    }
+
+    private TimestampColumn(List<Block> blocks, long size) {
+        this.blockBytes = 0;
+        this.readOnly = true;
+        this.blocks = blocks;
+        this.size = size;
+    }
+
+    /**
+     * 追加时间戳，可以不按时间顺序，但按顺序且间隔稳定时压缩效果最好
+     *
+     * @param epochMilli 毫秒时间戳
+     */
+    public void append(long epochMilli) {
+        if (readOnly) {
+            throw new IllegalStateException("TimestampColumn is read-only");
+        }
+        Block block = blocks.isEmpty() ? null : blocks.get(blocks.size() - 1);
+        if (null == block || block.bitLength + MAX_ENTRY_BITS > (long) block.buffer.capacity() * 8) {
+            block = new Block(ByteBuffer.allocateDirect(blockBytes));
+            synchronized (blocks) {
+                blocks.add(block);
+            }
+        }
+        block.append(epochMilli);
+        size = size + 1;
+    }
+
+    /**
+     * @return 时间戳个数
+     */
+    public long size() {
+        return size;
+    }
+
+    /**
+     * @return 是否为空
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * @return 数据块个数
+     */
+    public int getBlockCount() {
+        return blocks().length;
+    }
+
+    /**
+     * @return 编码后的总位数，除以{@link #size()}即每个时间戳平均占用的位数
+     */
+    public long getEncodedBits() {
+        long bits = 0;
+        for (Block block : blocks()) {
+            bits += block.bitLength;
+        }
+        return bits;
+    }
+
+    /**
+     * @return 占用的堆外内存字节数
+     */
+    public long getMemoryBytes() {
+        long bytes = 0;
+        for (Block block : blocks()) {
+            bytes += block.buffer.capacity();
+        }
+        return bytes;
+    }
+
+    /**
+     * 获取第index个时间戳，需要从所在数据块的开头解码，顺序读取时应使用{@link #iterator()}
+     *
+     * @param index 下标
+     *
+     * @return 毫秒时间戳
+     */
+    public long get(long index) {
+        long limit = size;
+        if (index < 0 || index >= limit) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + limit);
+        }
+        for (Block block : blocks()) {
+            int count = block.count;
+            if (index < count) {
+                Decoder decoder = new Decoder(block);
+                long value = decoder.next();
+                for (long i = 0; i < index; i++) {
+                    value = decoder.next();
+                }
+                return value;
+            }
+            index -= count;
+        }
+        throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + limit);
+    }
+
+    /**
+     * @return 按追加顺序解码的迭代器
+     */
+    public PrimitiveIterator.OfLong iterator() {
+        return new RangeIterator(blocks(), size, false, 0, 0);
+    }
+
+    /**
+     * 按追加顺序遍历[from, to)内的时间戳，最小、最大值都不在范围内的数据块整块跳过
+     *
+     * @param fromEpochMilli 开始时间（包含）
+     * @param toEpochMilli 结束时间（不包含）
+     *
+     * @return 迭代器
+     */
+    public PrimitiveIterator.OfLong iterator(long fromEpochMilli, long toEpochMilli) {
+        return new RangeIterator(blocks(), size, true, fromEpochMilli, toEpochMilli);
+    }
+
+    /**
+     * 按追加顺序遍历所有时间戳
+     *
+     * @param consumer 接收毫秒时间戳
+     */
+    public void forEach(LongConsumer consumer) {
+        iterator().forEachRemaining(consumer);
+    }
+
+    /**
+     * 解码为数组
+     *
+     * @return 毫秒时间戳数组
+     */
+    public long[] toArray() {
+        long count = size;
+        if (count > Integer.MAX_VALUE - 8) {
+            throw new IllegalStateException("Too many timestamps for an array: " + count);
+        }
+        long[] result = new long[(int) count];
+        PrimitiveIterator.OfLong it = new RangeIterator(blocks(), count, false, 0, 0);
+        for (int i = 0; i < result.length; i++) {
+            result[i] = it.nextLong();
+        }
+        return result;
+    }
+
+    /**
+     * 当前内容的只读视图，与本列共享数据块，之后的追加不会出现在快照中
+     *
+     * @return 只读的{@link TimestampColumn}
+     */
+    public TimestampColumn snapshot() {
+        long count = size;
+        List<Block> frozen = new ArrayList<>();
+        long remaining = count;
+        for (Block block : blocks()) {
+            if (remaining == 0) {
+                break;
+            }
+            Block copy = block.freeze((int) Math.min(block.count, remaining));
+            remaining -= copy.count;
+            frozen.add(copy);
+        }
+        return new TimestampColumn(frozen, count);
+    }
+
+    /**
+     * 把当前内容写入文件，已存在时覆盖
+     *
+     * @param file 文件
+     *
+     * @throws IOException 写入失败
+     */
+    public void writeTo(Path file) throws IOException {
+        TimestampColumn snapshot = snapshot();
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING)) {
+            ByteBuffer header = ByteBuffer.allocate(16);
+            header.putInt(MAGIC).putInt(VERSION).putLong(snapshot.size).flip();
+            writeFully(channel, header);
+            ByteBuffer count = ByteBuffer.allocate(4);
+            count.putInt(snapshot.blocks.size()).flip();
+            writeFully(channel, count);
+            for (Block block : snapshot.blocks) {
+                int dataBytes = (int) ((block.bitLength + 63) >>> 6) << 3;
+                ByteBuffer meta = ByteBuffer.allocate(BLOCK_HEADER_BYTES);
+                meta.putInt(block.count).putLong(block.bitLength).putLong(block.min).putLong(block.max)
+                        .putLong(block.last).putLong(block.lastDelta).putInt(dataBytes).flip();
+                writeFully(channel, meta);
+                ByteBuffer data = block.buffer.duplicate();
+                data.clear().limit(dataBytes);
+                writeFully(channel, data);
+            }
+            channel.force(false);
+        }
+    }
+
+    /**
+     * 以内存映射的方式只读打开{@link #writeTo(Path)}写入的文件，数据按需从文件读入，映射在对象被回收后释放
+     *
+     * @param file 文件
+     *
+     * @return 只读的{@link TimestampColumn}
+     *
+     * @throws IOException 读取失败或文件格式错误
+     */
+    public static TimestampColumn map(Path file) throws IOException {
+        ByteBuffer mapped;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        try {
+            if (mapped.getInt() != MAGIC) {
+                throw new IOException("Not a timestamp column file: " + file);
+            }
+            int version = mapped.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported timestamp column version " + version + ": " + file);
+            }
+            long size = mapped.getLong();
+            int blockCount = mapped.getInt();
+            List<Block> blocks = new ArrayList<>(blockCount);
+            long total = 0;
+            for (int i = 0; i < blockCount; i++) {
+                int count = mapped.getInt();
+                long bitLength = mapped.getLong();
+                long min = mapped.getLong();
+                long max = mapped.getLong();
+                long last = mapped.getLong();
+                long lastDelta = mapped.getLong();
+                int dataBytes = mapped.getInt();
+                ByteBuffer data = mapped.slice();
+                data.limit(dataBytes);
+                mapped.position(mapped.position() + dataBytes);
+                blocks.add(new Block(data, count, bitLength, min, max, last, lastDelta));
+                total += count;
+            }
+            if (total != size) {
+                throw new IOException("Corrupted timestamp column file: " + file);
+            }
+            return new TimestampColumn(blocks, size);
+        } catch (RuntimeException e) {
+            throw new IOException("Corrupted timestamp column file: " + file, e);
+        }
+    }
+
+    private Block[] blocks() {
+        if (readOnly) {
+            return blocks.toArray(new Block[0]);
+        }
+        synchronized (blocks) {
+            return blocks.toArray(new Block[0]);
+        }
+    }
+
+    private static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * 数据块，按大端顺序把位写入64位的字
+     */
+    private static final class Block {
+
+        private final ByteBuffer buffer;
+
+        private volatile int count;
+
+        private long bitLength;
+
+        private long min = Long.MAX_VALUE;
+
+        private long max = Long.MIN_VALUE;
+
+        private long last;
+
+        private long lastDelta;
+
+        /**
+         * 尚未写满的当前字
+         */
+        private long word;
+
+        Block(ByteBuffer buffer) {
+            this.buffer = buffer;
+        }
+
+        Block(ByteBuffer buffer, int count, long bitLength, long min, long max, long last, long lastDelta) {
+            this.buffer = buffer;
+            this.count = count;
+            this.bitLength = bitLength;
+            this.min = min;
+            this.max = max;
+            this.last = last;
+            this.lastDelta = lastDelta;
+        }
+
+        Block freeze(int frozenCount) {
+            return new Block(buffer.duplicate(), frozenCount, bitLength, min, max, last, lastDelta);
+        }
+
+        void append(long value) {
+            int n = count;
+            if (n == 0) {
+                writeBits(value, 64);
+            } else {
+                long delta = value - last;
+                long dod = delta - lastDelta;
+                if (dod == 0) {
+                    writeBits(0, 1);
+                } else if (dod >= -63 && dod <= 64) {
+                    writeBits(0b10, 2);
+                    writeBits(dod, 7);
+                } else if (dod >= -255 && dod <= 256) {
+                    writeBits(0b110, 3);
+                    writeBits(dod, 9);
+                } else if (dod >= -2047 && dod <= 2048) {
+                    writeBits(0b1110, 4);
+                    writeBits(dod, 12);
+                } else if (dod >= -2147483647L && dod <= 2147483648L) {
+                    writeBits(0b11110, 5);
+                    writeBits(dod, 32);
+                } else {
+                    writeBits(0b11111, 5);
+                    writeBits(dod, 64);
+                }
+                lastDelta = delta;
+            }
+            last = value;
+            if (value < min) {
+                min = value;
+            }
+            if (value > max) {
+                max = value;
+            }
+            // 写入当前字，使已追加的位对读取方可见
+            if (bitLength < (long) buffer.capacity() * 8) {
+                buffer.putLong((int) (bitLength >>> 6) << 3, word);
+            }
+            count = n + 1;
+        }
+
+        private void writeBits(long value, int bits) {
+            if (bits < 64) {
+                value &= (1L << bits) - 1;
+            }
+            int used = (int) (bitLength & 63);
+            int free = 64 - used;
+            if (bits < free) {
+                word |= value << (free - bits);
+            } else {
+                word |= value >>> (bits - free);
+                buffer.putLong((int) (bitLength >>> 6) << 3, word);
+                int rest = bits - free;
+                word = rest == 0 ? 0 : value << (64 - rest);
+            }
+            bitLength += bits;
+        }
+    }
+
+    /**
+     * 顺序解码一个数据块
+     */
+    private static final class Decoder {
+
+        private final ByteBuffer buffer;
+
+        private final int count;
+
+        private long bitPosition;
+
+        private int index;
+
+        private long value;
+
+        private long delta;
+
+        Decoder(Block block) {
+            this.buffer = block.buffer;
+            this.count = block.count;
+        }
+
+        boolean hasNext() {
+            return index < count;
+        }
+
+        long next() {
+            if (index == 0) {
+                value = readBits(64);
+            } else {
+                long dod;
+                if (readBits(1) == 0) {
+                    dod = 0;
+                } else if (readBits(1) == 0) {
+                    dod = signExtend(readBits(7), 7);
+                } else if (readBits(1) == 0) {
+                    dod = signExtend(readBits(9), 9);
+                } else if (readBits(1) == 0) {
+                    dod = signExtend(readBits(12), 12);
+                } else if (readBits(1) == 0) {
+                    dod = signExtend(readBits(32), 32);
+                } else {
+                    dod = readBits(64);
+                }
+                delta += dod;
+                value += delta;
+            }
+            index++;
+            return value;
+        }
+
+        /**
+         * 编码时按补码截断，这里把最高位视为符号位；正数边界（如7位的64）截断后为负数，再按范围调整回来
+         */
+        private static long signExtend(long bits, int width) {
+            long half = 1L << (width - 1);
+            long value = bits >= half ? bits - (1L << width) : bits;
+            return value < -(half - 1) ? value + (1L << width) : value;
+        }
+
+        private long readBits(int bits) {
+            int offset = (int) (bitPosition & 63);
+            int wordIndex = (int) (bitPosition >>> 6);
+            long current = buffer.getLong(wordIndex << 3) << offset;
+            long result;
+            if (offset + bits <= 64) {
+                result = bits == 64 ? current : current >>> (64 - bits);
+            } else {
+                long next = buffer.getLong((wordIndex + 1) << 3);
+                result = (current >>> (64 - bits)) | (next >>> (128 - offset - bits));
+            }
+            bitPosition += bits;
+            return result;
+        }
+    }
+
+    /**
+     * 跨数据块的迭代器，bounded为{@code true}时只返回[from, to)内的值
+     */
+    private static final class RangeIterator implements PrimitiveIterator.OfLong {
+
+        private final Block[] blocks;
+
+        private final boolean bounded;
+
+        private final long from;
+
+        private final long to;
+
+        private long remaining;
+
+        private int blockIndex;
+
+        private Decoder decoder;
+
+        private boolean ready;
+
+        private long nextValue;
+
+        RangeIterator(Block[] blocks, long limit, boolean bounded, long from, long to) {
+            this.blocks = blocks;
+            this.bounded = bounded;
+            this.remaining = limit;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!ready) {
+                if (null == decoder || !decoder.hasNext() || remaining == 0) {
+                    if (!nextBlock()) {
+                        return false;
+                    }
+                    continue;
+                }
+                long value = decoder.next();
+                remaining--;
+                if (!bounded || (value >= from && value < to)) {
+                    nextValue = value;
+                    ready = true;
+                }
+            }
+            return true;
+        }
+
+        @Override
+        public long nextLong() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            ready = false;
+            return nextValue;
+        }
+
+        private boolean nextBlock() {
+            while (remaining > 0 && blockIndex < blocks.length) {
+                Block block = blocks[blockIndex++];
+                int count = block.count;
+                if (count == 0) {
+                    continue;
+                }
+                if (bounded && (block.max < from || block.min >= to)) {
+                    // 跳过整块，只需扣除个数
+                    remaining -= Math.min(count, remaining);
+                    continue;
+                }
+                decoder = new Decoder(block);
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,510 @@
+package cn.kirbyhao.core.date;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerFieldUpdater;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * 分层哈希时间轮，用于管理大量的到期任务，例如会话、订单的超时
+ *
+ * <p>时间按固定的tick划分，每层有2的幂个槽位，第i层每个槽位跨越{@code wheelSize^i}个tick。
+ * 任务按到期的tick放入能容纳它的最低一层，高层槽位到期时把其中的任务重新分配到低层，最终在第0层到期。
+ * 添加与取消都只是把任务放入无锁队列或修改状态，为O(1)，由单个工作线程每个tick统一处理，
+ * 不像{@link java.util.concurrent.ScheduledThreadPoolExecutor}那样在堆上做O(log n)的调整。</p>
+ *
+ * <p>同一个tick内到期的任务作为一批提交给执行器，执行器为{@code Runnable::run}时直接在工作线程中执行。
+ * 到期时间的精度为一个tick：任务不会早于到期时间执行，但最多可能晚一个tick加上工作线程的延迟。
+ * 工作线程在第一次添加任务时启动，为守护线程。</p>
+ *
+ * @author Lu Hao
+ * @date 2026-10-16
+ */
+public final class TimingWheel {
+
+    private static final int STATE_INIT = 0;
+
+    private static final int STATE_STARTED = 1;
+
+    private static final int STATE_STOPPED = 2;
+
+    private final long tickNanos;
+
+    private final int bits;
+
+    private final int mask;
+
+    private final int levels;
+
+    /**
+     * 每层的槽位，slots[level][index]
+     */
+    private final Slot[][] slots;
+
+    private final Executor executor;
+
+    private final Queue<Timeout> pendingAdds = new ConcurrentLinkedQueue<>();
+
+    private final Queue<Timeout> pendingCancels = new ConcurrentLinkedQueue<>();
+
+    private final AtomicLong pendingCount = new AtomicLong();
+
+    private final AtomicLong expiredCount = new AtomicLong();
+
+    private final Thread worker;
+
+    private volatile int state = STATE_INIT;
+
+    private volatile long startNanos;
+
+    /**
+     * 最后处理完的tick，只由工作线程读写
+     */
+    private long tick;
+
+    private volatile long tickLagNanos;
+
+    private volatile long maxTickLagNanos;
+
+    /**
+     * 创建时间轮，共4层，每层256个槽位
+     *
+     * @param tick tick的长度
+     * @param unit tick的单位
+     * @param executor 执行到期任务的执行器
+     */
+    public TimingWheel(long tick, TimeUnit unit, Executor executor) {
+        this(tick, unit, 256, 4, executor);
+    }
+
+    /**
+     * 创建时间轮
+     *
+     * @param tick tick的长度，至少1毫秒
+     * @param unit tick的单位
+     * @param wheelSize 每层的槽位数，会向上取整为2的幂
+     * @param levels 层数，所有层一共覆盖{@code wheelSize^levels}个tick，更远的任务先放在最高层，到时再重新分配
+     * @param executor 执行到期任务的执行器
+     */
+    public TimingWheel(long tick, TimeUnit unit, int wheelSize, int levels, Executor executor) {
+        this.tickNanos = unit.toNanos(tick);
+        if (tickNanos < TimeUnit.MILLISECONDS.toNanos(1)) {
+            throw new IllegalArgumentException("tick must be at least 1 millisecond: " + tick + " " + unit);
+        }
+        if (wheelSize <= 0 || wheelSize > (1 << 16)) {
+            throw new IllegalArgumentException("wheelSize must be in [1, 65536]: " + wheelSize);
+        }
+        this.bits = Math.max(1, 32 - Integer.numberOfLeadingZeros(wheelSize - 1));
+        if (levels <= 0 || (long) bits * levels > 62) {
+            throw new IllegalArgumentException("Invalid levels: " + levels);
+        }
+        this.mask = (1 << bits) - 1;
+        this.levels = levels;
+        this.slots = new Slot[levels][1 << bits];
+        for (Slot[] level : slots) {
+            for (int i = 0; i < level.length; i++) {
+                level[i] = new Slot();
+            }
+        }
+        this.executor = executor;
+        this.worker = new Thread(this::run, "nestist-timing-wheel");
+        this.worker.setDaemon(true);
+    }
+
+    /**
+     * 在指定时间执行任务，时间按{@link DateTimeUtil#getClock()}的时区换算
+     *
+     * @param task 任务
+     * @param deadline 到期时间，已经过去时在下一个tick执行
+     *
+     * @return {@link Timeout}
+     */
+    public Timeout schedule(Runnable task, LocalDateTime deadline) {
+        return schedule(task, ZoneOffsetCache.toEpochMilli(deadline, DateTimeUtil.getClock().getZone()));
+    }
+
+    /**
+     * 在指定时间执行任务
+     *
+     * @param task 任务
+     * @param deadlineEpochMilli 到期时间的毫秒时间戳，已经过去时在下一个tick执行
+     *
+     * @return {@link Timeout}
+     */
+    public Timeout schedule(Runnable task, long deadlineEpochMilli) {
+        long delayMillis = deadlineEpochMilli - DateTimeUtil.getClock().millis();
+        return schedule(task, deadlineEpochMilli, TimeUnit.MILLISECONDS.toNanos(Math.max(delayMillis, 0)));
+    }
+
+    /**
+     * 延迟一段时间后执行任务
+     *
+     * @param task 任务
+     * @param delay 延迟
+     * @param unit 延迟的单位
+     *
+     * @return {@link Timeout}
+     */
+    public Timeout scheduleAfter(Runnable task, long delay, TimeUnit unit) {
+        long delayNanos = Math.max(unit.toNanos(delay), 0);
+        return schedule(task, DateTimeUtil.getClock().millis() + TimeUnit.NANOSECONDS.toMillis(delayNanos), delayNanos);
+    }
+
+    /**
+     * 停止工作线程，不再执行任何任务
+     *
+     * @return 尚未到期、也没有取消的任务
+     */
+    public List<Timeout> stop() {
+        if (Thread.currentThread() == worker) {
+            throw new IllegalStateException("stop() cannot be called from the timing wheel worker");
+        }
+        synchronized (this) {
+            int previous = state;
+            state = STATE_STOPPED;
+            if (previous != STATE_STARTED) {
+                return new ArrayList<>();
+            }
+        }
+        worker.interrupt();
+        boolean interrupted = false;
+        while (worker.isAlive()) {
+            try {
+                worker.join(100);
+            } catch (InterruptedException e) {
+                interrupted = true;
+            }
+        }
+        if (interrupted) {
+            Thread.currentThread().interrupt();
+        }
+        List<Timeout> remaining = new ArrayList<>();
+        for (Slot[] level : slots) {
+            for (Slot slot : level) {
+                for (Timeout t = slot.head; null != t; t = t.next) {
+                    if (!t.isCancelled()) {
+                        remaining.add(t);
+                    }
+                }
+            }
+        }
+        for (Timeout t; null != (t = pendingAdds.poll()); ) {
+            if (!t.isCancelled()) {
+                remaining.add(t);
+            }
+        }
+        return remaining;
+    }
+
+    /**
+     * @return 已添加、尚未到期也没有取消的任务数
+     */
+    public long getPendingCount() {
+        return pendingCount.get();
+    }
+
+    /**
+     * @return 已到期并提交执行的任务总数
+     */
+    public long getExpiredCount() {
+        return expiredCount.get();
+    }
+
+    /**
+     * @return 最近一次处理tick时相对计划时间的延迟毫秒数
+     */
+    public long getTickLagMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(tickLagNanos);
+    }
+
+    /**
+     * @return 启动以来处理tick时的最大延迟毫秒数
+     */
+    public long getMaxTickLagMillis() {
+        return TimeUnit.NANOSECONDS.toMillis(maxTickLagNanos);
+    }
+
+    private Timeout schedule(Runnable task, long deadlineEpochMilli, long delayNanos) {
+        if (null == task) {
+            throw new NullPointerException("task");
+        }
+        if (state != STATE_STARTED) {
+            start();
+        }
+        long elapsed = System.nanoTime() - startNanos;
+        // 向上取整，保证不会提前到期
+        long deadlineTick = elapsed + delayNanos < 0 ? Long.MAX_VALUE : (elapsed + delayNanos + tickNanos - 1) / tickNanos;
+        Timeout timeout = new Timeout(this, task, deadlineEpochMilli, deadlineTick);
+        pendingCount.incrementAndGet();
+        pendingAdds.add(timeout);
+        return timeout;
+    }
+
+    private synchronized void start() {
+        if (state == STATE_INIT) {
+            startNanos = System.nanoTime();
+            state = STATE_STARTED;
+            worker.start();
+        } else if (state == STATE_STOPPED) {
+            throw new IllegalStateException("TimingWheel has been stopped");
+        }
+    }
+
+    private void run() {
+        List<Timeout> batch = new ArrayList<>();
+        while (state == STATE_STARTED) {
+            long target = (tick + 1) * tickNanos;
+            long now;
+            while ((now = System.nanoTime() - startNanos) < target) {
+                LockSupport.parkNanos(this, target - now);
+                if (state != STATE_STARTED) {
+                    return;
+                }
+            }
+            long lag = now - target;
+            tickLagNanos = lag;
+            if (lag > maxTickLagNanos) {
+                maxTickLagNanos = lag;
+            }
+
+            removeCancelled();
+            transferPending();
+            advance(tick + 1, batch);
+            if (!batch.isEmpty()) {
+                dispatch(batch);
+                batch = new ArrayList<>();
+            }
+        }
+    }
+
+    private void removeCancelled() {
+        for (Timeout t; null != (t = pendingCancels.poll()); ) {
+            if (null != t.slot) {
+                t.slot.remove(t);
+            }
+        }
+    }
+
+    private void transferPending() {
+        // 每个tick最多转移一定数量，避免大量添加时长时间阻塞到期处理
+        for (int i = 0; i < 100_000; i++) {
+            Timeout t = pendingAdds.poll();
+            if (null == t) {
+                break;
+            }
+            if (!t.isCancelled()) {
+                place(t);
+            }
+        }
+    }
+
+    /**
+     * 按到期tick与下一个待处理tick的差值放入合适的层
+     *
+     * <p>第level层的槽位在tick的低{@code bits * level}位为0、且更高的位与槽位对应时重新分配，
+     * 差值不小于{@code wheelSize^level}保证该时刻不早于下一个待处理的tick，也不晚于到期的tick。</p>
+     */
+    private void place(Timeout t) {
+        long from = tick + 1;
+        long deadline = Math.max(t.deadlineTick, from);
+        long delta = deadline - from;
+        int level = 0;
+        while (level < levels - 1 && delta >= 1L << (bits * (level + 1))) {
+            level++;
+        }
+        long span = 1L << (bits * (level + 1));
+        if (delta >= span) {
+            // 超出最高层的范围，先放在最远的槽位，到时再重新分配
+            deadline = from + span - 1;
+        }
+        slots[level][(int) (deadline >>> (bits * level)) & mask].add(t);
+    }
+
+    private void advance(long next, List<Timeout> batch) {
+        // 到达高层槽位的边界时，把该槽位的任务重新分配到低层，先处理高层
+        for (int level = levels - 1; level > 0; level--) {
+            if ((next & ((1L << (bits * level)) - 1)) == 0) {
+                Slot slot = slots[level][(int) (next >>> (bits * level)) & mask];
+                Timeout t = slot.clear();
+                while (null != t) {
+                    Timeout following = t.next;
+                    t.next = null;
+                    t.prev = null;
+                    t.slot = null;
+                    if (!t.isCancelled()) {
+                        place(t);
+                    }
+                    t = following;
+                }
+            }
+        }
+        Slot slot = slots[0][(int) next & mask];
+        Timeout t = slot.head;
+        while (null != t) {
+            Timeout following = t.next;
+            if (t.deadlineTick <= next) {
+                slot.remove(t);
+                if (t.expire()) {
+                    batch.add(t);
+                }
+            }
+            t = following;
+        }
+        tick = next;
+    }
+
+    private void dispatch(List<Timeout> batch) {
+        pendingCount.addAndGet(-batch.size());
+        expiredCount.addAndGet(batch.size());
+        try {
+            executor.execute(() -> {
+                for (Timeout t : batch) {
+                    try {
+                        t.task.run();
+                    } catch (Throwable e) {
+                        Thread current = Thread.currentThread();
+                        current.getUncaughtExceptionHandler().uncaughtException(current, e);
+                    }
+                }
+            });
+        } catch (RuntimeException e) {
+            Thread current = Thread.currentThread();
+            current.getUncaughtExceptionHandler().uncaughtException(current, e);
+        }
+    }
+
+    /**
+     * 槽位中的任务组成的双向链表，只由工作线程访问
+     */
+    private static final class Slot {
+
+        private Timeout head;
+
+        private Timeout tail;
+
+        void add(Timeout t) {
+            t.slot = this;
+            t.prev = tail;
+            t.next = null;
+            if (null == tail) {
+                head = t;
+            } else {
+                tail.next = t;
+            }
+            tail = t;
+        }
+
+        void remove(Timeout t) {
+            if (null == t.prev) {
+                head = t.next;
+            } else {
+                t.prev.next = t.next;
+            }
+            if (null == t.next) {
+                tail = t.prev;
+            } else {
+                t.next.prev = t.prev;
+            }
+            t.prev = null;
+            t.next = null;
+            t.slot = null;
+        }
+
+        Timeout clear() {
+            Timeout first = head;
+            head = null;
+            tail = null;
+            return first;
+        }
+    }
+
+    /**
+     * 已添加到时间轮的任务
+     */
+    public static final class Timeout {
+
+        private static final AtomicIntegerFieldUpdater<Timeout> STATE =
+                AtomicIntegerFieldUpdater.newUpdater(Timeout.class, "state");
+
+        private static final int PENDING = 0;
+
+        private static final int CANCELLED = 1;
+
+        private static final int EXPIRED = 2;
+
+        private final TimingWheel wheel;
+
+        private final Runnable task;
+
+        private final long deadlineEpochMilli;
+
+        private final long deadlineTick;
+
+        private volatile int state;
+
+        private Slot slot;
+
+        private Timeout prev;
+
+        private Timeout next;
+
+        Timeout(TimingWheel wheel, Runnable task, long deadlineEpochMilli, long deadlineTick) {
+            this.wheel = wheel;
+            this.task = task;
+            this.deadlineEpochMilli = deadlineEpochMilli;
+            this.deadlineTick = deadlineTick;
+        }
+
+        /**
+         * @return 任务
+         */
+        public Runnable getTask() {
+            return task;
+        }
+
+        /**
+         * @return 到期时间的毫秒时间戳
+         */
+        public long getDeadline() {
+            return deadlineEpochMilli;
+        }
+
+        /**
+         * @return 是否已取消
+         */
+        public boolean isCancelled() {
+            return state == CANCELLED;
+        }
+
+        /**
+         * @return 是否已到期并提交执行
+         */
+        public boolean isExpired() {
+            return state == EXPIRED;
+        }
+
+        /**
+         * 取消任务，O(1)，从槽位中的移除在下一个tick由工作线程完成
+         *
+         * @return 是否取消成功，已到期或已取消时返回{@code false}
+         */
+        public boolean cancel() {
+            if (!STATE.compareAndSet(this, PENDING, CANCELLED)) {
+                return false;
+            }
+            wheel.pendingCount.decrementAndGet();
+            wheel.pendingCancels.add(this);
+            return true;
+        }
+
+        boolean expire() {
+            return STATE.compareAndSet(this, PENDING, EXPIRED);
+        }
+    }
+}
@@ -0,0 +1,435 @@
+package cn.kirbyhao.core.date;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.DateTimeException;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * 工作日历，支持法定节假日与调休
+ *
+ * <p>覆盖年份内的每一天用一位表示是否为工作日，按64天一组存放在{@code long[]}中，
+ * 并为每组预先计算之前的工作日总数。两个日期之间的工作日数只需两次查表加一次位计数，为O(1)；
+ * 加减N个工作日先二分查找所在的组，再在组内定位，为O(log n)，与N的大小无关。</p>
+ *
+ * <p>实例不可变，线程安全。{@link #getDefault()}返回当前使用的日历，
+ * 通过{@link #setDefault(WorkdayCalendar)}在运行时整体替换，读取方总是看到完整的旧日历或新日历。</p>
+ *
+ * <p>文本格式：每行一个年份，后跟若干以空格分隔的日期，{@code -}开头为节假日，{@code +}开头为调休上班日，
+ * 日期为MMdd或MMdd-MMdd区间（包含两端），{@code #}之后为注释。未列出的日期周一至周五为工作日，周六、周日休息。例如：</p>
+ * <pre>
+ * # 2024年
+ * 2024 -0101 -0210-0217 +0204 +0218 -0404-0406 +0407
+ * </pre>
+ *
+ * @author Lu Hao
+ * @date 2026-10-16
+ */
+public final class WorkdayCalendar {
+
+    private static volatile WorkdayCalendar defaultCalendar;
+
+    private final int firstYear;
+
+    private final int lastYear;
+
+    /**
+     * firstYear年1月1日的纪元日
+     */
+    private final long baseEpochDay;
+
+    private final int totalDays;
+
+    /**
+     * 第i位为1表示baseEpochDay + i为工作日
+     */
+    private final long[] words;
+
+    /**
+     * prefix[w]为第w组之前的工作日总数，最后一个元素为全部工作日数
+     */
+    private final int[] prefix;
+
+    private WorkdayCalendar(int firstYear, int lastYear, long[] words) {
+        this.firstYear = firstYear;
+        this.lastYear = lastYear;
+        this.baseEpochDay = LocalDate.of(firstYear, 1, 1).toEpochDay();
+        this.totalDays = (int) (LocalDate.of(lastYear + 1, 1, 1).toEpochDay() - baseEpochDay);
+        this.words = words;
+        this.prefix = new int[words.length + 1];
+        for (int w = 0; w < words.length; w++) {
+            prefix[w + 1] = prefix[w] + Long.bitCount(words[w]);
+        }
+    }
+
+    /**
+     * 获取当前使用的工作日历，未设置时为只按周末休息的1900年到2100年日历
+     *
+     * @return {@link WorkdayCalendar}
+     */
+    public static WorkdayCalendar getDefault() {
+        WorkdayCalendar calendar = defaultCalendar;
+        if (null == calendar) {
+            synchronized (WorkdayCalendar.class) {
+                calendar = defaultCalendar;
+                if (null == calendar) {
+                    calendar = builder(1900, 2100).build();
+                    defaultCalendar = calendar;
+                }
+            }
+        }
+        return calendar;
+    }
+
+    /**
+     * 替换当前使用的工作日历，例如重新加载节假日安排之后
+     *
+     * @param calendar 新的工作日历，为{@code null}时恢复为只按周末休息的日历
+     */
+    public static void setDefault(WorkdayCalendar calendar) {
+        defaultCalendar = calendar;
+    }
+
+    /**
+     * 创建构建器，覆盖的年份内默认周一至周五为工作日
+     *
+     * @param firstYear 覆盖的第一年
+     * @param lastYear 覆盖的最后一年
+     *
+     * @return {@link Builder}
+     */
+    public static Builder builder(int firstYear, int lastYear) {
+        return new Builder(firstYear, lastYear);
+    }
+
+    /**
+     * 从文件加载，文件为UTF-8编码的文本格式
+     *
+     * @param file 文件
+     *
+     * @return {@link WorkdayCalendar}
+     *
+     * @throws IOException 读取失败
+     * @throws IllegalArgumentException 格式错误
+     */
+    public static WorkdayCalendar load(Path file) throws IOException {
+        try (Reader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            return parse(reader);
+        }
+    }
+
+    /**
+     * 解析文本格式，覆盖的年份为文本中出现的最小到最大年份
+     *
+     * @param reader 文本
+     *
+     * @return {@link WorkdayCalendar}
+     *
+     * @throws IOException 读取失败
+     * @throws IllegalArgumentException 格式错误或没有任何年份
+     */
+    public static WorkdayCalendar parse(Reader reader) throws IOException {
+        List<String[]> lines = new ArrayList<>();
+        List<Integer> lineNumbers = new ArrayList<>();
+        int firstYear = Integer.MAX_VALUE;
+        int lastYear = Integer.MIN_VALUE;
+        BufferedReader buffered = reader instanceof BufferedReader ? (BufferedReader) reader : new BufferedReader(reader);
+        String line;
+        int lineNumber = 0;
+        while (null != (line = buffered.readLine())) {
+            lineNumber++;
+            int comment = line.indexOf('#');
+            String content = (comment >= 0 ? line.substring(0, comment) : line).trim();
+            if (content.isEmpty()) {
+                continue;
+            }
+            String[] tokens = content.split("\\s+");
+            int year = parseNumber(tokens[0], 0, tokens[0].length(), lineNumber);
+            firstYear = Math.min(firstYear, year);
+            lastYear = Math.max(lastYear, year);
+            lines.add(tokens);
+            lineNumbers.add(lineNumber);
+        }
+        if (lines.isEmpty()) {
+            throw new IllegalArgumentException("No year found in workday calendar");
+        }
+
+        Builder builder = builder(firstYear, lastYear);
+        for (int l = 0; l < lines.size(); l++) {
+            String[] tokens = lines.get(l);
+            int number = lineNumbers.get(l);
+            int year = Integer.parseInt(tokens[0]);
+            for (int i = 1; i < tokens.length; i++) {
+                String token = tokens[i];
+                char kind = token.charAt(0);
+                if ((kind != '-' && kind != '+') || (token.length() != 5 && token.length() != 10)
+                        || (token.length() == 10 && token.charAt(5) != '-')) {
+                    throw new IllegalArgumentException("Invalid token '" + token + "' at line " + number);
+                }
+                LocalDate from = monthDay(year, token, 1, number);
+                LocalDate to = token.length() == 10 ? monthDay(year, token, 6, number) : from;
+                if (to.isBefore(from)) {
+                    throw new IllegalArgumentException("Invalid range '" + token + "' at line " + number);
+                }
+                if (kind == '-') {
+                    builder.holidays(from, to);
+                } else {
+                    builder.workdays(from, to);
+                }
+            }
+        }
+        return builder.build();
+    }
+
+    /**
+     * @return 覆盖的第一年
+     */
+    public int getFirstYear() {
+        return firstYear;
+    }
+
+    /**
+     * @return 覆盖的最后一年
+     */
+    public int getLastYear() {
+        return lastYear;
+    }
+
+    /**
+     * 是否为工作日
+     *
+     * @param date 日期
+     *
+     * @return 是否为工作日
+     *
+     * @throws DateTimeException 日期不在覆盖的年份内
+     */
+    public boolean isWorkday(LocalDate date) {
+        int offset = offset(date.toEpochDay(), false);
+        return (words[offset >>> 6] & (1L << offset)) != 0;
+    }
+
+    /**
+     * 计算[start, end)内的工作日数
+     *
+     * @param start 开始日期（包含）
+     * @param end 结束日期（不包含）
+     *
+     * @return 工作日数，end早于start时为负数
+     *
+     * @throws DateTimeException 日期不在覆盖的年份内
+     */
+    public int workdaysBetween(LocalDate start, LocalDate end) {
+        return rank(offset(end.toEpochDay(), true)) - rank(offset(start.toEpochDay(), true));
+    }
+
+    /**
+     * 增加指定的工作日数：为正时返回之后第N个工作日，为负时返回之前第N个工作日，为0时返回原日期
+     *
+     * @param date 日期
+     * @param workdays 工作日数（可以为负）
+     *
+     * @return 结果日期
+     *
+     * @throws DateTimeException 日期或结果不在覆盖的年份内
+     */
+    public LocalDate plusWorkdays(LocalDate date, int workdays) {
+        if (workdays == 0) {
+            return date;
+        }
+        int offset = offset(date.toEpochDay(), false);
+        // 目标工作日在全部工作日中的序号，从0开始
+        long target = workdays > 0 ? (long) rank(offset + 1) + workdays - 1 : (long) rank(offset) + workdays;
+        if (target < 0 || target >= prefix[words.length]) {
+            throw new DateTimeException("Result out of workday calendar range [" + firstYear + ", " + lastYear
+                    + "]: " + date + " plus " + workdays + " workdays");
+        }
+        return LocalDate.ofEpochDay(baseEpochDay + select((int) target));
+    }
+
+    /**
+     * 当天或之后的第一个工作日
+     *
+     * @param date 日期
+     *
+     * @return 工作日
+     *
+     * @throws DateTimeException 日期或结果不在覆盖的年份内
+     */
+    public LocalDate nextOrSameWorkday(LocalDate date) {
+        return isWorkday(date) ? date : plusWorkdays(date, 1);
+    }
+
+    /**
+     * [base, base + offset)内的工作日数
+     */
+    private int rank(int offset) {
+        int w = offset >>> 6;
+        int bit = offset & 63;
+        return bit == 0 ? prefix[w] : prefix[w] + Long.bitCount(words[w] & ((1L << bit) - 1));
+    }
+
+    /**
+     * 序号为k（从0开始）的工作日相对base的偏移
+     */
+    private int select(int k) {
+        int lo = 0;
+        int hi = words.length - 1;
+        // 查找最后一个prefix[w] <= k的组
+        while (lo < hi) {
+            int mid = (lo + hi + 1) >>> 1;
+            if (prefix[mid] <= k) {
+                lo = mid;
+            } else {
+                hi = mid - 1;
+            }
+        }
+        long word = words[lo];
+        for (int i = k - prefix[lo]; i > 0; i--) {
+            word &= word - 1;
+        }
+        return (lo << 6) + Long.numberOfTrailingZeros(word);
+    }
+
+    private int offset(long epochDay, boolean allowEnd) {
+        long offset = epochDay - baseEpochDay;
+        if (offset < 0 || offset > totalDays || (offset == totalDays && !allowEnd)) {
+            throw new DateTimeException("Date out of workday calendar range [" + firstYear + ", " + lastYear + "]: "
+                    + LocalDate.ofEpochDay(epochDay));
+        }
+        return (int) offset;
+    }
+
+    private static LocalDate monthDay(int year, String token, int start, int lineNumber) {
+        int month = parseNumber(token, start, start + 2, lineNumber);
+        int day = parseNumber(token, start + 2, start + 4, lineNumber);
+        try {
+            return LocalDate.of(year, month, day);
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("Invalid date '" + token + "' at line " + lineNumber, e);
+        }
+    }
+
+    private static int parseNumber(String text, int start, int end, int lineNumber) {
+        int value = 0;
+        for (int i = start; i < end; i++) {
+            int digit = text.charAt(i) - '0';
+            if (digit < 0 || digit > 9 || end - start > 9) {
+                throw new IllegalArgumentException("Invalid number '" + text + "' at line " + lineNumber);
+            }
+            value = value * 10 + digit;
+        }
+        return value;
+    }
+
+    /**
+     * {@link WorkdayCalendar}构建器，不是线程安全的
+     */
+    public static final class Builder {
+
+        private final int firstYear;
+
+        private final int lastYear;
+
+        private final long baseEpochDay;
+
+        private final long[] words;
+
+        private final int totalDays;
+
+        private Builder(int firstYear, int lastYear) {
+            if (firstYear > lastYear) {
+                throw new IllegalArgumentException("firstYear " + firstYear + " is after lastYear " + lastYear);
+            }
+            this.firstYear = firstYear;
+            this.lastYear = lastYear;
+            this.baseEpochDay = LocalDate.of(firstYear, 1, 1).toEpochDay();
+            this.totalDays = (int) (LocalDate.of(lastYear + 1, 1, 1).toEpochDay() - baseEpochDay);
+            this.words = new long[(totalDays + 63) >>> 6];
+            int dayOfWeek = LocalDate.of(firstYear, 1, 1).getDayOfWeek().getValue();
+            for (int i = 0; i < totalDays; i++) {
+                if (dayOfWeek < DayOfWeek.SATURDAY.getValue()) {
+                    words[i >>> 6] |= 1L << i;
+                }
+                dayOfWeek = dayOfWeek == 7 ? 1 : dayOfWeek + 1;
+            }
+        }
+
+        /**
+         * 设为节假日
+         *
+         * @param date 日期
+         *
+         * @return this
+         */
+        public Builder holiday(LocalDate date) {
+            return holidays(date, date);
+        }
+
+        /**
+         * 把[from, to]内的每一天设为节假日
+         *
+         * @param from 开始日期（包含）
+         * @param to 结束日期（包含）
+         *
+         * @return this
+         */
+        public Builder holidays(LocalDate from, LocalDate to) {
+            for (long day = from.toEpochDay(); day <= to.toEpochDay(); day++) {
+                int i = offset(day);
+                words[i >>> 6] &= ~(1L << i);
+            }
+            return this;
+        }
+
+        /**
+         * 设为工作日，例如调休上班的周末
+         *
+         * @param date 日期
+         *
+         * @return this
+         */
+        public Builder workday(LocalDate date) {
+            return workdays(date, date);
+        }
+
+        /**
+         * 把[from, to]内的每一天设为工作日
+         *
+         * @param from 开始日期（包含）
+         * @param to 结束日期（包含）
+         *
+         * @return this
+         */
+        public Builder workdays(LocalDate from, LocalDate to) {
+            for (long day = from.toEpochDay(); day <= to.toEpochDay(); day++) {
+                int i = offset(day);
+                words[i >>> 6] |= 1L << i;
+            }
+            return this;
+        }
+
+        /**
+         * @return {@link WorkdayCalendar}
+         */
+        public WorkdayCalendar build() {
+            return new WorkdayCalendar(firstYear, lastYear, words.clone());
+        }
+
+        private int offset(long epochDay) {
+            long offset = epochDay - baseEpochDay;
+            if (offset < 0 || offset >= totalDays) {
+                throw new DateTimeException("Date out of workday calendar range [" + firstYear + ", " + lastYear
+                        + "]: " + LocalDate.ofEpochDay(epochDay));
+            }
+            return (int) offset;
+        }
+    }
+}
@@ -0,0 +1,308 @@
+package cn.kirbyhao.core.date;
+
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.zone.ZoneOffsetTransition;
+import java.time.zone.ZoneRules;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * 时区偏移缓存，用于纪元时间与本地时间之间的快速换算
+ *
+ * <p>为每个时区预先计算{@value #FIRST_YEAR}年到{@value #LAST_YEAR}年之间所有偏移不变的时间窗口
+ * （两次夏令时等偏移变化之间的区间），按起点排序存放，查询时二分查找，
+ * 因此乱序、跨越多个夏令时周期的时间戳也不会反复查询{@link ZoneRules}。范围之外的时刻直接交给{@link ZoneRules}，不影响缓存。</p>
+ *
+ * <p>本地时间转纪元时间时，距偏移变化不足一天的本地时间（可能处于跳过或重叠的时间段）交给{@link ZoneRules}处理，
+ * 结果与{@link LocalDateTime#atZone(ZoneId)}一致。</p>
+ *
+ * <p>只缓存各时区的偏移规则，系统默认时区每次调用时重新读取。</p>
+ *
+ * @author Lu Hao
+ * @date 2026-10-16
+ */
+public final class ZoneOffsetCache {
+
+    /**
+     * 预先计算的第一年
+     */
+    static final int FIRST_YEAR = 1900;
+
+    /**
+     * 预先计算的最后一年
+     */
+    static final int LAST_YEAR = 2100;
+
+    private static final long RANGE_START = LocalDateTime.of(FIRST_YEAR, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC)
+            - CivilCalendar.SECONDS_PER_DAY;
+
+    private static final long RANGE_END = LocalDateTime.of(LAST_YEAR + 1, 1, 1, 0, 0).toEpochSecond(ZoneOffset.UTC)
+            + CivilCalendar.SECONDS_PER_DAY;
+
+    private static final ConcurrentHashMap<ZoneId, Windows> WINDOWS = new ConcurrentHashMap<>();
+
+    private ZoneOffsetCache() {
+    }
+
+    /**
+     * 获取系统默认时区，每次调用时重新读取，与{@link ZoneId#systemDefault()}相同
+     *
+     * @return 系统默认时区
+     */
+    public static ZoneId systemDefault() {
+        return ZoneId.systemDefault();
+    }
+
+    /**
+     * 获取指定时刻的时区偏移秒数
+     *
+     * @param epochSecond 从1970-01-01T00:00:00Z开始计数的秒数
+     * @param zone 时区
+     *
+     * @return 偏移秒数
+     */
+    public static int getOffsetSeconds(long epochSecond, ZoneId zone) {
+        return window(epochSecond, zone).offsetSeconds;
+    }
+
+    /**
+     * 获取指定时刻的时区偏移
+     *
+     * @param epochSecond 从1970-01-01T00:00:00Z开始计数的秒数
+     * @param zone 时区
+     *
+     * @return {@link ZoneOffset}
+     */
+    public static ZoneOffset getOffset(long epochSecond, ZoneId zone) {
+        return window(epochSecond, zone).offset;
+    }
+
+    /**
+     * 纪元毫秒转换为本地纪元毫秒，即本地时间视为UTC时对应的毫秒数
+     *
+     * @param epochMilli 从1970-01-01T00:00:00Z开始计数的毫秒数
+     * @param zone 时区
+     *
+     * @return 本地纪元毫秒
+     */
+    public static long toLocalEpochMilli(long epochMilli, ZoneId zone) {
+        return epochMilli + getOffsetSeconds(Math.floorDiv(epochMilli, 1000), zone) * 1000L;
+    }
+
+    /**
+     * 纪元毫秒转换为{@link LocalDateTime}
+     *
+     * @param epochMilli 从1970-01-01T00:00:00Z开始计数的毫秒数
+     * @param zone 时区
+     *
+     * @return {@link LocalDateTime}
+     */
+    public static LocalDateTime toLocalDateTime(long epochMilli, ZoneId zone) {
+        long epochSecond = Math.floorDiv(epochMilli, 1000);
+        int nano = (int) Math.floorMod(epochMilli, 1000) * 1_000_000;
+        return toLocalDateTime(epochSecond, nano, zone);
+    }
+
+    /**
+     * 纪元秒与纳秒转换为{@link LocalDateTime}
+     *
+     * @param epochSecond 从1970-01-01T00:00:00Z开始计数的秒数
+     * @param nano 秒内的纳秒数
+     * @param zone 时区
+     *
+     * @return {@link LocalDateTime}
+     */
+    public static LocalDateTime toLocalDateTime(long epochSecond, int nano, ZoneId zone) {
+        return LocalDateTime.ofEpochSecond(epochSecond, nano, window(epochSecond, zone).offset);
+    }
+
+    /**
+     * {@link LocalDateTime}转换为纪元秒
+     *
+     * @param time 本地时间
+     * @param zone 时区
+     *
+     * @return 从1970-01-01T00:00:00Z开始计数的秒数
+     */
+    public static long toEpochSecond(LocalDateTime time, ZoneId zone) {
+        return toEpochSecond(time.toEpochSecond(ZoneOffset.UTC), zone);
+    }
+
+    /**
+     * 本地纪元秒转换为纪元秒，本地纪元秒即本地时间视为UTC时对应的秒数
+     *
+     * @param localSecond 本地纪元秒
+     * @param zone 时区
+     *
+     * @return 从1970-01-01T00:00:00Z开始计数的秒数
+     */
+    public static long toEpochSecond(long localSecond, ZoneId zone) {
+        if (zone instanceof ZoneOffset) {
+            return localSecond - ((ZoneOffset) zone).getTotalSeconds();
+        }
+        // 先按本地时间近似定位窗口，再用该窗口的偏移换算出的时刻重新定位
+        Window window = window(localSecond - window(localSecond, zone).offsetSeconds, zone);
+        long result = window.toEpochSecond(localSecond);
+        if (result != Long.MIN_VALUE) {
+            return result;
+        }
+        return LocalDateTime.ofEpochSecond(localSecond, 0, ZoneOffset.UTC).atZone(zone).toEpochSecond();
+    }
+
+    /**
+     * {@link LocalDateTime}转换为纪元毫秒
+     *
+     * @param time 本地时间
+     * @param zone 时区
+     *
+     * @return 从1970-01-01T00:00:00Z开始计数的毫秒数
+     */
+    public static long toEpochMilli(LocalDateTime time, ZoneId zone) {
+        return toEpochSecond(time, zone) * 1000 + time.getNano() / 1_000_000;
+    }
+
+    /**
+     * {@link LocalDateTime}转换为{@link Instant}
+     *
+     * @param time 本地时间
+     * @param zone 时区
+     *
+     * @return {@link Instant}
+     */
+    public static Instant toInstant(LocalDateTime time, ZoneId zone) {
+        return Instant.ofEpochSecond(toEpochSecond(time, zone), time.getNano());
+    }
+
+    /**
+     * 获取包含指定时刻的窗口，供批量换算在循环内复用
+     */
+    static Window window(long epochSecond, ZoneId zone) {
+        Windows windows = WINDOWS.get(zone);
+        if (null == windows) {
+            windows = WINDOWS.computeIfAbsent(zone, z -> Windows.of(z.getRules()));
+        }
+        Window window = windows.find(epochSecond);
+        return null != window ? window : Window.of(zone.getRules(), epochSecond);
+    }
+
+    /**
+     * 偏移不变的时间窗口，[start, end)，单位为纪元秒
+     */
+    static final class Window {
+
+        private final ZoneOffset offset;
+
+        private final int offsetSeconds;
+
+        private final long start;
+
+        private final long end;
+
+        private Window(ZoneOffset offset, long start, long end) {
+            this.offset = offset;
+            this.offsetSeconds = offset.getTotalSeconds();
+            this.start = start;
+            this.end = end;
+        }
+
+        private static Window fixed(ZoneOffset offset) {
+            return new Window(offset, Long.MIN_VALUE, Long.MAX_VALUE);
+        }
+
+        private static Window of(ZoneRules rules, long epochSecond) {
+            Instant instant = Instant.ofEpochSecond(epochSecond);
+            // previousTransition 返回严格早于参数的变化，加一秒以包含恰好处于变化时刻的情况
+            ZoneOffsetTransition previous = rules.previousTransition(Instant.ofEpochSecond(epochSecond + 1));
+            ZoneOffsetTransition next = rules.nextTransition(instant);
+            return new Window(rules.getOffset(instant),
+                    null == previous ? Long.MIN_VALUE : previous.toEpochSecond(),
+                    null == next ? Long.MAX_VALUE : next.toEpochSecond());
+        }
+
+        int offsetSeconds() {
+            return offsetSeconds;
+        }
+
+        boolean contains(long epochSecond) {
+            return epochSecond >= start && epochSecond < end;
+        }
+
+        /**
+         * 本地时间距窗口边界超过一天时换算结果唯一，否则返回{@link Long#MIN_VALUE}
+         */
+        private long toEpochSecond(long localSecond) {
+            long epochSecond = localSecond - offsetSeconds;
+            if (epochSecond - CivilCalendar.SECONDS_PER_DAY >= start && epochSecond + CivilCalendar.SECONDS_PER_DAY < end) {
+                return epochSecond;
+            }
+            return Long.MIN_VALUE;
+        }
+    }
+
+    /**
+     * 一个时区在预先计算范围内按起点排序的所有窗口
+     *
+     * <p>范围按2<sup>24</sup>秒（约194天）分桶，每桶记录桶起点所在窗口的下标。
+     * 一个桶内最多只有少数几次偏移变化，查询时从桶记录的下标向后线性查找即可，不需要完整的二分查找。</p>
+     */
+    private static final class Windows {
+
+        private static final int BUCKET_SHIFT = 24;
+
+        private final Window[] windows;
+
+        private final int[] bucketFirst;
+
+        private Windows(Window[] windows, int[] bucketFirst) {
+            this.windows = windows;
+            this.bucketFirst = bucketFirst;
+        }
+
+        private static Windows of(ZoneRules rules) {
+            if (rules.isFixedOffset()) {
+                return new Windows(new Window[]{Window.fixed(rules.getOffset(Instant.EPOCH))}, null);
+            }
+            List<Window> list = new ArrayList<>();
+            Window window = Window.of(rules, RANGE_START);
+            list.add(window);
+            while (window.end < RANGE_END) {
+                window = Window.of(rules, window.end);
+                list.add(window);
+            }
+            Window[] windows = list.toArray(new Window[0]);
+            int[] bucketFirst = new int[(int) ((RANGE_END - RANGE_START) >>> BUCKET_SHIFT) + 1];
+            int i = 0;
+            for (int b = 0; b < bucketFirst.length; b++) {
+                long bucketStart = RANGE_START + ((long) b << BUCKET_SHIFT);
+                while (windows[i].end <= bucketStart) {
+                    i++;
+                }
+                bucketFirst[b] = i;
+            }
+            return new Windows(windows, bucketFirst);
+        }
+
+        /**
+         * 查找包含指定时刻的窗口，超出预先计算的范围时返回{@code null}
+         */
+        private Window find(long epochSecond) {
+            if (null == bucketFirst) {
+                return windows[0];
+            }
+            if (epochSecond < RANGE_START || epochSecond >= RANGE_END) {
+                return null;
+            }
+            Window[] tab = windows;
+            int i = bucketFirst[(int) ((epochSecond - RANGE_START) >>> BUCKET_SHIFT)];
+            Window window = tab[i];
+            while (window.end <= epochSecond) {
+                window = tab[++i];
+            }
+            return window;
+        }
+    }
+}
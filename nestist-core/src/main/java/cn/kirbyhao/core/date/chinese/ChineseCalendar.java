@@ -0,0 +1,154 @@
+package cn.kirbyhao.core.date.chinese;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+
+/**
+ * 批量生成农历日期，用于渲染月历、年历
+ *
+ * <p>只对第一天做一次公历转农历，之后逐日递增农历日，到月末、年末时进位，整个区间只遍历一遍。
+ * {@link #fill(long, int[], int, int)}把结果打包为int写入数组，不创建任何对象。</p>
+ *
+ * <p>打包格式从高到低为：农历年（12位以上）、闰月标志（1位）、农历月（4位）、农历日（5位），
+ * 使用{@link #year(int)}、{@link #month(int)}、{@link #isLeapMonth(int)}、{@link #day(int)}解包。</p>
+ *
+ * @author Lu Hao
+ * @date 2026-10-16
+ */
+public final class ChineseCalendar {
+
+    private ChineseCalendar() {
+    }
+
+    /**
+     * 公历某月每一天的农历日期
+     *
+     * @param yearMonth 公历年月
+     *
+     * @return 农历日期数组，下标0为当月1日
+     */
+    public static ChineseDate[] ofMonth(YearMonth yearMonth) {
+        return ofRange(yearMonth.atDay(1), yearMonth.lengthOfMonth());
+    }
+
+    /**
+     * 公历某年每一天的农历日期
+     *
+     * @param year 公历年
+     *
+     * @return 农历日期数组，下标0为1月1日
+     */
+    public static ChineseDate[] ofYear(int year) {
+        return ofRange(LocalDate.of(year, 1, 1), LocalDate.of(year, 1, 1).lengthOfYear());
+    }
+
+    /**
+     * 从指定日期开始连续若干天的农历日期
+     *
+     * @param start 开始日期（包含）
+     * @param days 天数
+     *
+     * @return 农历日期数组
+     */
+    public static ChineseDate[] ofRange(LocalDate start, int days) {
+        int[] packed = new int[days];
+        long startEpochDay = start.toEpochDay();
+        fill(startEpochDay, packed, 0, days);
+        ChineseDate[] result = new ChineseDate[days];
+        for (int i = 0; i < days; i++) {
+            int p = packed[i];
+            result[i] = new ChineseDate(year(p), month(p), isLeapMonth(p), day(p), startEpochDay + i);
+        }
+        return result;
+    }
+
+    /**
+     * 从指定纪元日开始连续若干天的农历日期，打包后写入数组
+     *
+     * @param startEpochDay 开始的纪元日（包含）
+     * @param packed 输出数组
+     * @param off 写入的起始位置
+     * @param days 天数
+     *
+     * @throws java.time.DateTimeException 区间超出支持的范围
+     */
+    public static void fill(long startEpochDay, int[] packed, int off, int days) {
+        if (days <= 0) {
+            return;
+        }
+        LunarInfo.checkEpochDay(startEpochDay + days - 1);
+        ChineseDate first = ChineseDate.ofEpochDay(startEpochDay);
+        int year = first.getChineseYear();
+        int leap = LunarInfo.leapMonth(year);
+        int month = first.getChineseMonth();
+        boolean leapMonth = first.isLeapMonth();
+        int day = first.getChineseDay();
+        int length = first.lengthOfMonth();
+        for (int i = 0; i < days; i++) {
+            packed[off + i] = pack(year, month, leapMonth, day);
+            if (day < length) {
+                day++;
+                continue;
+            }
+            // 进入下一个月
+            day = 1;
+            if (month == leap && !leapMonth) {
+                leapMonth = true;
+                length = LunarInfo.leapDays(year);
+                continue;
+            }
+            leapMonth = false;
+            if (month == 12) {
+                if (i == days - 1) {
+                    break;
+                }
+                year++;
+                leap = LunarInfo.leapMonth(year);
+                month = 1;
+            } else {
+                month++;
+            }
+            length = LunarInfo.monthDays(year, month);
+        }
+    }
+
+    /**
+     * @param packed 打包的农历日期
+     *
+     * @return 农历年
+     */
+    public static int year(int packed) {
+        return packed >>> 10;
+    }
+
+    /**
+     * @param packed 打包的农历日期
+     *
+     * @return 农历月，1到12
+     */
+    public static int month(int packed) {
+        return (packed >>> 5) & 0xf;
+    }
+
+    /**
+     * @param packed 打包的农历日期
+     *
+     * @return 是否为闰月
+     */
+    public static boolean isLeapMonth(int packed) {
+        return (packed & (1 << 9)) != 0;
+    }
+
+    /**
+     * @param packed 打包的农历日期
+     *
+     * @return 农历日，1到30
+     */
+    public static int day(int packed) {
+        return packed & 0x1f;
+    }
+
+    private static int pack(int year, int month, boolean leapMonth, int day) {
+        return (year << 10) | (leapMonth ? 1 << 9 : 0) | (month << 5) | day;
+    }
+}
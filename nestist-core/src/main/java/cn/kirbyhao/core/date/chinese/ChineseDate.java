@@ -0,0 +1,226 @@
+package cn.kirbyhao.core.date.chinese;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * 农历日期，支持公历1900-01-31到2101-01-28
+ *
+ * <p>公历转农历时按{@link LunarInfo}的预计算索引直接定位农历年与月，不逐年、逐月累加。实例不可变。</p>
+ *
+ * @author Lu Hao
+ * @date 2026-10-16
+ */
+public final class ChineseDate {
+
+    private final int chineseYear;
+
+    private final int chineseMonth;
+
+    private final boolean leapMonth;
+
+    private final int chineseDay;
+
+    private final long epochDay;
+
+    ChineseDate(int chineseYear, int chineseMonth, boolean leapMonth, int chineseDay, long epochDay) {
+        this.chineseYear = chineseYear;
+        this.chineseMonth = chineseMonth;
+        this.leapMonth = leapMonth;
+        this.chineseDay = chineseDay;
+        this.epochDay = epochDay;
+    }
+
+    /**
+     * 公历日期转农历
+     *
+     * @param date 公历日期
+     *
+     * @return 农历日期
+     *
+     * @throws DateTimeException 超出支持的范围
+     */
+    public static ChineseDate of(LocalDate date) {
+        return ofEpochDay(date.toEpochDay());
+    }
+
+    /**
+     * 纪元日转农历
+     *
+     * @param epochDay 从1970-01-01开始计数的天数
+     *
+     * @return 农历日期
+     *
+     * @throws DateTimeException 超出支持的范围
+     */
+    public static ChineseDate ofEpochDay(long epochDay) {
+        int year = LunarInfo.yearOf(epochDay);
+        int dayOfYear = (int) (epochDay - LunarInfo.newYearEpochDay(year));
+        int monthIndex = LunarInfo.monthIndexOf(year, dayOfYear);
+        int day = dayOfYear - LunarInfo.monthStart(year, monthIndex) + 1;
+        int leap = LunarInfo.leapMonth(year);
+        if (leap == 0 || monthIndex < leap) {
+            return new ChineseDate(year, monthIndex + 1, false, day, epochDay);
+        }
+        return new ChineseDate(year, monthIndex, monthIndex == leap, day, epochDay);
+    }
+
+    /**
+     * 由农历年月日创建
+     *
+     * @param chineseYear 农历年，1900到2100
+     * @param chineseMonth 农历月，1到12
+     * @param leapMonth 是否为闰月
+     * @param chineseDay 农历日，1到当月天数
+     *
+     * @return 农历日期
+     *
+     * @throws DateTimeException 日期不存在或超出支持的范围
+     */
+    public static ChineseDate of(int chineseYear, int chineseMonth, boolean leapMonth, int chineseDay) {
+        int leap = LunarInfo.leapMonth(chineseYear);
+        if (chineseMonth < 1 || chineseMonth > 12 || (leapMonth && leap != chineseMonth)) {
+            throw new DateTimeException("Invalid lunar month: " + chineseYear + (leapMonth ? " leap " : " ")
+                    + chineseMonth);
+        }
+        int monthIndex = leap != 0 && (chineseMonth > leap || leapMonth) ? chineseMonth : chineseMonth - 1;
+        int start = LunarInfo.monthStart(chineseYear, monthIndex);
+        int length = LunarInfo.monthStart(chineseYear, monthIndex + 1) - start;
+        if (chineseDay < 1 || chineseDay > length) {
+            throw new DateTimeException("Invalid lunar day: " + chineseDay + ", month has " + length + " days");
+        }
+        long epochDay = LunarInfo.newYearEpochDay(chineseYear) + start + chineseDay - 1;
+        return new ChineseDate(chineseYear, chineseMonth, leapMonth, chineseDay, epochDay);
+    }
+
+    /**
+     * @return 农历年
+     */
+    public int getChineseYear() {
+        return chineseYear;
+    }
+
+    /**
+     * @return 农历月，1到12，闰月为所闰的月份
+     */
+    public int getChineseMonth() {
+        return chineseMonth;
+    }
+
+    /**
+     * @return 是否为闰月
+     */
+    public boolean isLeapMonth() {
+        return leapMonth;
+    }
+
+    /**
+     * @return 农历日，1到30
+     */
+    public int getChineseDay() {
+        return chineseDay;
+    }
+
+    /**
+     * @return 当月天数，29或30
+     */
+    public int lengthOfMonth() {
+        return leapMonth ? LunarInfo.leapDays(chineseYear) : LunarInfo.monthDays(chineseYear, chineseMonth);
+    }
+
+    /**
+     * @return 农历月份的中文名称，例如：正月、闰四月
+     */
+    public String getChineseMonthName() {
+        return ChineseMonth.getChineseMonthName(leapMonth, chineseMonth);
+    }
+
+    /**
+     * @return 农历日的中文名称，例如：初一
+     */
+    public String getChineseDayName() {
+        return ChineseMonth.getChineseDayName(chineseDay);
+    }
+
+    /**
+     * @return 年的干支，例如：庚子
+     */
+    public String getCyclicalYear() {
+        return GanZhi.getGanzhiOfYear(chineseYear);
+    }
+
+    /**
+     * @return 月的干支，按农历月份推算
+     */
+    public String getCyclicalMonth() {
+        return GanZhi.getGanzhiOfMonth(chineseYear, chineseMonth);
+    }
+
+    /**
+     * @return 日的干支
+     */
+    public String getCyclicalDay() {
+        return GanZhi.getGanzhiOfDay(epochDay);
+    }
+
+    /**
+     * @return 生肖
+     */
+    public String getChineseZodiac() {
+        return Zodiac.getChineseZodiac(chineseYear);
+    }
+
+    /**
+     * @return 当天的节气，不是节气时返回{@code null}
+     */
+    public String getTerm() {
+        return SolarTerms.getTerm(epochDay);
+    }
+
+    /**
+     * @return 当天的节日，取自{@link FestivalIndex#getDefault()}
+     */
+    public List<Festival> getFestivals() {
+        return FestivalIndex.getDefault().get(toLocalDate());
+    }
+
+    /**
+     * @return 从1970-01-01开始计数的天数
+     */
+    public long toEpochDay() {
+        return epochDay;
+    }
+
+    /**
+     * @return 对应的公历日期
+     */
+    public LocalDate toLocalDate() {
+        return LocalDate.ofEpochDay(epochDay);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        return epochDay == ((ChineseDate) o).epochDay;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hashCode(epochDay);
+    }
+
+    /**
+     * @return 例如：庚子鼠年 闰四月初一
+     */
+    @Override
+    public String toString() {
+        return getCyclicalYear() + getChineseZodiac() + "年 " + getChineseMonthName() + getChineseDayName();
+    }
+}
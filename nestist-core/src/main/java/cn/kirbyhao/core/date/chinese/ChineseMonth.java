@@ -0,0 +1,45 @@
+package cn.kirbyhao.core.date.chinese;
+
+/**
+ * 农历月份与日期的中文表示
+ *
+ * @author Lu Hao
+ * @date 2026-10-16
+ */
+public final class ChineseMonth {
+
+    private static final String[] MONTH_NAMES = {"正", "二", "三", "四", "五", "六", "七", "八", "九", "十", "冬", "腊"};
+
+    private static final String[] DAY_NAMES = {
+            "初一", "初二", "初三", "初四", "初五", "初六", "初七", "初八", "初九", "初十",
+            "十一", "十二", "十三", "十四", "十五", "十六", "十七", "十八", "十九", "二十",
+            "廿一", "廿二", "廿三", "廿四", "廿五", "廿六", "廿七", "廿八", "廿九", "三十"
+    };
+
+    private ChineseMonth() {
+    }
+
+    /**
+     * 农历月份的中文名称，例如：正月、闰四月、冬月、腊月
+     *
+     * @param leapMonth 是否为闰月
+     * @param month 月，1到12
+     *
+     * @return 中文名称
+     */
+    public static String getChineseMonthName(boolean leapMonth, int month) {
+        String name = MONTH_NAMES[month - 1] + "月";
+        return leapMonth ? "闰" + name : name;
+    }
+
+    /**
+     * 农历日的中文名称，例如：初一、十五、廿九
+     *
+     * @param day 日，1到30
+     *
+     * @return 中文名称
+     */
+    public static String getChineseDayName(int day) {
+        return DAY_NAMES[day - 1];
+    }
+}
@@ -0,0 +1,100 @@
+package cn.kirbyhao.core.date.chinese;
+
+import java.time.LocalDate;
+import java.util.Objects;
+
+/**
+ * 节日，包括农历节日、公历节日与节气节日，实例不可变
+ *
+ * @author Lu Hao
+ * @date 2026-10-16
+ */
+public final class Festival {
+
+    /**
+     * 节日的来源
+     */
+    public enum Type {
+        /**
+         * 按农历日期确定，例如：春节、中秋节
+         */
+        LUNAR,
+        /**
+         * 按公历日期确定，例如：元旦、国庆节
+         */
+        SOLAR,
+        /**
+         * 按节气确定，例如：清明节
+         */
+        SOLAR_TERM
+    }
+
+    private final String name;
+
+    private final Type type;
+
+    private final long epochDay;
+
+    /**
+     * 构造
+     *
+     * @param name 名称
+     * @param type 来源
+     * @param epochDay 所在日期的纪元日
+     */
+    public Festival(String name, Type type, long epochDay) {
+        this.name = Objects.requireNonNull(name, "name");
+        this.type = Objects.requireNonNull(type, "type");
+        this.epochDay = epochDay;
+    }
+
+    /**
+     * @return 名称
+     */
+    public String getName() {
+        return name;
+    }
+
+    /**
+     * @return 来源
+     */
+    public Type getType() {
+        return type;
+    }
+
+    /**
+     * @return 所在日期的纪元日
+     */
+    public long getEpochDay() {
+        return epochDay;
+    }
+
+    /**
+     * @return 所在日期
+     */
+    public LocalDate getDate() {
+        return LocalDate.ofEpochDay(epochDay);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (o == null || getClass() != o.getClass()) {
+            return false;
+        }
+        Festival festival = (Festival) o;
+        return epochDay == festival.epochDay && name.equals(festival.name) && type == festival.type;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(name, type, epochDay);
+    }
+
+    @Override
+    public String toString() {
+        return getDate() + " " + name;
+    }
+}
@@ -0,0 +1,207 @@
+package cn.kirbyhao.core.date.chinese;
+
+import java.time.LocalDate;
+import java.time.MonthDay;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * 按日期索引的节日表
+ *
+ * <p>节日按纪元日排序后存放在两个平行数组中，按日期的查询通过二分查找完成，
+ * 不需要对每个日期换算农历或计算节气。同一天的多个节日相邻存放，保持加入时的顺序。实例不可变，线程安全。</p>
+ *
+ * <p>{@link #getDefault()}包含1900年到2100年的常见农历节日、公历节日以及清明节。</p>
+ *
+ * @author Lu Hao
+ * @date 2026-10-16
+ */
+public final class FestivalIndex {
+
+    /**
+     * 农历节日：月、日、名称，除夕另行计算
+     */
+    private static final Object[][] LUNAR_FESTIVALS = {
+            {1, 1, "春节"}, {1, 15, "元宵节"}, {2, 2, "龙抬头"}, {5, 5, "端午节"}, {7, 7, "七夕节"},
+            {7, 15, "中元节"}, {8, 15, "中秋节"}, {9, 9, "重阳节"}, {12, 8, "腊八节"}, {12, 23, "小年"}
+    };
+
+    /**
+     * 公历节日：月、日、名称
+     */
+    private static final Object[][] SOLAR_FESTIVALS = {
+            {1, 1, "元旦"}, {2, 14, "情人节"}, {3, 8, "妇女节"}, {3, 12, "植树节"}, {5, 1, "劳动节"},
+            {5, 4, "青年节"}, {6, 1, "儿童节"}, {7, 1, "建党节"}, {8, 1, "建军节"}, {9, 10, "教师节"},
+            {10, 1, "国庆节"}, {12, 25, "圣诞节"}
+    };
+
+    private static volatile FestivalIndex defaultIndex;
+
+    private final long[] days;
+
+    private final Festival[] festivals;
+
+    /**
+     * 由节日集合创建
+     *
+     * @param festivals 节日
+     */
+    public FestivalIndex(Collection<Festival> festivals) {
+        Festival[] sorted = festivals.toArray(new Festival[0]);
+        // 稳定排序，同一天的节日保持加入时的顺序
+        Arrays.sort(sorted, Comparator.comparingLong(Festival::getEpochDay));
+        this.festivals = sorted;
+        this.days = new long[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            days[i] = sorted[i].getEpochDay();
+        }
+    }
+
+    /**
+     * 获取包含1900年到2100年常见节日的索引，首次调用时生成
+     *
+     * @return {@link FestivalIndex}
+     */
+    public static FestivalIndex getDefault() {
+        FestivalIndex index = defaultIndex;
+        if (null == index) {
+            synchronized (FestivalIndex.class) {
+                index = defaultIndex;
+                if (null == index) {
+                    index = new FestivalIndex(buildDefault());
+                    defaultIndex = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * @return 节日个数
+     */
+    public int size() {
+        return festivals.length;
+    }
+
+    /**
+     * 指定日期的全部节日
+     *
+     * @param date 日期
+     *
+     * @return 节日列表，没有时返回空列表
+     */
+    public List<Festival> get(LocalDate date) {
+        long epochDay = date.toEpochDay();
+        int from = lowerBound(epochDay);
+        int to = lowerBound(epochDay + 1);
+        return from == to ? Collections.emptyList() : Collections.unmodifiableList(
+                Arrays.asList(Arrays.copyOfRange(festivals, from, to)));
+    }
+
+    /**
+     * 不晚于指定日期的最后一个节日
+     *
+     * @param date 日期
+     *
+     * @return 节日，不存在时返回{@code null}
+     */
+    public Festival floor(LocalDate date) {
+        int i = lowerBound(date.toEpochDay() + 1) - 1;
+        return i >= 0 ? festivals[i] : null;
+    }
+
+    /**
+     * 不早于指定日期的第一个节日，即当天或下一个节日
+     *
+     * @param date 日期
+     *
+     * @return 节日，不存在时返回{@code null}
+     */
+    public Festival ceiling(LocalDate date) {
+        int i = lowerBound(date.toEpochDay());
+        return i < festivals.length ? festivals[i] : null;
+    }
+
+    /**
+     * 晚于指定日期的第一个节日
+     *
+     * @param date 日期
+     *
+     * @return 节日，不存在时返回{@code null}
+     */
+    public Festival higher(LocalDate date) {
+        int i = lowerBound(date.toEpochDay() + 1);
+        return i < festivals.length ? festivals[i] : null;
+    }
+
+    /**
+     * 依次处理[from, to]内的节日
+     *
+     * @param from 开始日期（包含）
+     * @param to 结束日期（包含）
+     * @param action 处理逻辑
+     */
+    public void forEach(LocalDate from, LocalDate to, Consumer<Festival> action) {
+        int end = lowerBound(to.toEpochDay() + 1);
+        for (int i = lowerBound(from.toEpochDay()); i < end; i++) {
+            action.accept(festivals[i]);
+        }
+    }
+
+    /**
+     * [from, to]内的节日
+     *
+     * @param from 开始日期（包含）
+     * @param to 结束日期（包含）
+     *
+     * @return 按日期排序的节日列表
+     */
+    public List<Festival> between(LocalDate from, LocalDate to) {
+        int start = lowerBound(from.toEpochDay());
+        int end = Math.max(start, lowerBound(to.toEpochDay() + 1));
+        return Collections.unmodifiableList(Arrays.asList(Arrays.copyOfRange(festivals, start, end)));
+    }
+
+    /**
+     * 第一个不早于指定纪元日的节日下标，都早于时返回节日个数
+     */
+    private int lowerBound(long epochDay) {
+        int lo = 0;
+        int hi = days.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (days[mid] < epochDay) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    private static List<Festival> buildDefault() {
+        List<Festival> result = new ArrayList<>();
+        for (int year = LunarInfo.BASE_YEAR; year <= LunarInfo.MAX_YEAR; year++) {
+            for (Object[] festival : LUNAR_FESTIVALS) {
+                long epochDay = ChineseDate.of(year, (Integer) festival[0], false, (Integer) festival[1]).toEpochDay();
+                result.add(new Festival((String) festival[2], Festival.Type.LUNAR, epochDay));
+            }
+            long newYearsEve = LunarInfo.newYearEpochDay(year) + LunarInfo.yearDays(year) - 1;
+            result.add(new Festival("除夕", Festival.Type.LUNAR, newYearsEve));
+        }
+        for (int year = SolarTerms.MIN_YEAR; year <= SolarTerms.MAX_YEAR; year++) {
+            for (Object[] festival : SOLAR_FESTIVALS) {
+                LocalDate date = MonthDay.of((Integer) festival[0], (Integer) festival[1]).atYear(year);
+                result.add(new Festival((String) festival[2], Festival.Type.SOLAR, date.toEpochDay()));
+            }
+            // 清明为第7个节气
+            result.add(new Festival("清明节", Festival.Type.SOLAR_TERM, SolarTerms.getTermEpochDay(year, 7)));
+        }
+        return result;
+    }
+}
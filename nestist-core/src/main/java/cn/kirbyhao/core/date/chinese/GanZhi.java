@@ -0,0 +1,112 @@
+package cn.kirbyhao.core.date.chinese;
+
+/**
+ * 天干地支（干支纪年、纪月、纪日）
+ *
+ * <p>六十甲子按序号0到59表示，0为甲子，天干为序号除以10的余数，地支为序号除以12的余数。</p>
+ *
+ * @author Lu Hao
+ * @date 2026-10-16
+ */
+public final class GanZhi {
+
+    private static final String[] GAN = {"甲", "乙", "丙", "丁", "戊", "己", "庚", "辛", "壬", "癸"};
+
+    private static final String[] ZHI = {"子", "丑", "寅", "卯", "辰", "巳", "午", "未", "申", "酉", "戌", "亥"};
+
+    private static final String[] CYCLE = new String[60];
+
+    static {
+        for (int i = 0; i < CYCLE.length; i++) {
+            CYCLE[i] = GAN[i % 10] + ZHI[i % 12];
+        }
+    }
+
+    /**
+     * 1970-01-01为辛巳日，序号17
+     */
+    private static final int EPOCH_DAY_CYCLE_OFFSET = 17;
+
+    private GanZhi() {
+    }
+
+    /**
+     * 六十甲子序号对应的干支，例如：0为甲子
+     *
+     * @param index 序号，任意整数，按60取模
+     *
+     * @return 干支
+     */
+    public static String cyclical(long index) {
+        return CYCLE[(int) Math.floorMod(index, 60L)];
+    }
+
+    /**
+     * 农历年的干支序号，例如1984年为0（甲子）
+     *
+     * @param lunarYear 农历年
+     *
+     * @return 序号，0到59
+     */
+    public static int yearIndex(int lunarYear) {
+        return Math.floorMod(lunarYear - 1984, 60);
+    }
+
+    /**
+     * 农历月的干支序号，按农历月份推算（正月为寅月），闰月与所闰的月相同
+     *
+     * @param lunarYear 农历年
+     * @param month 农历月，1到12
+     *
+     * @return 序号，0到59
+     */
+    public static int monthIndex(int lunarYear, int month) {
+        // 1900年正月为戊寅月，序号14
+        return Math.floorMod((lunarYear - 1900) * 12 + month + 13, 60);
+    }
+
+    /**
+     * 日的干支序号
+     *
+     * @param epochDay 从1970-01-01开始计数的天数
+     *
+     * @return 序号，0到59
+     */
+    public static int dayIndex(long epochDay) {
+        return (int) Math.floorMod(epochDay + EPOCH_DAY_CYCLE_OFFSET, 60L);
+    }
+
+    /**
+     * 农历年的干支，例如：2020年为庚子
+     *
+     * @param lunarYear 农历年
+     *
+     * @return 干支
+     */
+    public static String getGanzhiOfYear(int lunarYear) {
+        return CYCLE[yearIndex(lunarYear)];
+    }
+
+    /**
+     * 农历月的干支，按农历月份推算（正月为寅月），闰月与所闰的月相同
+     *
+     * @param lunarYear 农历年
+     * @param month 农历月，1到12
+     *
+     * @return 干支
+     */
+    public static String getGanzhiOfMonth(int lunarYear, int month) {
+        return CYCLE[monthIndex(lunarYear, month)];
+    }
+
+    /**
+     * 日的干支
+     *
+     * @param epochDay 从1970-01-01开始计数的天数
+     *
+     * @return 干支
+     */
+    public static String getGanzhiOfDay(long epochDay) {
+        return CYCLE[dayIndex(epochDay)];
+    }
+}
@@ -0,0 +1,245 @@
+package cn.kirbyhao.core.date.chinese;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+
+/**
+ * 农历年信息表与预计算索引，支持1900年到2100年
+ *
+ * <p>每个农历年用一个int表示：第0到3位为闰月月份（0表示无闰月），第4到15位依次为十二月到正月是否为大月（30天），
+ * 第16位为闰月是否为大月。类加载时据此预先计算每年正月初一的纪元日以及年内每个月的起始偏移，
+ * 公历与农历互换时按平均年长、月长直接定位，不需要逐年、逐月累加。</p>
+ *
+ * @author Lu Hao
+ * @date 2026-10-16
+ */
+public final class LunarInfo {
+
+    /**
+     * 支持的最小农历年
+     */
+    public static final int BASE_YEAR = 1900;
+
+    /**
+     * 支持的最大农历年
+     */
+    public static final int MAX_YEAR = 2100;
+
+    /**
+     * 1900年正月初一（公历1900-01-31）的纪元日
+     */
+    public static final long BASE_EPOCH_DAY = LocalDate.of(1900, 1, 31).toEpochDay();
+
+    private static final int YEAR_COUNT = MAX_YEAR - BASE_YEAR + 1;
+
+    /**
+     * 每年在{@link #MONTH_STARTS}中占用的个数：最多13个月的起始偏移加上年长
+     */
+    private static final int MONTH_SLOTS = 14;
+
+    private static final int[] LUNAR_CODE = {
+            0x04bd8, 0x04ae0, 0x0a570, 0x054d5, 0x0d260, 0x0d950, 0x16554, 0x056a0, 0x09ad0, 0x055d2, // 1900-1909
+            0x04ae0, 0x0a5b6, 0x0a4d0, 0x0d250, 0x1d255, 0x0b540, 0x0d6a0, 0x0ada2, 0x095b0, 0x14977, // 1910-1919
+            0x04970, 0x0a4b0, 0x0b4b5, 0x06a50, 0x06d40, 0x1ab54, 0x02b60, 0x09570, 0x052f2, 0x04970, // 1920-1929
+            0x06566, 0x0d4a0, 0x0ea50, 0x16a95, 0x05ad0, 0x02b60, 0x186e3, 0x092e0, 0x1c8d7, 0x0c950, // 1930-1939
+            0x0d4a0, 0x1d8a6, 0x0b550, 0x056a0, 0x1a5b4, 0x025d0, 0x092d0, 0x0d2b2, 0x0a950, 0x0b557, // 1940-1949
+            0x06ca0, 0x0b550, 0x15355, 0x04da0, 0x0a5b0, 0x14573, 0x052b0, 0x0a9a8, 0x0e950, 0x06aa0, // 1950-1959
+            0x0aea6, 0x0ab50, 0x04b60, 0x0aae4, 0x0a570, 0x05260, 0x0f263, 0x0d950, 0x05b57, 0x056a0, // 1960-1969
+            0x096d0, 0x04dd5, 0x04ad0, 0x0a4d0, 0x0d4d4, 0x0d250, 0x0d558, 0x0b540, 0x0b6a0, 0x195a6, // 1970-1979
+            0x095b0, 0x049b0, 0x0a974, 0x0a4b0, 0x0b27a, 0x06a50, 0x06d40, 0x0af46, 0x0ab60, 0x09570, // 1980-1989
+            0x04af5, 0x04970, 0x064b0, 0x074a3, 0x0ea50, 0x06b58, 0x05ac0, 0x0ab60, 0x096d5, 0x092e0, // 1990-1999
+            0x0c960, 0x0d954, 0x0d4a0, 0x0da50, 0x07552, 0x056a0, 0x0abb7, 0x025d0, 0x092d0, 0x0cab5, // 2000-2009
+            0x0a950, 0x0b4a0, 0x0baa4, 0x0ad50, 0x055d9, 0x04ba0, 0x0a5b0, 0x15176, 0x052b0, 0x0a930, // 2010-2019
+            0x07954, 0x06aa0, 0x0ad50, 0x05b52, 0x04b60, 0x0a6e6, 0x0a4e0, 0x0d260, 0x0ea65, 0x0d530, // 2020-2029
+            0x05aa0, 0x076a3, 0x096d0, 0x04afb, 0x04ad0, 0x0a4d0, 0x1d0b6, 0x0d250, 0x0d520, 0x0dd45, // 2030-2039
+            0x0b5a0, 0x056d0, 0x055b2, 0x049b0, 0x0a577, 0x0a4b0, 0x0aa50, 0x1b255, 0x06d20, 0x0ada0, // 2040-2049
+            0x14b63, 0x09370, 0x049f8, 0x04970, 0x064b0, 0x168a6, 0x0ea50, 0x06b20, 0x1a6c4, 0x0aae0, // 2050-2059
+            0x092e0, 0x0d2e3, 0x0c960, 0x0d557, 0x0d4a0, 0x0da50, 0x05d55, 0x056a0, 0x0a6d0, 0x055d4, // 2060-2069
+            0x052d0, 0x0a9b8, 0x0a950, 0x0b4a0, 0x0b6a6, 0x0ad50, 0x055a0, 0x0aba4, 0x0a5b0, 0x052b0, // 2070-2079
+            0x0b273, 0x06930, 0x07337, 0x06aa0, 0x0ad50, 0x14b55, 0x04b60, 0x0a570, 0x054e4, 0x0d160, // 2080-2089
+            0x0e968, 0x0d520, 0x0daa0, 0x16aa6, 0x056d0, 0x04ae0, 0x0a9d4, 0x0a2d0, 0x0d150, 0x0f252, // 2090-2099
+            0x0d520 // 2100
+    };
+
+    /**
+     * 每年正月初一的纪元日，最后一个元素为2101年正月初一
+     */
+    private static final long[] YEAR_STARTS = new long[YEAR_COUNT + 1];
+
+    /**
+     * 每年各月（含闰月，按先后顺序）相对正月初一的起始偏移，第月数个元素为全年天数
+     */
+    private static final short[] MONTH_STARTS = new short[YEAR_COUNT * MONTH_SLOTS];
+
+    static {
+        long start = BASE_EPOCH_DAY;
+        for (int i = 0; i < YEAR_COUNT; i++) {
+            YEAR_STARTS[i] = start;
+            int year = BASE_YEAR + i;
+            int leapMonth = leapMonth(year);
+            int offset = 0;
+            int index = 0;
+            for (int month = 1; month <= 12; month++) {
+                MONTH_STARTS[i * MONTH_SLOTS + index++] = (short) offset;
+                offset += monthDays(year, month);
+                if (month == leapMonth) {
+                    MONTH_STARTS[i * MONTH_SLOTS + index++] = (short) offset;
+                    offset += leapDays(year);
+                }
+            }
+            MONTH_STARTS[i * MONTH_SLOTS + index] = (short) offset;
+            start += offset;
+        }
+        YEAR_STARTS[YEAR_COUNT] = start;
+    }
+
+    /**
+     * 支持的最小纪元日，即1900年正月初一
+     */
+    public static final long MIN_EPOCH_DAY = BASE_EPOCH_DAY;
+
+    /**
+     * 支持的最大纪元日，即2100年十二月的最后一天
+     */
+    public static final long MAX_EPOCH_DAY = YEAR_STARTS[YEAR_COUNT] - 1;
+
+    private LunarInfo() {
+    }
+
+    /**
+     * 农历年的闰月月份
+     *
+     * @param year 农历年
+     *
+     * @return 闰月月份，1到12，无闰月时返回0
+     */
+    public static int leapMonth(int year) {
+        return code(year) & 0xf;
+    }
+
+    /**
+     * 农历年闰月的天数
+     *
+     * @param year 农历年
+     *
+     * @return 闰月天数，无闰月时返回0
+     */
+    public static int leapDays(int year) {
+        int code = code(year);
+        if ((code & 0xf) == 0) {
+            return 0;
+        }
+        return (code & 0x10000) != 0 ? 30 : 29;
+    }
+
+    /**
+     * 农历年非闰月的天数
+     *
+     * @param year 农历年
+     * @param month 月，1到12
+     *
+     * @return 29或30
+     */
+    public static int monthDays(int year, int month) {
+        if (month < 1 || month > 12) {
+            throw new DateTimeException("Invalid lunar month: " + month);
+        }
+        return (code(year) & (0x10000 >> month)) != 0 ? 30 : 29;
+    }
+
+    /**
+     * 农历年的总天数
+     *
+     * @param year 农历年
+     *
+     * @return 总天数
+     */
+    public static int yearDays(int year) {
+        int i = index(year);
+        return (int) (YEAR_STARTS[i + 1] - YEAR_STARTS[i]);
+    }
+
+    /**
+     * 农历年正月初一的纪元日
+     *
+     * @param year 农历年
+     *
+     * @return 纪元日
+     */
+    public static long newYearEpochDay(int year) {
+        return YEAR_STARTS[index(year)];
+    }
+
+    /**
+     * 纪元日对应的农历年
+     *
+     * @param epochDay 纪元日，{@link #MIN_EPOCH_DAY}到{@link #MAX_EPOCH_DAY}
+     *
+     * @return 农历年
+     */
+    static int yearOf(long epochDay) {
+        checkEpochDay(epochDay);
+        // 按平均回归年长度估算，误差不超过一年
+        int i = (int) ((epochDay - BASE_EPOCH_DAY) / 365.2422);
+        if (i >= YEAR_COUNT) {
+            i = YEAR_COUNT - 1;
+        }
+        if (YEAR_STARTS[i] > epochDay) {
+            i--;
+        } else if (YEAR_STARTS[i + 1] <= epochDay) {
+            i++;
+        }
+        return BASE_YEAR + i;
+    }
+
+    /**
+     * 农历年内第几个月（含闰月，从0开始）的起始偏移，monthIndex等于月数时为全年天数
+     */
+    static int monthStart(int year, int monthIndex) {
+        return MONTH_STARTS[index(year) * MONTH_SLOTS + monthIndex];
+    }
+
+    /**
+     * 农历年的月数，有闰月时为13
+     */
+    static int monthCount(int year) {
+        return leapMonth(year) == 0 ? 12 : 13;
+    }
+
+    /**
+     * 年内偏移所在的月序号（含闰月，从0开始）
+     */
+    static int monthIndexOf(int year, int dayOfYear) {
+        int base = index(year) * MONTH_SLOTS;
+        // 按平均朔望月长度估算，误差不超过一个月
+        int k = (int) (dayOfYear / 29.530588);
+        int count = monthCount(year);
+        if (k >= count) {
+            k = count - 1;
+        }
+        if (MONTH_STARTS[base + k] > dayOfYear) {
+            k--;
+        } else if (MONTH_STARTS[base + k + 1] <= dayOfYear) {
+            k++;
+        }
+        return k;
+    }
+
+    static void checkEpochDay(long epochDay) {
+        if (epochDay < MIN_EPOCH_DAY || epochDay > MAX_EPOCH_DAY) {
+            throw new DateTimeException("Date out of lunar calendar range [1900-01-31, 2101-01-28]: epochDay "
+                    + epochDay);
+        }
+    }
+
+    private static int code(int year) {
+        return LUNAR_CODE[index(year)];
+    }
+
+    private static int index(int year) {
+        if (year < BASE_YEAR || year > MAX_YEAR) {
+            throw new DateTimeException("Lunar year out of range [1900, 2100]: " + year);
+        }
+        return year - BASE_YEAR;
+    }
+}
@@ -0,0 +1,379 @@
+package cn.kirbyhao.core.date.chinese;
+
+import java.time.DateTimeException;
+import java.time.LocalDate;
+
+/**
+ * 二十四节气，支持公历1900年到2100年
+ *
+ * <p>类加载时按太阳视黄经计算一次全部节气的日期（北京时间），保存为按时间排序的纪元日数组，
+ * 之后的查询只是数组下标访问或二分查找，不再逐次做天文计算。</p>
+ *
+ * <p>先用 Jean Meeus《天文算法》第25章的低精度公式求出近似的交节时刻，再用该书附录III截断的 VSOP87 地球日心黄经级数，
+ * 加上章动主项、光行差与FK5修正，牛顿迭代到秒级。交节时刻与紫金山天文台公布的时刻相差约半分钟以内，
+ * 例如2014年惊蛰（3月6日0时02分）、2016年小暑（7月7日0时03分）、2021年冬至（12月21日23时59分）这类贴近午夜的节气
+ * 日期也与历书一致。</p>
+ *
+ * <p>节气按序号访问：每年第1个为小寒，第24个为冬至；全表序号（ordinal）为{@code (年 - 1900) * 24 + 序号 - 1}。</p>
+ *
+ * @author Lu Hao
+ * @date 2026-10-16
+ */
+public final class SolarTerms {
+
+    /**
+     * 支持的最小公历年
+     */
+    public static final int MIN_YEAR = 1900;
+
+    /**
+     * 支持的最大公历年
+     */
+    public static final int MAX_YEAR = 2100;
+
+    private static final String[] NAMES = {
+            "小寒", "大寒", "立春", "雨水", "惊蛰", "春分", "清明", "谷雨", "立夏", "小满", "芒种", "夏至",
+            "小暑", "大暑", "立秋", "处暑", "白露", "秋分", "寒露", "霜降", "立冬", "小雪", "大雪", "冬至"
+    };
+
+    /**
+     * VSOP87地球日心黄经级数，Meeus《天文算法》附录III，每三个数为一项：振幅（1e-8弧度）、相位、频率，
+     * 项值为{@code A * cos(B + C * tau)}，tau为J2000起算的儒略千年数
+     */
+    private static final double[] VSOP_L0 = {
+            175347046, 0, 0, 3341656, 4.6692568, 6283.0758500, 34894, 4.62610, 12566.15170,
+            3497, 2.7441, 5753.3849, 3418, 2.8289, 3.5231, 3136, 3.6277, 77713.7715,
+            2676, 4.4181, 7860.4194, 2343, 6.1352, 3930.2097, 1324, 0.7425, 11506.7698,
+            1273, 2.0371, 529.6910, 1199, 1.1096, 1577.3435, 990, 5.233, 5884.927,
+            902, 2.045, 26.298, 857, 3.508, 398.149, 780, 1.179, 5223.694,
+            753, 2.533, 5507.553, 505, 4.583, 18849.228, 492, 4.205, 775.523,
+            357, 2.920, 0.067, 317, 5.849, 11790.629, 284, 1.899, 796.298,
+            271, 0.315, 10977.079, 243, 0.345, 5486.778, 206, 4.806, 2544.314,
+            205, 1.869, 5573.143, 202, 2.458, 6069.777, 156, 0.833, 213.299,
+            132, 3.411, 2942.463, 126, 1.083, 20.775, 115, 0.645, 0.980,
+            103, 0.636, 4694.003, 102, 0.976, 15720.839, 102, 4.267, 7.114,
+            99, 6.21, 2146.17, 98, 0.68, 155.42, 86, 5.98, 161000.69,
+            85, 1.30, 6275.96, 85, 3.67, 71430.70, 80, 1.81, 17260.15,
+            79, 3.04, 12036.46, 75, 1.76, 5088.63, 74, 3.50, 3154.69,
+            74, 4.68, 801.82, 70, 0.83, 9437.76, 62, 3.98, 8827.39,
+            61, 1.82, 7084.90, 57, 2.78, 6286.60, 56, 4.39, 14143.50,
+            56, 3.47, 6279.55, 52, 0.19, 12139.55, 52, 1.33, 1748.02,
+            51, 0.28, 5856.48, 49, 0.49, 1194.45, 41, 5.37, 8429.24,
+            41, 2.40, 19651.05, 39, 6.17, 10447.39, 37, 6.04, 10213.29,
+            37, 2.57, 1059.38, 36, 1.71, 2352.87, 36, 1.78, 6812.77,
+            33, 0.59, 17789.85, 30, 0.44, 83996.85, 30, 2.74, 1349.87,
+            25, 3.16, 4690.48
+    };
+
+    private static final double[] VSOP_L1 = {
+            628331966747.0, 0, 0, 206059, 2.678235, 6283.07585, 4303, 2.6351, 12566.1517,
+            425, 1.590, 3.523, 119, 5.796, 26.298, 109, 2.966, 1577.344,
+            93, 2.59, 18849.23, 72, 1.14, 529.69, 68, 1.87, 398.15,
+            67, 4.41, 5507.55, 59, 2.89, 5223.69, 56, 2.17, 155.42,
+            45, 0.40, 796.30, 36, 0.47, 775.52, 29, 2.65, 7.11,
+            21, 5.34, 0.98, 19, 1.85, 5486.78, 19, 4.97, 213.30,
+            17, 2.99, 6275.96, 16, 0.03, 2544.31, 16, 1.43, 2146.17,
+            15, 1.21, 10977.08, 12, 2.83, 1748.02, 12, 3.26, 5088.63,
+            12, 5.27, 1194.45, 12, 2.08, 4694.00, 11, 0.77, 553.57,
+            10, 1.30, 6286.60, 10, 4.24, 1349.87, 9, 2.70, 242.73,
+            9, 5.64, 951.72, 8, 5.30, 2352.87, 6, 2.65, 9437.76,
+            6, 4.67, 4690.48
+    };
+
+    private static final double[] VSOP_L2 = {
+            52919, 0, 0, 8720, 1.0721, 6283.0758, 309, 0.867, 12566.152,
+            27, 0.05, 3.52, 16, 5.19, 26.30, 16, 3.68, 155.42,
+            10, 0.76, 18849.23, 9, 2.06, 77713.77, 7, 0.83, 775.52,
+            5, 4.66, 1577.34, 4, 1.03, 7.11, 4, 3.44, 5573.14,
+            3, 5.14, 796.30, 3, 6.05, 5507.55, 3, 1.19, 242.73,
+            3, 6.12, 529.69, 3, 0.31, 398.15, 3, 2.28, 553.57,
+            2, 4.38, 5223.69, 2, 3.75, 0.98
+    };
+
+    private static final double[] VSOP_L3 = {
+            289, 5.844, 6283.076, 35, 0, 0, 17, 5.49, 12566.15,
+            3, 5.20, 155.42, 1, 4.72, 3.52, 1, 5.30, 18849.23,
+            1, 5.97, 242.73
+    };
+
+    private static final double[] VSOP_L4 = {
+            114, 3.142, 0, 8, 4.13, 6283.08, 1, 3.84, 12566.15
+    };
+
+    private static final double[] VSOP_L5 = {
+            1, 3.14, 0
+    };
+
+    /**
+     * 全部节气的纪元日，按时间排序
+     */
+    private static final int[] TERM_DAYS = new int[(MAX_YEAR - MIN_YEAR + 1) * 24];
+
+    /**
+     * 儒略日与纪元日的差，1970-01-01的儒略日数为2440588
+     */
+    private static final double JULIAN_DAY_OF_EPOCH = 2440587.5;
+
+    static {
+        for (int year = MIN_YEAR; year <= MAX_YEAR; year++) {
+            // 1月6日前后为小寒，以此为初值依次求解
+            double jde = JULIAN_DAY_OF_EPOCH + LocalDate.of(year, 1, 6).toEpochDay();
+            for (int i = 0; i < 24; i++) {
+                double longitude = (285 + i * 15) % 360;
+                jde = solve(longitude, jde);
+                double beijingTime = jde - deltaT(year) / 86_400 + 8 / 24.0;
+                TERM_DAYS[(year - MIN_YEAR) * 24 + i] = (int) Math.floor(beijingTime - JULIAN_DAY_OF_EPOCH);
+                jde += 15.2;
+            }
+        }
+    }
+
+    private SolarTerms() {
+    }
+
+    /**
+     * 节气的名称
+     *
+     * @param index 序号，1为小寒，24为冬至
+     *
+     * @return 名称
+     */
+    public static String getName(int index) {
+        return NAMES[index - 1];
+    }
+
+    /**
+     * 某年第几个节气所在的日期
+     *
+     * @param year 公历年
+     * @param index 序号，1为小寒，24为冬至
+     *
+     * @return 纪元日
+     */
+    public static long getTermEpochDay(int year, int index) {
+        if (year < MIN_YEAR || year > MAX_YEAR) {
+            throw new DateTimeException("Year out of solar term range [1900, 2100]: " + year);
+        }
+        if (index < 1 || index > 24) {
+            throw new DateTimeException("Invalid solar term index: " + index);
+        }
+        return TERM_DAYS[(year - MIN_YEAR) * 24 + index - 1];
+    }
+
+    /**
+     * 某年第几个节气所在的日期
+     *
+     * @param year 公历年
+     * @param index 序号，1为小寒，24为冬至
+     *
+     * @return 日期
+     */
+    public static LocalDate getTermDate(int year, int index) {
+        return LocalDate.ofEpochDay(getTermEpochDay(year, index));
+    }
+
+    /**
+     * 指定日期的节气
+     *
+     * @param date 日期
+     *
+     * @return 节气名称，当天不是节气时返回{@code null}
+     */
+    public static String getTerm(LocalDate date) {
+        return getTerm(date.toEpochDay());
+    }
+
+    /**
+     * 指定日期的节气
+     *
+     * @param epochDay 纪元日
+     *
+     * @return 节气名称，当天不是节气时返回{@code null}
+     */
+    public static String getTerm(long epochDay) {
+        int ordinal = floor(epochDay);
+        return ordinal >= 0 && TERM_DAYS[ordinal] == epochDay ? nameOf(ordinal) : null;
+    }
+
+    /**
+     * 不晚于指定日期的最后一个节气，即当前所处的节气
+     *
+     * @param epochDay 纪元日
+     *
+     * @return 全表序号，早于表中第一个节气时返回-1
+     */
+    public static int floor(long epochDay) {
+        return ceilingOrdinal(epochDay + 1) - 1;
+    }
+
+    /**
+     * 不早于指定日期的第一个节气，即当天或下一个节气
+     *
+     * @param epochDay 纪元日
+     *
+     * @return 全表序号，晚于表中最后一个节气时返回-1
+     */
+    public static int ceiling(long epochDay) {
+        int ordinal = ceilingOrdinal(epochDay);
+        return ordinal < TERM_DAYS.length ? ordinal : -1;
+    }
+
+    /**
+     * @param ordinal 全表序号
+     *
+     * @return 节气所在的纪元日
+     */
+    public static long epochDayOf(int ordinal) {
+        return TERM_DAYS[ordinal];
+    }
+
+    /**
+     * @param ordinal 全表序号
+     *
+     * @return 节气名称
+     */
+    public static String nameOf(int ordinal) {
+        return NAMES[ordinal % 24];
+    }
+
+    /**
+     * @param ordinal 全表序号
+     *
+     * @return 节气所在的公历年
+     */
+    public static int yearOf(int ordinal) {
+        return MIN_YEAR + ordinal / 24;
+    }
+
+    /**
+     * @return 表中节气的个数，全表序号从0到该值减一
+     */
+    public static int size() {
+        return TERM_DAYS.length;
+    }
+
+    /**
+     * 第一个不早于指定纪元日的节气的全表序号，都早于时返回表长
+     */
+    private static int ceilingOrdinal(long epochDay) {
+        int lo = 0;
+        int hi = TERM_DAYS.length;
+        while (lo < hi) {
+            int mid = (lo + hi) >>> 1;
+            if (TERM_DAYS[mid] < epochDay) {
+                lo = mid + 1;
+            } else {
+                hi = mid;
+            }
+        }
+        return lo;
+    }
+
+    /**
+     * 求太阳视黄经等于指定值的儒略历书日：先用低精度公式求近似值，再用VSOP87级数修正
+     */
+    private static double solve(double longitude, double jde) {
+        for (int i = 0; i < 20; i++) {
+            double diff = longitude - approximateLongitude(jde);
+            diff -= 360 * Math.floor((diff + 180) / 360);
+            // 太阳每天约移动0.9856度
+            double correction = diff / 0.9856;
+            jde += correction;
+            if (Math.abs(correction) < 1e-5) {
+                break;
+            }
+        }
+        for (int i = 0; i < 10; i++) {
+            double diff = longitude - apparentLongitude(jde);
+            diff -= 360 * Math.floor((diff + 180) / 360);
+            // 用低精度公式估计当天太阳的移动速度，近日点附近约1.019度，远日点附近约0.953度
+            double rate = approximateLongitude(jde + 0.5) - approximateLongitude(jde - 0.5);
+            rate -= 360 * Math.floor((rate + 180) / 360);
+            double correction = diff / rate;
+            jde += correction;
+            // 修正量小于1秒时，速度估计的误差只会留下远小于1秒的残差
+            if (Math.abs(correction) < 1e-5) {
+                break;
+            }
+        }
+        return jde;
+    }
+
+    /**
+     * 太阳视黄经（度），Meeus《天文算法》第25章低精度公式，误差约0.01度，只用于求初值
+     */
+    private static double approximateLongitude(double jde) {
+        double t = (jde - 2451545.0) / 36525;
+        double l0 = 280.46646 + 36000.76983 * t + 0.0003032 * t * t;
+        double m = Math.toRadians(357.52911 + 35999.05029 * t - 0.0001537 * t * t);
+        double c = (1.914602 - 0.004817 * t - 0.000014 * t * t) * Math.sin(m)
+                + (0.019993 - 0.000101 * t) * Math.sin(2 * m)
+                + 0.000289 * Math.sin(3 * m);
+        double omega = Math.toRadians(125.04 - 1934.136 * t);
+        double lambda = l0 + c - 0.00569 - 0.00478 * Math.sin(omega);
+        return lambda - 360 * Math.floor(lambda / 360);
+    }
+
+    /**
+     * 太阳视黄经（度），由VSOP87地球日心黄经换算为地心黄经，再加FK5修正、章动主项与光行差，误差约1角秒
+     */
+    private static double apparentLongitude(double jde) {
+        double tau = (jde - 2451545.0) / 365250;
+        double l = (sum(VSOP_L0, tau) + tau * (sum(VSOP_L1, tau) + tau * (sum(VSOP_L2, tau)
+                + tau * (sum(VSOP_L3, tau) + tau * (sum(VSOP_L4, tau) + tau * sum(VSOP_L5, tau)))))) / 1e8;
+        double t = tau * 10;
+        double omega = Math.toRadians(125.04452 - 1934.136261 * t);
+        double sunMean = Math.toRadians(280.4665 + 36000.7698 * t);
+        double moonMean = Math.toRadians(218.3165 + 481267.8813 * t);
+        // 黄经章动（角秒），IAU 1980 章动的四个主项
+        double nutation = -17.20 * Math.sin(omega) - 1.32 * Math.sin(2 * sunMean)
+                - 0.23 * Math.sin(2 * moonMean) + 0.21 * Math.sin(2 * omega);
+        double m = Math.toRadians(357.52911 + 35999.05029 * t);
+        double distance = 1.000140 - 0.016708 * Math.cos(m) - 0.000139 * Math.cos(2 * m);
+        double lambda = Math.toDegrees(l) + 180 + (-0.09033 + nutation - 20.4898 / distance) / 3600;
+        return lambda - 360 * Math.floor(lambda / 360);
+    }
+
+    private static double sum(double[] series, double tau) {
+        double result = 0;
+        for (int i = 0; i < series.length; i += 3) {
+            result += series[i] * Math.cos(series[i + 1] + series[i + 2] * tau);
+        }
+        return result;
+    }
+
+    /**
+     * 力学时与世界时之差（秒），Espenak 与 Meeus 的分段多项式
+     */
+    private static double deltaT(int year) {
+        double y = year + 0.5;
+        double t;
+        if (year < 1920) {
+            t = y - 1900;
+            return -2.79 + 1.494119 * t - 0.0598939 * t * t + 0.0061966 * t * t * t - 0.000197 * t * t * t * t;
+        }
+        if (year < 1941) {
+            t = y - 1920;
+            return 21.20 + 0.84493 * t - 0.076100 * t * t + 0.0020936 * t * t * t;
+        }
+        if (year < 1961) {
+            t = y - 1950;
+            return 29.07 + 0.407 * t - t * t / 233 + t * t * t / 2547;
+        }
+        if (year < 1986) {
+            t = y - 1975;
+            return 45.45 + 1.067 * t - t * t / 260 - t * t * t / 718;
+        }
+        if (year < 2005) {
+            t = y - 2000;
+            return 63.86 + 0.3345 * t - 0.060374 * t * t + 0.0017275 * t * t * t + 0.000651814 * t * t * t * t
+                    + 0.00002373599 * t * t * t * t * t;
+        }
+        if (year < 2050) {
+            t = y - 2000;
+            return 62.92 + 0.32217 * t + 0.005589 * t * t;
+        }
+        double u = (y - 1820) / 100;
+        return -20 + 32 * u * u - 0.5628 * (2150 - y);
+    }
+}
@@ -0,0 +1,26 @@
+package cn.kirbyhao.core.date.chinese;
+
+/**
+ * 生肖
+ *
+ * @author Lu Hao
+ * @date 2026-10-16
+ */
+public final class Zodiac {
+
+    private static final String[] CHINESE_ZODIACS = {"鼠", "牛", "虎", "兔", "龙", "蛇", "马", "羊", "猴", "鸡", "狗", "猪"};
+
+    private Zodiac() {
+    }
+
+    /**
+     * 农历年对应的生肖，按农历年（正月初一）划分，例如1984年为鼠
+     *
+     * @param lunarYear 农历年
+     *
+     * @return 生肖
+     */
+    public static String getChineseZodiac(int lunarYear) {
+        return CHINESE_ZODIACS[Math.floorMod(lunarYear - 4, 12)];
+    }
+}
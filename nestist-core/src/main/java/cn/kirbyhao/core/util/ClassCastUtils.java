@@ -1,9 +1,18 @@
 package cn.kirbyhao.core.util;
 
+import java.util.AbstractList;
+import java.util.AbstractSet;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.HashSet;
+import java.util.Iterator;
+import java.util.LinkedHashSet;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.RandomAccess;
 import java.util.Set;
+import java.util.TreeSet;
+import java.util.function.IntFunction;
 
 /**
  * 类型转换工具类
@@ -26,6 +35,12 @@ public class ClassCastUtils {
      */
     public static <T> List<T> castToList(Object object, Class<T> clazz, Class<? extends List> listClass)
             throws IllegalAccessException, InstantiationException {
+        if (listClass == ArrayList.class) {
+            return castToList(object, clazz, ArrayList::new);
+        }
+        if (listClass == LinkedList.class) {
+            return castToList(object, clazz, size -> new LinkedList<>());
+        }
         List<T> result = listClass.newInstance();
         if (object instanceof List<?>) {
             for (Object o : (List<?>) object) {
@@ -36,9 +51,30 @@ public class ClassCastUtils {
         return null;
     }
 
+    /**
+     * 将Object对象转换为由工厂创建的List对象，若Object不是列表，则返回null
+     *
+     * @param object  object对象，实质上是一个列表
+     * @param clazz   列表中每一项的类型
+     * @param factory 按元素个数创建列表，例如{@code ArrayList::new}
+     * @param <T>     泛型
+     * @return 转换后的List列表对象
+     */
+    public static <T> List<T> castToList(Object object, Class<T> clazz, IntFunction<? extends List<T>> factory) {
+        if (object instanceof List<?>) {
+            List<?> source = (List<?>) object;
+            List<T> result = factory.apply(source.size());
+            for (Object o : source) {
+                result.add(clazz.cast(o));
+            }
+            return result;
+        }
+        return null;
+    }
+
     /**
      * 将Object对象转换为List对象，若Object不是列表，则返回null
-     * 默认转换为LinkedList类型
+     * 默认转换为按元素个数预先分配容量的ArrayList类型
      *
      * @param object object对象，实质上是一个列表
      * @param clazz  列表中每一项的类型
@@ -46,12 +82,45 @@ public class ClassCastUtils {
      * @return 转换后的List列表对象
      */
     public static <T> List<T> castToList(Object object, Class<T> clazz) {
-        List<T> result = new LinkedList<>();
+        return castToList(object, clazz, ArrayList::new);
+    }
+
+    /**
+     * 将Object对象一次性检查后直接作为List返回，不复制，若Object不是列表，则返回null
+     * <p>
+     * 返回的就是原列表本身，之后通过原列表写入的元素不再检查
+     *
+     * @param object object对象，实质上是一个列表
+     * @param clazz  列表中每一项的类型
+     * @param <T>    泛型
+     * @return 原列表
+     * @throws ClassCastException 存在不是clazz类型的元素
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> List<T> castToListValidated(Object object, Class<T> clazz) {
         if (object instanceof List<?>) {
-            for (Object o : (List<?>) object) {
-                result.add(clazz.cast(o));
-            }
-            return result;
+            validate((List<?>) object, clazz);
+            return (List<T>) object;
+        }
+        return null;
+    }
+
+    /**
+     * 将Object对象包装为按需检查类型的List视图，不复制，若Object不是列表，则返回null
+     * <p>
+     * 读取元素时才检查类型，写入时同样检查；视图与原列表共享数据，原列表支持随机访问时视图也支持
+     *
+     * @param object object对象，实质上是一个列表
+     * @param clazz  列表中每一项的类型
+     * @param <T>    泛型
+     * @return List视图
+     */
+    public static <T> List<T> castToListView(Object object, Class<T> clazz) {
+        if (object instanceof RandomAccess && object instanceof List<?>) {
+            return new RandomAccessCheckedList<>((List<?>) object, clazz);
+        }
+        if (object instanceof List<?>) {
+            return new CheckedList<>((List<?>) object, clazz);
         }
         return null;
     }
@@ -69,6 +138,15 @@ public class ClassCastUtils {
      */
     public static <T> Set<T> castToSet(Object object, Class<T> clazz, Class<? extends Set> setClass)
             throws IllegalAccessException, InstantiationException {
+        if (setClass == HashSet.class) {
+            return castToSet(object, clazz, ClassCastUtils::newHashSet);
+        }
+        if (setClass == LinkedHashSet.class) {
+            return castToSet(object, clazz, size -> new LinkedHashSet<>(hashCapacity(size)));
+        }
+        if (setClass == TreeSet.class) {
+            return castToSet(object, clazz, size -> new TreeSet<>());
+        }
         // 采用指定的Set类
         Set<T> result = setClass.newInstance();
         if (object instanceof Set<?>) {
@@ -80,9 +158,30 @@ public class ClassCastUtils {
         return null;
     }
 
+    /**
+     * 将Object转换为由工厂创建的Set，若Object不是集合，则返回null
+     *
+     * @param object  object对象，实质上是一个集合
+     * @param clazz   集合中每一项的类型
+     * @param factory 按元素个数创建集合，工厂需要自行按负载因子换算容量
+     * @param <T>     泛型
+     * @return 转换后的Set集合对象
+     */
+    public static <T> Set<T> castToSet(Object object, Class<T> clazz, IntFunction<? extends Set<T>> factory) {
+        if (object instanceof Set<?>) {
+            Set<?> source = (Set<?>) object;
+            Set<T> result = factory.apply(source.size());
+            for (Object o : source) {
+                result.add(clazz.cast(o));
+            }
+            return result;
+        }
+        return null;
+    }
+
     /**
      * 将Object对象转换为List对象，若Object不是列表，则返回null
-     * 默认转换为HashSet类型
+     * 默认转换为按元素个数预先分配容量的HashSet类型
      *
      * @param object object对象，实质上是一个列表
      * @param clazz  列表中每一项的类型
@@ -90,13 +189,418 @@ public class ClassCastUtils {
      * @return 转换后的Set集合对象
      */
     public static <T> Set<T> castToSet(Object object, Class<T> clazz) {
-        Set<T> result = new HashSet<>();
+        return castToSet(object, clazz, ClassCastUtils::newHashSet);
+    }
+
+    /**
+     * 将Object对象一次性检查后直接作为Set返回，不复制，若Object不是集合，则返回null
+     * <p>
+     * 返回的就是原集合本身，之后通过原集合写入的元素不再检查
+     *
+     * @param object object对象，实质上是一个集合
+     * @param clazz  集合中每一项的类型
+     * @param <T>    泛型
+     * @return 原集合
+     * @throws ClassCastException 存在不是clazz类型的元素
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Set<T> castToSetValidated(Object object, Class<T> clazz) {
         if (object instanceof Set<?>) {
-            for (Object o : (Set<?>) object) {
-                result.add(clazz.cast(o));
+            validate((Set<?>) object, clazz);
+            return (Set<T>) object;
+        }
+        return null;
+    }
+
+    /**
+     * 将Object对象包装为按需检查类型的Set视图，不复制，若Object不是集合，则返回null
+     *
+     * @param object object对象，实质上是一个集合
+     * @param clazz  集合中每一项的类型
+     * @param <T>    泛型
+     * @return Set视图
+     */
+    public static <T> Set<T> castToSetView(Object object, Class<T> clazz) {
+        if (object instanceof Set<?>) {
+            return new CheckedSet<>((Set<?>) object, clazz);
+        }
+        return null;
+    }
+
+    /**
+     * 将Object对象直接转换为int数组，不经过装箱的中间列表，若Object不是集合或对象数组，则返回null
+     * <p>
+     * 元素可以是Integer、Short、Byte、Character，按拓宽转换得到int，其他类型抛出ClassCastException
+     *
+     * @param object object对象，实质上是一个集合或对象数组
+     * @return int数组，集合按迭代顺序
+     * @throws ClassCastException   存在不能拓宽为int的元素
+     * @throws NullPointerException 存在null元素
+     */
+    public static int[] castToIntArray(Object object) {
+        if (object instanceof Object[]) {
+            Object[] source = (Object[]) object;
+            int[] result = new int[source.length];
+            for (int i = 0; i < source.length; i++) {
+                result[i] = toInt(source[i], i);
+            }
+            return result;
+        }
+        if (object instanceof RandomAccess && object instanceof List<?>) {
+            List<?> source = (List<?>) object;
+            int[] result = new int[source.size()];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = toInt(source.get(i), i);
+            }
+            return result;
+        }
+        if (object instanceof Collection<?>) {
+            Collection<?> source = (Collection<?>) object;
+            int[] result = new int[source.size()];
+            int i = 0;
+            for (Object o : source) {
+                result[i] = toInt(o, i);
+                i++;
+            }
+            return result;
+        }
+        return null;
+    }
+
+    /**
+     * 将Object对象直接转换为long数组，不经过装箱的中间列表，若Object不是集合或对象数组，则返回null
+     * <p>
+     * 元素可以是Long、Integer、Short、Byte、Character，按拓宽转换得到long，其他类型抛出ClassCastException
+     *
+     * @param object object对象，实质上是一个集合或对象数组
+     * @return long数组，集合按迭代顺序
+     * @throws ClassCastException   存在不能拓宽为long的元素
+     * @throws NullPointerException 存在null元素
+     */
+    public static long[] castToLongArray(Object object) {
+        if (object instanceof Object[]) {
+            Object[] source = (Object[]) object;
+            long[] result = new long[source.length];
+            for (int i = 0; i < source.length; i++) {
+                result[i] = toLong(source[i], i);
+            }
+            return result;
+        }
+        if (object instanceof RandomAccess && object instanceof List<?>) {
+            List<?> source = (List<?>) object;
+            long[] result = new long[source.size()];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = toLong(source.get(i), i);
+            }
+            return result;
+        }
+        if (object instanceof Collection<?>) {
+            Collection<?> source = (Collection<?>) object;
+            long[] result = new long[source.size()];
+            int i = 0;
+            for (Object o : source) {
+                result[i] = toLong(o, i);
+                i++;
+            }
+            return result;
+        }
+        return null;
+    }
+
+    /**
+     * 将Object对象直接转换为double数组，不经过装箱的中间列表，若Object不是集合或对象数组，则返回null
+     * <p>
+     * 元素可以是Double、Float以及{@link #castToLongArray(Object)}支持的整数类型，按拓宽转换得到double，
+     * 其他类型抛出ClassCastException
+     *
+     * @param object object对象，实质上是一个集合或对象数组
+     * @return double数组，集合按迭代顺序
+     * @throws ClassCastException   存在不能拓宽为double的元素
+     * @throws NullPointerException 存在null元素
+     */
+    public static double[] castToDoubleArray(Object object) {
+        if (object instanceof Object[]) {
+            Object[] source = (Object[]) object;
+            double[] result = new double[source.length];
+            for (int i = 0; i < source.length; i++) {
+                result[i] = toDouble(source[i], i);
+            }
+            return result;
+        }
+        if (object instanceof RandomAccess && object instanceof List<?>) {
+            List<?> source = (List<?>) object;
+            double[] result = new double[source.size()];
+            for (int i = 0; i < result.length; i++) {
+                result[i] = toDouble(source.get(i), i);
+            }
+            return result;
+        }
+        if (object instanceof Collection<?>) {
+            Collection<?> source = (Collection<?>) object;
+            double[] result = new double[source.size()];
+            int i = 0;
+            for (Object o : source) {
+                result[i] = toDouble(o, i);
+                i++;
             }
             return result;
         }
         return null;
     }
+
+    /**
+     * 将Object对象转换为{@link IntHashSet}，元素要求与{@link #castToIntArray(Object)}相同，若Object不是集合或对象数组，则返回null
+     *
+     * @param object object对象，实质上是一个集合或对象数组
+     * @return {@link IntHashSet}
+     */
+    public static IntHashSet castToIntSet(Object object) {
+        int[] values = castToIntArray(object);
+        return null == values ? null : IntHashSet.of(values);
+    }
+
+    /**
+     * 将Object对象转换为{@link LongHashSet}，元素要求与{@link #castToLongArray(Object)}相同，若Object不是集合或对象数组，则返回null
+     *
+     * @param object object对象，实质上是一个集合或对象数组
+     * @return {@link LongHashSet}
+     */
+    public static LongHashSet castToLongSet(Object object) {
+        long[] values = castToLongArray(object);
+        return null == values ? null : LongHashSet.of(values);
+    }
+
+    /**
+     * 使用{@link ConverterRegistry#shared()}把Object对象转换为指定类型，例如字符串转数字、时间戳转{@link java.time.LocalDateTime}
+     *
+     * @param object object对象
+     * @param clazz  目标类型
+     * @param <T>    泛型
+     * @return 转换后的对象，object为null时返回null
+     * @throws ClassCastException 没有可用的转换器
+     */
+    public static <T> T convert(Object object, Class<T> clazz) {
+        return ConverterRegistry.shared().convert(object, clazz);
+    }
+
+    private static int toInt(Object o, int index) {
+        if (o instanceof Integer) {
+            return (Integer) o;
+        }
+        if (o instanceof Short || o instanceof Byte) {
+            return ((Number) o).intValue();
+        }
+        if (o instanceof Character) {
+            return (Character) o;
+        }
+        throw cannotConvert(o, "int", index);
+    }
+
+    private static long toLong(Object o, int index) {
+        if (o instanceof Long) {
+            return (Long) o;
+        }
+        if (o instanceof Integer || o instanceof Short || o instanceof Byte) {
+            return ((Number) o).longValue();
+        }
+        if (o instanceof Character) {
+            return (Character) o;
+        }
+        throw cannotConvert(o, "long", index);
+    }
+
+    private static double toDouble(Object o, int index) {
+        if (o instanceof Double || o instanceof Float) {
+            return ((Number) o).doubleValue();
+        }
+        if (o instanceof Long || o instanceof Integer || o instanceof Short || o instanceof Byte) {
+            return ((Number) o).doubleValue();
+        }
+        if (o instanceof Character) {
+            return (Character) o;
+        }
+        throw cannotConvert(o, "double", index);
+    }
+
+    private static RuntimeException cannotConvert(Object o, String type, int index) {
+        if (null == o) {
+            return new NullPointerException("Null element at index " + index);
+        }
+        return new ClassCastException("Cannot convert " + o.getClass().getName() + " to " + type + " at index " + index);
+    }
+
+    private static void validate(Collection<?> source, Class<?> clazz) {
+        if (source instanceof RandomAccess && source instanceof List<?>) {
+            List<?> list = (List<?>) source;
+            for (int i = 0, n = list.size(); i < n; i++) {
+                clazz.cast(list.get(i));
+            }
+            return;
+        }
+        for (Object o : source) {
+            clazz.cast(o);
+        }
+    }
+
+    private static <T> Set<T> newHashSet(int size) {
+        return new HashSet<>(hashCapacity(size));
+    }
+
+    /**
+     * 按默认负载因子0.75计算容纳size个元素不需要扩容的初始容量
+     */
+    private static int hashCapacity(int size) {
+        return size < 3 ? size + 1 : (int) Math.min(size / 0.75f + 1.0f, Integer.MAX_VALUE);
+    }
+
+    /**
+     * 按需检查类型的List视图
+     */
+    private static class CheckedList<T> extends AbstractList<T> {
+
+        final List<Object> source;
+
+        final Class<T> clazz;
+
+        @SuppressWarnings("unchecked")
+        CheckedList(List<?> source, Class<T> clazz) {
+            this.source = (List<Object>) source;
+            this.clazz = clazz;
+        }
+
+        @Override
+        public T get(int index) {
+            return clazz.cast(source.get(index));
+        }
+
+        @Override
+        public int size() {
+            return source.size();
+        }
+
+        @Override
+        public T set(int index, T element) {
+            return clazz.cast(source.set(index, clazz.cast(element)));
+        }
+
+        @Override
+        public void add(int index, T element) {
+            source.add(index, clazz.cast(element));
+        }
+
+        @Override
+        public T remove(int index) {
+            return clazz.cast(source.remove(index));
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return source.contains(o);
+        }
+
+        @Override
+        public int indexOf(Object o) {
+            return source.indexOf(o);
+        }
+
+        @Override
+        public int lastIndexOf(Object o) {
+            return source.lastIndexOf(o);
+        }
+
+        @Override
+        public void clear() {
+            source.clear();
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            Iterator<Object> it = source.iterator();
+            return new Iterator<T>() {
+                @Override
+                public boolean hasNext() {
+                    return it.hasNext();
+                }
+
+                @Override
+                public T next() {
+                    return clazz.cast(it.next());
+                }
+
+                @Override
+                public void remove() {
+                    it.remove();
+                }
+            };
+        }
+    }
+
+    private static final class RandomAccessCheckedList<T> extends CheckedList<T> implements RandomAccess {
+
+        RandomAccessCheckedList(List<?> source, Class<T> clazz) {
+            super(source, clazz);
+        }
+    }
+
+    /**
+     * 按需检查类型的Set视图
+     */
+    private static final class CheckedSet<T> extends AbstractSet<T> {
+
+        private final Set<Object> source;
+
+        private final Class<T> clazz;
+
+        @SuppressWarnings("unchecked")
+        CheckedSet(Set<?> source, Class<T> clazz) {
+            this.source = (Set<Object>) source;
+            this.clazz = clazz;
+        }
+
+        @Override
+        public int size() {
+            return source.size();
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            return source.contains(o);
+        }
+
+        @Override
+        public boolean add(T t) {
+            return source.add(clazz.cast(t));
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            return source.remove(o);
+        }
+
+        @Override
+        public void clear() {
+            source.clear();
+        }
+
+        @Override
+        public Iterator<T> iterator() {
+            Iterator<Object> it = source.iterator();
+            return new Iterator<T>() {
+                @Override
+                public boolean hasNext() {
+                    return it.hasNext();
+                }
+
+                @Override
+                public T next() {
+                    return clazz.cast(it.next());
+                }
+
+                @Override
+                public void remove() {
+                    it.remove();
+                }
+            };
+        }
+    }
 }
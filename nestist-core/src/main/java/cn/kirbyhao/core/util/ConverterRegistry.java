@@ -0,0 +1,664 @@
+package cn.kirbyhao.core.util;
+
+import cn.kirbyhao.core.date.DateTimeUtil;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.math.BigDecimal;
+import java.math.BigInteger;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAccessor;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Date;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+
+/**
+ * 类型转换器注册表
+ *
+ * <p>转换器按（源类型，目标类型）注册，统一表示为类型为{@code (Object)Object}的{@link MethodHandle}。
+ * 查找某一对类型的转换器时依次尝试：</p>
+ * <ol>
+ *     <li>源类型已经是目标类型的子类型时原样返回</li>
+ *     <li>按源类型、父类、接口的顺序查找注册的转换器，目标类型相同的优先；否则在同一层注册的转换器中
+ *     选择目标类型能赋给所需类型且最具体的一个，存在多个互不为子类型的候选时视为有歧义</li>
+ *     <li>目标为枚举、源为字符串时按名称转换</li>
+ *     <li>目标为String时使用{@link String#valueOf(Object)}</li>
+ *     <li>经过一个非字符串的中间类型的两步转换，例如Date到LocalDateTime再到LocalDate，
+ *     两个转换器用{@link MethodHandles#filterReturnValue(MethodHandle, MethodHandle)}组合为一个；
+ *     中间类型按源类型层次逐层、同一层内按注册顺序查找，同一层有多个可用的中间类型时视为有歧义</li>
+ * </ol>
+ * <p>有歧义的类型对在转换时抛出{@link ClassCastException}并列出候选类型，例如字符串转{@link Number}、
+ * 字符串转{@link TemporalAccessor}，需要明确目标类型或直接注册该类型对的转换器。</p>
+ * <p>查找结果按源类型缓存在{@link ClassValue}中、再按目标类型缓存在{@link ConcurrentHashMap}中，之后的转换只是一次
+ * {@link ClassValue#get(Class)}、一次Map查找加一次{@link MethodHandle#invokeExact}调用；批量转换集合时还会复用上一个元素的转换器。
+ * 注册新的转换器会使所有缓存失效并在下次使用时重新查找，应在启动时完成注册。</p>
+ *
+ * @author Lu Hao
+ * @date 2026-10-16
+ */
+public final class ConverterRegistry {
+
+    private static final MethodType CONVERTER_TYPE = MethodType.methodType(Object.class, Object.class);
+
+    private static final MethodHandle IDENTITY = MethodHandles.identity(Object.class);
+
+    private static final MethodHandle FUNCTION_APPLY;
+
+    private static final MethodHandle ENUM_VALUE_OF;
+
+    private static final MethodHandle STRING_VALUE_OF;
+
+    /**
+     * 表示找不到转换器，只用于比较引用
+     */
+    private static final MethodHandle MISSING;
+
+    private static final ConverterRegistry SHARED;
+
+    static {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+            FUNCTION_APPLY = lookup.findVirtual(Function.class, "apply", CONVERTER_TYPE);
+            ENUM_VALUE_OF = lookup.findStatic(Enum.class, "valueOf",
+                    MethodType.methodType(Enum.class, Class.class, String.class));
+            STRING_VALUE_OF = lookup.findStatic(String.class, "valueOf", MethodType.methodType(String.class,
+                    Object.class));
+            MISSING = FUNCTION_APPLY.bindTo(Function.identity());
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+        SHARED = withDefaults();
+    }
+
+    /**
+     * 源类型 -> 目标类型 -> 转换器，内层Map保持注册顺序，注册时整体替换，读取时无需加锁
+     */
+    private final Map<Class<?>, Map<Class<?>, MethodHandle>> converters = new ConcurrentHashMap<>();
+
+    /**
+     * 源类型 -> 查找结果，每个注册表只有一个实例；缓存的值不引用该实例，注册表不再使用后可以随类型一起回收
+     */
+    private final ClassValue<Handles> cache = new ClassValue<Handles>() {
+        @Override
+        protected Handles computeValue(Class<?> source) {
+            return new Handles(generation);
+        }
+    };
+
+    /**
+     * 每次注册加一，版本号不同的{@link Handles}视为过期
+     */
+    private volatile int generation;
+
+    /**
+     * 获取共享的注册表，已注册数字、字符串、日期时间之间的常用转换
+     *
+     * @return {@link ConverterRegistry}
+     */
+    public static ConverterRegistry shared() {
+        return SHARED;
+    }
+
+    /**
+     * 创建已注册常用转换的注册表
+     *
+     * @return {@link ConverterRegistry}
+     */
+    public static ConverterRegistry withDefaults() {
+        ConverterRegistry registry = new ConverterRegistry();
+        registry.registerDefaults();
+        return registry;
+    }
+
+    /**
+     * 注册转换器，源类型的子类型也会使用该转换器
+     *
+     * @param source 源类型
+     * @param target 目标类型
+     * @param converter 转换函数
+     * @param <S> 源类型
+     * @param <T> 目标类型
+     *
+     * @return this
+     */
+    public <S, T> ConverterRegistry register(Class<S> source, Class<T> target, Function<? super S, ? extends T> converter) {
+        return register(source, target, FUNCTION_APPLY.bindTo(converter));
+    }
+
+    /**
+     * 注册以{@link MethodHandle}表示的转换器，例如静态工厂方法或无参实例方法
+     *
+     * @param source 源类型
+     * @param target 目标类型
+     * @param converter 接受一个参数的方法句柄，参数能接收source、返回值能赋给target
+     *
+     * @return this
+     */
+    public synchronized ConverterRegistry register(Class<?> source, Class<?> target, MethodHandle converter) {
+        if (converter.type().parameterCount() != 1) {
+            throw new IllegalArgumentException("Converter must take exactly one argument: " + converter);
+        }
+        Class<?> key = wrap(source);
+        Map<Class<?>, MethodHandle> existing = converters.get(key);
+        Map<Class<?>, MethodHandle> targets = null == existing ? new LinkedHashMap<>() : new LinkedHashMap<>(existing);
+        targets.put(wrap(target), converter.asType(CONVERTER_TYPE));
+        converters.put(key, targets);
+        generation++;
+        return this;
+    }
+
+    /**
+     * 转换
+     *
+     * @param value 值
+     * @param target 目标类型，基本类型按包装类型处理
+     * @param <T> 目标类型
+     *
+     * @return 转换结果，value为{@code null}时返回{@code null}
+     *
+     * @throws ClassCastException 没有可用的转换器
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T convert(Object value, Class<T> target) {
+        if (null == value) {
+            return null;
+        }
+        return (T) invoke(handle(value.getClass(), target), value, target);
+    }
+
+    /**
+     * 获取固定类型之间的转换函数，查找只做一次，适合在循环中反复调用
+     *
+     * @param source 源类型
+     * @param target 目标类型
+     * @param <S> 源类型
+     * @param <T> 目标类型
+     *
+     * @return 转换函数，参数为{@code null}时返回{@code null}；参数为source的子类型时按实际类型重新查找
+     *
+     * @throws ClassCastException 没有可用的转换器；有歧义时在转换时抛出
+     */
+    @SuppressWarnings("unchecked")
+    public <S, T> Function<S, T> converter(Class<S> source, Class<T> target) {
+        Class<?> wrappedSource = wrap(source);
+        MethodHandle handle = handle(wrappedSource, target);
+        if (handle == MISSING) {
+            throw missing(wrappedSource, target);
+        }
+        return value -> {
+            if (null == value) {
+                return null;
+            }
+            MethodHandle h = value.getClass() == wrappedSource ? handle : handle(value.getClass(), target);
+            return (T) invoke(h, value, target);
+        };
+    }
+
+    /**
+     * 把集合或数组中的元素逐个转换，放入按个数预先分配容量的ArrayList
+     *
+     * @param source 集合或数组，包括基本类型数组
+     * @param elementType 元素的目标类型
+     * @param <T> 元素的目标类型
+     *
+     * @return 转换后的列表，source为{@code null}时返回{@code null}
+     */
+    public <T> List<T> convertList(Object source, Class<T> elementType) {
+        if (null == source) {
+            return null;
+        }
+        List<T> result = new ArrayList<>(sizeOf(source));
+        convertAll(source, elementType, result);
+        return result;
+    }
+
+    /**
+     * 把集合或数组中的元素逐个转换，放入按个数预先分配容量、保持原顺序的LinkedHashSet
+     *
+     * @param source 集合或数组，包括基本类型数组
+     * @param elementType 元素的目标类型
+     * @param <T> 元素的目标类型
+     *
+     * @return 转换后的集合，source为{@code null}时返回{@code null}
+     */
+    public <T> Set<T> convertSet(Object source, Class<T> elementType) {
+        if (null == source) {
+            return null;
+        }
+        Set<T> result = new LinkedHashSet<>(hashCapacity(sizeOf(source)));
+        convertAll(source, elementType, result);
+        return result;
+    }
+
+    /**
+     * 把Map的键和值逐个转换，放入按个数预先分配容量、保持原顺序的LinkedHashMap
+     *
+     * @param source Map
+     * @param keyType 键的目标类型
+     * @param valueType 值的目标类型
+     * @param <K> 键的目标类型
+     * @param <V> 值的目标类型
+     *
+     * @return 转换后的Map，source为{@code null}时返回{@code null}
+     *
+     * @throws ClassCastException source不是Map或没有可用的转换器
+     */
+    @SuppressWarnings("unchecked")
+    public <K, V> Map<K, V> convertMap(Object source, Class<K> keyType, Class<V> valueType) {
+        if (null == source) {
+            return null;
+        }
+        if (!(source instanceof Map<?, ?>)) {
+            throw new ClassCastException("Not a map: " + source.getClass().getName());
+        }
+        Map<?, ?> map = (Map<?, ?>) source;
+        Map<K, V> result = new LinkedHashMap<>(hashCapacity(map.size()));
+        Class<?> lastKeyClass = null;
+        MethodHandle keyHandle = null;
+        Class<?> lastValueClass = null;
+        MethodHandle valueHandle = null;
+        for (Map.Entry<?, ?> entry : map.entrySet()) {
+            Object key = entry.getKey();
+            Object value = entry.getValue();
+            if (null != key && key.getClass() != lastKeyClass) {
+                lastKeyClass = key.getClass();
+                keyHandle = handle(lastKeyClass, keyType);
+            }
+            if (null != value && value.getClass() != lastValueClass) {
+                lastValueClass = value.getClass();
+                valueHandle = handle(lastValueClass, valueType);
+            }
+            result.put(null == key ? null : (K) invoke(keyHandle, key, keyType),
+                    null == value ? null : (V) invoke(valueHandle, value, valueType));
+        }
+        return result;
+    }
+
+    /**
+     * 把集合或数组中的元素逐个转换为指定类型的数组
+     *
+     * @param source 集合或数组，包括基本类型数组
+     * @param arrayType 目标数组类型，例如{@code long[].class}、{@code LocalDateTime[].class}
+     * @param <A> 目标数组类型
+     *
+     * @return 转换后的数组，source为{@code null}时返回{@code null}
+     *
+     * @throws ClassCastException 没有可用的转换器，或目标为基本类型数组时存在{@code null}元素
+     */
+    @SuppressWarnings("unchecked")
+    public <A> A convertArray(Object source, Class<A> arrayType) {
+        if (null == source) {
+            return null;
+        }
+        Class<?> componentType = arrayType.getComponentType();
+        if (null == componentType) {
+            throw new IllegalArgumentException("Not an array type: " + arrayType.getName());
+        }
+        List<?> converted = convertList(source, componentType);
+        Object result = Array.newInstance(componentType, converted.size());
+        if (componentType.isPrimitive()) {
+            for (int i = 0; i < converted.size(); i++) {
+                Object element = converted.get(i);
+                if (null == element) {
+                    throw new ClassCastException("Null element at index " + i + " for " + arrayType.getName());
+                }
+                Array.set(result, i, element);
+            }
+        } else {
+            converted.toArray((Object[]) result);
+        }
+        return (A) result;
+    }
+
+    private void registerDefaults() {
+        MethodHandles.Lookup lookup = MethodHandles.publicLookup();
+        try {
+            // 数字之间
+            register(Number.class, Long.class, lookup.findVirtual(Number.class, "longValue", MethodType.methodType(long.class)));
+            register(Number.class, Integer.class, lookup.findVirtual(Number.class, "intValue", MethodType.methodType(int.class)));
+            register(Number.class, Short.class, lookup.findVirtual(Number.class, "shortValue", MethodType.methodType(short.class)));
+            register(Number.class, Byte.class, lookup.findVirtual(Number.class, "byteValue", MethodType.methodType(byte.class)));
+            register(Number.class, Double.class, lookup.findVirtual(Number.class, "doubleValue", MethodType.methodType(double.class)));
+            register(Number.class, Float.class, lookup.findVirtual(Number.class, "floatValue", MethodType.methodType(float.class)));
+            register(Number.class, BigDecimal.class, (Number n) -> new BigDecimal(n.toString()));
+            register(Number.class, BigInteger.class, (Number n) -> BigInteger.valueOf(n.longValue()));
+            register(BigDecimal.class, BigInteger.class, BigDecimal::toBigInteger);
+            register(Boolean.class, Integer.class, (Boolean b) -> b ? 1 : 0);
+
+            // 字符串到基本类型
+            register(CharSequence.class, Long.class, (CharSequence s) -> Long.valueOf(s.toString().trim()));
+            register(CharSequence.class, Integer.class, (CharSequence s) -> Integer.valueOf(s.toString().trim()));
+            register(CharSequence.class, Short.class, (CharSequence s) -> Short.valueOf(s.toString().trim()));
+            register(CharSequence.class, Byte.class, (CharSequence s) -> Byte.valueOf(s.toString().trim()));
+            register(CharSequence.class, Double.class, (CharSequence s) -> Double.valueOf(s.toString().trim()));
+            register(CharSequence.class, Float.class, (CharSequence s) -> Float.valueOf(s.toString().trim()));
+            register(CharSequence.class, BigDecimal.class, (CharSequence s) -> new BigDecimal(s.toString().trim()));
+            register(CharSequence.class, BigInteger.class, (CharSequence s) -> new BigInteger(s.toString().trim()));
+            register(CharSequence.class, Boolean.class, (CharSequence s) -> Boolean.valueOf(s.toString().trim()));
+            register(CharSequence.class, Character.class, ConverterRegistry::toCharacter);
+            register(Enum.class, String.class, lookup.findVirtual(Enum.class, "name", MethodType.methodType(String.class)));
+
+            // 日期时间
+            register(CharSequence.class, LocalDateTime.class, lookup.findStatic(DateTimeUtil.class, "parse",
+                    MethodType.methodType(LocalDateTime.class, CharSequence.class)));
+            register(CharSequence.class, LocalDate.class, lookup.findStatic(LocalDate.class, "parse",
+                    MethodType.methodType(LocalDate.class, CharSequence.class)));
+            register(CharSequence.class, LocalTime.class, lookup.findStatic(LocalTime.class, "parse",
+                    MethodType.methodType(LocalTime.class, CharSequence.class)));
+            register(CharSequence.class, Instant.class, lookup.findStatic(Instant.class, "parse",
+                    MethodType.methodType(Instant.class, CharSequence.class)));
+            register(LocalDateTime.class, String.class,
+                    (LocalDateTime t) -> DateTimeUtil.format(t, DateTimeUtil.DATETIME_FORMAT_STR));
+            register(LocalDateTime.class, LocalDate.class, LocalDateTime::toLocalDate);
+            register(LocalDateTime.class, LocalTime.class, LocalDateTime::toLocalTime);
+            register(Number.class, LocalDateTime.class, (Number n) -> DateTimeUtil.of(n.longValue()));
+            register(Date.class, LocalDateTime.class, lookup.findStatic(DateTimeUtil.class, "of",
+                    MethodType.methodType(LocalDateTime.class, Date.class)));
+            register(TemporalAccessor.class, LocalDateTime.class, lookup.findStatic(DateTimeUtil.class, "of",
+                    MethodType.methodType(LocalDateTime.class, TemporalAccessor.class)));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static Character toCharacter(CharSequence s) {
+        if (s.length() != 1) {
+            throw new IllegalArgumentException("Cannot convert \"" + s + "\" to a single character");
+        }
+        return s.charAt(0);
+    }
+
+    private MethodHandle handle(Class<?> source, Class<?> target) {
+        Handles handles = cache.get(source);
+        if (handles.generation != generation) {
+            cache.remove(source);
+            handles = cache.get(source);
+        }
+        Class<?> key = wrap(target);
+        MethodHandle handle = handles.targets.get(key);
+        if (null == handle) {
+            handle = resolve(source, key);
+            MethodHandle previous = handles.targets.putIfAbsent(key, handle);
+            if (null != previous) {
+                handle = previous;
+            }
+        }
+        return handle;
+    }
+
+    private static Object invoke(MethodHandle handle, Object value, Class<?> target) {
+        if (handle == MISSING) {
+            throw missing(value.getClass(), target);
+        }
+        try {
+            return (Object) handle.invokeExact(value);
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private static ClassCastException missing(Class<?> source, Class<?> target) {
+        return new ClassCastException("No converter from " + source.getName() + " to " + target.getName());
+    }
+
+    private MethodHandle resolve(Class<?> source, Class<?> target) {
+        if (target.isAssignableFrom(source)) {
+            return IDENTITY;
+        }
+        List<Class<?>> candidates = new ArrayList<>();
+        MethodHandle direct = direct(source, target, candidates);
+        if (null != direct) {
+            return direct;
+        }
+        if (!candidates.isEmpty()) {
+            return ambiguous(source, target, " among ", candidates);
+        }
+        if (target.isEnum() && CharSequence.class.isAssignableFrom(source)) {
+            MethodHandle valueOf = MethodHandles.insertArguments(ENUM_VALUE_OF, 0, target);
+            return MethodHandles.filterArguments(valueOf, 0, toStringHandle()).asType(CONVERTER_TYPE);
+        }
+        if (target == String.class) {
+            return STRING_VALUE_OF.asType(CONVERTER_TYPE);
+        }
+        // 经过一个中间类型，中间类型不为String，避免数字与布尔值等经过字符串产生意外结果
+        for (Class<?> type : hierarchy(source)) {
+            Map<Class<?>, MethodHandle> targets = converters.get(type);
+            if (null == targets) {
+                continue;
+            }
+            List<Class<?>> middles = new ArrayList<>();
+            MethodHandle composite = null;
+            for (Map.Entry<Class<?>, MethodHandle> first : targets.entrySet()) {
+                Class<?> middle = first.getKey();
+                if (middle == String.class) {
+                    continue;
+                }
+                candidates.clear();
+                MethodHandle second = direct(middle, target, candidates);
+                if (null != second) {
+                    middles.add(middle);
+                    if (null == composite) {
+                        composite = MethodHandles.filterReturnValue(first.getValue(), second);
+                    }
+                }
+            }
+            if (middles.size() > 1) {
+                return ambiguous(source, target, " via ", middles);
+            }
+            if (null != composite) {
+                return composite;
+            }
+        }
+        return MISSING;
+    }
+
+    /**
+     * 按源类型、父类、接口的顺序查找注册的转换器。目标类型相同的优先，否则在同一层中选择目标类型能赋给target且最具体的一个；
+     * 没有唯一最具体的候选时返回{@code null}，并把候选目标类型按注册顺序放入ambiguous
+     */
+    private MethodHandle direct(Class<?> source, Class<?> target, List<Class<?>> ambiguous) {
+        for (Class<?> type : hierarchy(source)) {
+            Map<Class<?>, MethodHandle> targets = converters.get(type);
+            if (null == targets) {
+                continue;
+            }
+            MethodHandle exact = targets.get(target);
+            if (null != exact) {
+                return exact;
+            }
+            List<Class<?>> candidates = new ArrayList<>();
+            for (Class<?> candidate : targets.keySet()) {
+                if (target.isAssignableFrom(candidate)) {
+                    candidates.add(candidate);
+                }
+            }
+            if (candidates.isEmpty()) {
+                continue;
+            }
+            Class<?> mostSpecific = mostSpecific(candidates);
+            if (null != mostSpecific) {
+                return targets.get(mostSpecific);
+            }
+            ambiguous.addAll(candidates);
+            return null;
+        }
+        return null;
+    }
+
+    /**
+     * 能赋给其余所有候选的类型，不存在时返回{@code null}
+     */
+    private static Class<?> mostSpecific(List<Class<?>> candidates) {
+        for (Class<?> candidate : candidates) {
+            boolean specific = true;
+            for (Class<?> other : candidates) {
+                if (!other.isAssignableFrom(candidate)) {
+                    specific = false;
+                    break;
+                }
+            }
+            if (specific) {
+                return candidate;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * 有歧义的类型对，转换时抛出列出候选类型的{@link ClassCastException}
+     */
+    private static MethodHandle ambiguous(Class<?> source, Class<?> target, String relation, List<Class<?>> candidates) {
+        StringBuilder names = new StringBuilder();
+        for (Class<?> candidate : candidates) {
+            if (names.length() > 0) {
+                names.append(", ");
+            }
+            names.append(candidate.getName());
+        }
+        String message = "Ambiguous converters from " + source.getName() + " to " + target.getName() + relation
+                + "[" + names + "], register a converter for this pair or request a more specific type";
+        Function<Object, Object> fail = value -> {
+            throw new ClassCastException(message);
+        };
+        return FUNCTION_APPLY.bindTo(fail);
+    }
+
+    /**
+     * 类本身、各级父类，然后按广度优先的所有接口
+     */
+    private static List<Class<?>> hierarchy(Class<?> source) {
+        List<Class<?>> result = new ArrayList<>();
+        for (Class<?> c = source; null != c; c = c.getSuperclass()) {
+            result.add(c);
+        }
+        Set<Class<?>> seen = new HashSet<>(result);
+        Deque<Class<?>> queue = new ArrayDeque<>(result);
+        while (!queue.isEmpty()) {
+            for (Class<?> i : queue.poll().getInterfaces()) {
+                if (seen.add(i)) {
+                    result.add(i);
+                    queue.add(i);
+                }
+            }
+        }
+        return result;
+    }
+
+    private static MethodHandle toStringHandle() {
+        try {
+            return MethodHandles.publicLookup().findVirtual(Object.class, "toString", MethodType.methodType(String.class))
+                    .asType(MethodType.methodType(String.class, Object.class));
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private void convertAll(Object source, Class<?> elementType, Collection<?> result) {
+        @SuppressWarnings("unchecked")
+        Collection<Object> sink = (Collection<Object>) result;
+        Class<?> lastClass = null;
+        MethodHandle handle = null;
+        if (source instanceof Collection<?>) {
+            for (Object element : (Collection<?>) source) {
+                if (null == element) {
+                    sink.add(null);
+                    continue;
+                }
+                if (element.getClass() != lastClass) {
+                    lastClass = element.getClass();
+                    handle = handle(lastClass, elementType);
+                }
+                sink.add(invoke(handle, element, elementType));
+            }
+        } else if (source.getClass().isArray()) {
+            int length = Array.getLength(source);
+            for (int i = 0; i < length; i++) {
+                Object element = Array.get(source, i);
+                if (null == element) {
+                    sink.add(null);
+                    continue;
+                }
+                if (element.getClass() != lastClass) {
+                    lastClass = element.getClass();
+                    handle = handle(lastClass, elementType);
+                }
+                sink.add(invoke(handle, element, elementType));
+            }
+        } else {
+            throw new ClassCastException("Not a collection or array: " + source.getClass().getName());
+        }
+    }
+
+    private static int sizeOf(Object source) {
+        if (source instanceof Collection<?>) {
+            return ((Collection<?>) source).size();
+        }
+        return source.getClass().isArray() ? Array.getLength(source) : 0;
+    }
+
+    private static int hashCapacity(int size) {
+        return size < 3 ? size + 1 : (int) Math.min(size / 0.75f + 1.0f, Integer.MAX_VALUE);
+    }
+
+    private static Class<?> wrap(Class<?> type) {
+        if (!type.isPrimitive()) {
+            return type;
+        }
+        if (type == int.class) {
+            return Integer.class;
+        }
+        if (type == long.class) {
+            return Long.class;
+        }
+        if (type == double.class) {
+            return Double.class;
+        }
+        if (type == boolean.class) {
+            return Boolean.class;
+        }
+        if (type == float.class) {
+            return Float.class;
+        }
+        if (type == short.class) {
+            return Short.class;
+        }
+        if (type == byte.class) {
+            return Byte.class;
+        }
+        if (type == char.class) {
+            return Character.class;
+        }
+        return Void.class;
+    }
+
+    /**
+     * 同一源类型到各目标类型的转换器，创建时记录注册表的版本号
+     */
+    private static final class Handles {
+
+        private final int generation;
+
+        private final Map<Class<?>, MethodHandle> targets = new ConcurrentHashMap<>();
+
+        Handles(int generation) {
+            this.generation = generation;
+        }
+    }
+}
@@ -0,0 +1,286 @@
+package cn.kirbyhao.core.util;
+
+import java.util.Arrays;
+import java.util.function.LongConsumer;
+
+/**
+ * 存放long的开放寻址哈希集合
+ *
+ * <p>元素直接保存在{@code long[]}中，使用线性探测，删除时把后续元素前移而不留墓碑，
+ * 添加与查询都不装箱，也不为每个元素创建节点对象。0用单独的标志位表示，数组中的0表示空槽。
+ * 装载因子不超过0.5。本类不是线程安全的。</p>
+ *
+ * @author Lu Hao
+ * @date 2026-10-16
+ */
+public final class LongHashSet {
+
+    private long[] table;
+
+    private int mask;
+
+    private int size;
+
+    private boolean containsZero;
+
+    /**
+     * 创建空集合
+     */
+    public LongHashSet() {
+        this(16);
+    }
+
+    /**
+     * 创建可以容纳指定个数元素而不扩容的集合
+     *
+     * @param expectedSize 预计的元素个数
+     */
+    public LongHashSet(int expectedSize) {
+        if (expectedSize < 0) {
+            throw new IllegalArgumentException("expectedSize must not be negative: " + expectedSize);
+        }
+        allocate(tableSize(expectedSize));
+    }
+
+    /**
+     * 由数组创建
+     *
+     * @param values 元素
+     *
+     * @return {@link LongHashSet}
+     */
+    public static LongHashSet of(long... values) {
+        LongHashSet set = new LongHashSet(values.length);
+        for (long value : values) {
+            set.add(value);
+        }
+        return set;
+    }
+
+    /**
+     * 添加元素
+     *
+     * @param value 元素
+     *
+     * @return 集合中原来没有该元素时返回{@code true}
+     */
+    public boolean add(long value) {
+        if (value == 0) {
+            if (containsZero) {
+                return false;
+            }
+            containsZero = true;
+            size++;
+            return true;
+        }
+        long[] tab = table;
+        int i = index(value);
+        long current;
+        while ((current = tab[i]) != 0) {
+            if (current == value) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        tab[i] = value;
+        if (++size > (mask + 1) >>> 1) {
+            allocate((mask + 1) << 1);
+        }
+        return true;
+    }
+
+    /**
+     * 是否包含元素
+     *
+     * @param value 元素
+     *
+     * @return 是否包含
+     */
+    public boolean contains(long value) {
+        if (value == 0) {
+            return containsZero;
+        }
+        long[] tab = table;
+        int i = index(value);
+        long current;
+        while ((current = tab[i]) != 0) {
+            if (current == value) {
+                return true;
+            }
+            i = (i + 1) & mask;
+        }
+        return false;
+    }
+
+    /**
+     * 删除元素
+     *
+     * @param value 元素
+     *
+     * @return 集合中原来有该元素时返回{@code true}
+     */
+    public boolean remove(long value) {
+        if (value == 0) {
+            if (!containsZero) {
+                return false;
+            }
+            containsZero = false;
+            size--;
+            return true;
+        }
+        long[] tab = table;
+        int i = index(value);
+        long current;
+        while ((current = tab[i]) != value) {
+            if (current == 0) {
+                return false;
+            }
+            i = (i + 1) & mask;
+        }
+        // 把同一探测链上、理想位置不在空出的槽位之后的元素前移
+        int gap = i;
+        int j = i;
+        while (true) {
+            j = (j + 1) & mask;
+            long next = tab[j];
+            if (next == 0) {
+                break;
+            }
+            int ideal = index(next);
+            if (((j - ideal) & mask) >= ((j - gap) & mask)) {
+                tab[gap] = next;
+                gap = j;
+            }
+        }
+        tab[gap] = 0;
+        size--;
+        return true;
+    }
+
+    /**
+     * @return 元素个数
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * @return 是否为空
+     */
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * 清空，保留已分配的容量
+     */
+    public void clear() {
+        Arrays.fill(table, 0);
+        containsZero = false;
+        size = 0;
+    }
+
+    /**
+     * 遍历所有元素，顺序不确定
+     *
+     * @param consumer 接收元素
+     */
+    public void forEach(LongConsumer consumer) {
+        if (containsZero) {
+            consumer.accept(0);
+        }
+        for (long value : table) {
+            if (value != 0) {
+                consumer.accept(value);
+            }
+        }
+    }
+
+    /**
+     * @return 所有元素，顺序不确定
+     */
+    public long[] toArray() {
+        long[] result = new long[size];
+        int n = 0;
+        if (containsZero) {
+            n++;
+        }
+        for (long value : table) {
+            if (value != 0) {
+                result[n++] = value;
+            }
+        }
+        return result;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof LongHashSet)) {
+            return false;
+        }
+        LongHashSet other = (LongHashSet) o;
+        if (other.size != size || other.containsZero != containsZero) {
+            return false;
+        }
+        for (long value : table) {
+            if (value != 0 && !other.contains(value)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 0;
+        for (long value : table) {
+            hash += (int) (value ^ (value >>> 32));
+        }
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        StringBuilder sb = new StringBuilder("[");
+        forEach(value -> {
+            if (sb.length() > 1) {
+                sb.append(", ");
+            }
+            sb.append(value);
+        });
+        return sb.append(']').toString();
+    }
+
+    private int index(long value) {
+        long h = value * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private static int tableSize(int expectedSize) {
+        long needed = Math.max(4L, (long) expectedSize * 2);
+        if (needed > 1 << 30) {
+            return 1 << 30;
+        }
+        return Integer.highestOneBit((int) needed - 1) << 1;
+    }
+
+    private void allocate(int capacity) {
+        long[] old = table;
+        table = new long[capacity];
+        mask = capacity - 1;
+        if (null != old) {
+            for (long value : old) {
+                if (value != 0) {
+                    int i = index(value);
+                    while (table[i] != 0) {
+                        i = (i + 1) & mask;
+                    }
+                    table[i] = value;
+                }
+            }
+        }
+    }
+}
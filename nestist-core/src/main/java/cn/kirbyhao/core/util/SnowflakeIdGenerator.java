@@ -0,0 +1,251 @@
+package cn.kirbyhao.core.util;
+
+import cn.kirbyhao.core.date.CompiledDateTimePattern;
+import cn.kirbyhao.core.date.DateTimeUtil;
+import cn.kirbyhao.core.date.ZoneOffsetCache;
+
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * 按时间递增的64位唯一ID生成器（Snowflake）
+ *
+ * <p>ID从高位到低位依次为：1位符号位（总为0）、41位相对纪元的毫秒数、10位节点号、12位序号。
+ * 毫秒数与序号合在一个{@link AtomicLong}中，通过CAS循环递增，不加锁。</p>
+ *
+ * <p>同一毫秒内的序号用完时，直接借用下一毫秒；时钟回拨时继续沿用上一次的毫秒数递增序号，
+ * 因此生成的ID总是严格递增。借用或回拨使ID中的时间超前于时钟超过允许的最大值时抛出{@link IllegalStateException}。
+ * 时间取自{@link DateTimeUtil#getClock()}。</p>
+ *
+ * @author Lu Hao
+ * @date 2026-10-16
+ */
+public final class SnowflakeIdGenerator {
+
+    /**
+     * 默认纪元，2020-01-01T00:00:00Z，41位毫秒数可以使用到2089年
+     */
+    public static final long DEFAULT_EPOCH = 1577836800000L;
+
+    /**
+     * 节点号的最大值
+     */
+    public static final int MAX_NODE_ID = 1023;
+
+    /**
+     * 默认允许ID中的时间超前于时钟的最大毫秒数
+     */
+    public static final long DEFAULT_MAX_DRIFT_MILLIS = 5000;
+
+    private static final int SEQUENCE_BITS = 12;
+
+    private static final int NODE_BITS = 10;
+
+    private static final long SEQUENCE_MASK = (1L << SEQUENCE_BITS) - 1;
+
+    private static final int TIMESTAMP_SHIFT = SEQUENCE_BITS + NODE_BITS;
+
+    private static final long MAX_TIMESTAMP = (1L << 41) - 1;
+
+    private static final String SORTABLE_PATTERN = "yyyyMMddHHmmssSSS";
+
+    private final long epoch;
+
+    private final long nodeBits;
+
+    private final long maxDriftMillis;
+
+    /**
+     * 相对纪元的毫秒数左移12位再加上序号，即最后一个已发出的ID去掉节点号
+     */
+    private final AtomicLong state = new AtomicLong(-1);
+
+    /**
+     * 使用默认纪元创建
+     *
+     * @param nodeId 节点号，0到1023，同时运行的生成器必须互不相同
+     */
+    public SnowflakeIdGenerator(int nodeId) {
+        this(nodeId, DEFAULT_EPOCH, DEFAULT_MAX_DRIFT_MILLIS);
+    }
+
+    /**
+     * 创建
+     *
+     * @param nodeId 节点号，0到1023，同时运行的生成器必须互不相同
+     * @param epoch 纪元的毫秒时间戳
+     * @param maxDriftMillis 允许ID中的时间超前于时钟的最大毫秒数
+     */
+    public SnowflakeIdGenerator(int nodeId, long epoch, long maxDriftMillis) {
+        if (nodeId < 0 || nodeId > MAX_NODE_ID) {
+            throw new IllegalArgumentException("nodeId must be in [0, " + MAX_NODE_ID + "]: " + nodeId);
+        }
+        if (maxDriftMillis < 0) {
+            throw new IllegalArgumentException("maxDriftMillis must not be negative: " + maxDriftMillis);
+        }
+        this.epoch = epoch;
+        this.nodeBits = (long) nodeId << SEQUENCE_BITS;
+        this.maxDriftMillis = maxDriftMillis;
+    }
+
+    /**
+     * 生成一个ID
+     *
+     * @return ID
+     */
+    public long nextId() {
+        return toId(reserve(1));
+    }
+
+    /**
+     * 批量生成ID，只做一次CAS
+     *
+     * @param n 个数
+     *
+     * @return 严格递增的ID
+     */
+    public long[] nextIds(int n) {
+        if (n <= 0) {
+            throw new IllegalArgumentException("n must be positive: " + n);
+        }
+        long last = reserve(n);
+        long[] ids = new long[n];
+        long s = last - n + 1;
+        for (int i = 0; i < n; i++) {
+            ids[i] = toId(s++);
+        }
+        return ids;
+    }
+
+    /**
+     * 生成一个ID，并转换为可按字典序排序的字符串
+     *
+     * @return {@link #toSortableString(long)}
+     */
+    public String nextSortableId() {
+        return toSortableString(nextId());
+    }
+
+    /**
+     * @return 节点号
+     */
+    public int getNodeId() {
+        return (int) (nodeBits >>> SEQUENCE_BITS);
+    }
+
+    /**
+     * ID中的毫秒时间戳
+     *
+     * @param id ID
+     *
+     * @return 毫秒时间戳
+     */
+    public long getTimestamp(long id) {
+        return (id >>> TIMESTAMP_SHIFT) + epoch;
+    }
+
+    /**
+     * ID中的节点号
+     *
+     * @param id ID
+     *
+     * @return 节点号
+     */
+    public static int getNodeId(long id) {
+        return (int) (id >>> SEQUENCE_BITS) & MAX_NODE_ID;
+    }
+
+    /**
+     * ID中的序号
+     *
+     * @param id ID
+     *
+     * @return 序号
+     */
+    public static int getSequence(long id) {
+        return (int) (id & SEQUENCE_MASK);
+    }
+
+    /**
+     * ID中的时间，按{@link DateTimeUtil#getClock()}的时区
+     *
+     * @param id ID
+     *
+     * @return {@link LocalDateTime}
+     */
+    public LocalDateTime toLocalDateTime(long id) {
+        return ZoneOffsetCache.toLocalDateTime(getTimestamp(id), DateTimeUtil.getClock().getZone());
+    }
+
+    /**
+     * 转换为yyyyMMddHHmmssSSS加4位节点号、4位序号的25位字符串，时间按{@link DateTimeUtil#getClock()}的时区
+     *
+     * <p>同一时区、没有夏令时回拨时，字符串的字典序与ID的大小顺序一致。</p>
+     *
+     * @param id ID
+     *
+     * @return 字符串
+     */
+    public String toSortableString(long id) {
+        return toSortableString(id, DateTimeUtil.getClock().getZone());
+    }
+
+    /**
+     * 转换为yyyyMMddHHmmssSSS加4位节点号、4位序号的25位字符串
+     *
+     * @param id ID
+     * @param zone 时区
+     *
+     * @return 字符串
+     */
+    public String toSortableString(long id, ZoneId zone) {
+        char[] buf = new char[25];
+        LocalDateTime time = ZoneOffsetCache.toLocalDateTime(getTimestamp(id), zone);
+        int pos = CompiledDateTimePattern.compile(SORTABLE_PATTERN).format(time, buf, 0);
+        if (pos != 17) {
+            throw new IllegalArgumentException("Timestamp of id out of range: " + id);
+        }
+        writeDigits(getNodeId(id), buf, 17);
+        writeDigits(getSequence(id), buf, 21);
+        return new String(buf);
+    }
+
+    /**
+     * 预留n个连续的状态值，返回最后一个
+     */
+    private long reserve(int n) {
+        while (true) {
+            long now = DateTimeUtil.getClock().millis() - epoch;
+            if (now < 0 || now > MAX_TIMESTAMP) {
+                throw new IllegalStateException("Clock out of id range: " + (now + epoch));
+            }
+            long current = state.get();
+            // 时钟前进时从新的毫秒的0号开始，否则接着上一个序号，序号溢出时自然进位到下一毫秒
+            long first = Math.max(current + 1, now << SEQUENCE_BITS);
+            long last = first + n - 1;
+            long ahead = (last >>> SEQUENCE_BITS) - now;
+            if (ahead > maxDriftMillis) {
+                throw new IllegalStateException("Id timestamp is " + ahead + " ms ahead of the clock"
+                        + ", clock moved backwards or ids are requested too fast");
+            }
+            if ((last >>> SEQUENCE_BITS) > MAX_TIMESTAMP) {
+                throw new IllegalStateException("Id timestamp overflow");
+            }
+            if (state.compareAndSet(current, last)) {
+                return last;
+            }
+        }
+    }
+
+    private long toId(long packed) {
+        return ((packed >>> SEQUENCE_BITS) << TIMESTAMP_SHIFT) | nodeBits | (packed & SEQUENCE_MASK);
+    }
+
+    private static void writeDigits(int value, char[] buf, int pos) {
+        for (int i = pos + 3; i >= pos; i--) {
+            buf[i] = (char) ('0' + value % 10);
+            value /= 10;
+        }
+    }
+}